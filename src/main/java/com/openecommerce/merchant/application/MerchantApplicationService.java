@@ -21,10 +21,13 @@ import java.util.Optional;
 public class MerchantApplicationService {
     
     private final MerchantRepository merchantRepository;
+    private final MerchantRevenueLedgerService merchantRevenueLedgerService;
     
     @Autowired
-    public MerchantApplicationService(MerchantRepository merchantRepository) {
+    public MerchantApplicationService(MerchantRepository merchantRepository,
+                                      MerchantRevenueLedgerService merchantRevenueLedgerService) {
         this.merchantRepository = merchantRepository;
+        this.merchantRevenueLedgerService = merchantRevenueLedgerService;
     }
     
     /**
@@ -57,7 +60,7 @@ public class MerchantApplicationService {
     @Transactional(readOnly = true)
     public Optional<MerchantResponse> getMerchantById(Long merchantId) {
         return merchantRepository.findById(merchantId)
-                .map(MerchantResponse::from);
+                .map(this::toResponse);
     }
     
     /**
@@ -66,7 +69,7 @@ public class MerchantApplicationService {
     @Transactional(readOnly = true)
     public Optional<MerchantResponse> getMerchantByEmail(String email) {
         return merchantRepository.findByEmail(email)
-                .map(MerchantResponse::from);
+                .map(this::toResponse);
     }
     
     /**
@@ -83,4 +86,11 @@ public class MerchantApplicationService {
     public Merchant saveMerchantEntity(Merchant merchant) {
         return merchantRepository.save(merchant);
     }
+    
+    /**
+     * 商家响应中的余额包含尚未汇总的收入流水
+     */
+    private MerchantResponse toResponse(Merchant merchant) {
+        return MerchantResponse.from(merchant, merchantRevenueLedgerService.getCurrentBalance(merchant));
+    }
 }
\ No newline at end of file
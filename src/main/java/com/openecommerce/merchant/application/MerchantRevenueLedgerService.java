@@ -0,0 +1,109 @@
+package com.openecommerce.merchant.application;
+
+import com.openecommerce.merchant.domain.Merchant;
+import com.openecommerce.merchant.domain.MerchantRepository;
+import com.openecommerce.merchant.domain.MerchantRevenueEntry;
+import com.openecommerce.merchant.domain.MerchantRevenueEntryRepository;
+import com.openecommerce.shared.domain.Money;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Merchant Revenue Ledger Service
+ * 商家收入流水服务：下单时只追加收入流水、不更新商家行，商家余额由定期汇总任务更新，
+ * 查询余额时返回余额快照加尚未汇总的收入
+ */
+@Service
+@Transactional
+public class MerchantRevenueLedgerService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(MerchantRevenueLedgerService.class);
+    
+    private final MerchantRepository merchantRepository;
+    private final MerchantRevenueEntryRepository merchantRevenueEntryRepository;
+    
+    @Autowired
+    public MerchantRevenueLedgerService(MerchantRepository merchantRepository,
+                                        MerchantRevenueEntryRepository merchantRevenueEntryRepository) {
+        this.merchantRepository = merchantRepository;
+        this.merchantRevenueEntryRepository = merchantRevenueEntryRepository;
+    }
+    
+    /**
+     * 记录一笔订单收入
+     */
+    public void recordRevenue(Merchant merchant, Long orderId, Money amount) {
+        merchant.checkRevenue(amount);
+        merchantRevenueEntryRepository.append(new MerchantRevenueEntry(merchant.getId(), orderId, amount));
+    }
+    
+    /**
+     * 批量记录订单收入（调用方已通过Merchant.checkRevenue校验）
+     */
+    public void recordRevenues(List<MerchantRevenueEntry> entries) {
+        if (!entries.isEmpty()) {
+            merchantRevenueEntryRepository.appendAll(entries);
+        }
+    }
+    
+    /**
+     * 获取商家当前余额：余额快照加尚未汇总的收入
+     */
+    @Transactional(readOnly = true)
+    public Money getCurrentBalance(Merchant merchant) {
+        BigDecimal pending = merchantRevenueEntryRepository.sumPendingAmount(merchant.getId());
+        return merchant.getBalance().add(new Money(pending, merchant.getBalance().getCurrency()));
+    }
+    
+    /**
+     * 批量获取商家当前余额（商家ID -> 余额），待汇总的收入以一次聚合查询取得
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Money> getCurrentBalances(Collection<Merchant> merchants) {
+        List<Long> merchantIds = new ArrayList<>(merchants.size());
+        for (Merchant merchant : merchants) {
+            merchantIds.add(merchant.getId());
+        }
+        Map<Long, BigDecimal> pending = merchantRevenueEntryRepository.sumPendingAmountByMerchantIdIn(merchantIds);
+        
+        Map<Long, Money> balances = new HashMap<>();
+        for (Merchant merchant : merchants) {
+            Money balance = merchant.getBalance();
+            BigDecimal pendingAmount = pending.get(merchant.getId());
+            balances.put(merchant.getId(),
+                pendingAmount == null ? balance : balance.add(new Money(pendingAmount, balance.getCurrency())));
+        }
+        return balances;
+    }
+    
+    /**
+     * 定期汇总收入流水：认领所有未汇总的流水，按商家合计后一次性计入余额
+     */
+    @Scheduled(fixedDelayString = "${business.merchant.revenue.rollup-interval-ms:5000}")
+    public void rollUp() {
+        String rollupBatch = UUID.randomUUID().toString();
+        int claimed = merchantRevenueEntryRepository.claimPending(rollupBatch);
+        if (claimed == 0) {
+            return;
+        }
+        
+        Map<Long, BigDecimal> amounts = merchantRevenueEntryRepository.sumAmountByRollupBatch(rollupBatch);
+        for (Merchant merchant : merchantRepository.findByIdIn(amounts.keySet())) {
+            merchant.applyRolledUpRevenue(new Money(amounts.get(merchant.getId()), merchant.getBalance().getCurrency()));
+            merchantRepository.save(merchant);
+        }
+        logger.debug("Rolled up {} revenue entries for {} merchants", claimed, amounts.size());
+    }
+}
\ No newline at end of file
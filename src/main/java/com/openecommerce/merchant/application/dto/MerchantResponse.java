@@ -2,6 +2,7 @@ package com.openecommerce.merchant.application.dto;
 
 import com.openecommerce.merchant.domain.Merchant;
 import com.openecommerce.merchant.domain.MerchantStatus;
+import com.openecommerce.shared.domain.Money;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -43,13 +44,20 @@ public class MerchantResponse {
      * 从Merchant实体创建MerchantResponse
      */
     public static MerchantResponse from(Merchant merchant) {
+        return from(merchant, merchant.getBalance());
+    }
+    
+    /**
+     * 从Merchant实体创建MerchantResponse，余额使用指定值（余额快照加未汇总收入）
+     */
+    public static MerchantResponse from(Merchant merchant, Money balance) {
         return new MerchantResponse(
             merchant.getId(),
             merchant.getName(),
             merchant.getEmail(),
             merchant.getPhone(),
-            merchant.getBalance().getAmount(),
-            merchant.getBalance().getCurrency(),
+            balance.getAmount(),
+            balance.getCurrency(),
             merchant.getStatus(),
             merchant.getCreatedAt(),
             merchant.getUpdatedAt()
@@ -65,6 +65,14 @@ public class Merchant extends AggregateRoot {
      * 增加商家收入
      */
     public void addRevenue(Money amount) {
+        checkRevenue(amount);
+        this.balance = this.balance.add(amount);
+    }
+    
+    /**
+     * 校验商家可以接收该笔收入（收入先记入流水，不直接修改余额）
+     */
+    public void checkRevenue(Money amount) {
         if (amount == null) {
             throw new IllegalArgumentException("Revenue amount cannot be null");
         }
@@ -74,7 +82,16 @@ public class Merchant extends AggregateRoot {
         if (this.status != MerchantStatus.ACTIVE) {
             throw new IllegalStateException("Cannot add revenue to inactive merchant account");
         }
-        
+        if (!this.balance.getCurrency().equals(amount.getCurrency())) {
+            throw new IllegalArgumentException(
+                String.format("货币类型不匹配: %s vs %s", this.balance.getCurrency(), amount.getCurrency()));
+        }
+    }
+    
+    /**
+     * 将收入流水中已汇总的金额计入余额（收入已在下单时确认，不再校验商家状态）
+     */
+    public void applyRolledUpRevenue(Money amount) {
         this.balance = this.balance.add(amount);
     }
     
@@ -1,5 +1,6 @@
 package com.openecommerce.merchant.domain;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +20,11 @@ public interface MerchantRepository {
      */
     Optional<Merchant> findById(Long id);
     
+    /**
+     * 根据ID批量查找商家
+     */
+    List<Merchant> findByIdIn(Collection<Long> ids);
+    
     /**
      * 根据邮箱查找商家
      */
@@ -33,4 +39,9 @@ public interface MerchantRepository {
      * 查找所有商家
      */
     List<Merchant> findAll();
+    
+    /**
+     * 查找最大的商家ID，没有商家时为空
+     */
+    Optional<Long> findMaxId();
 }
\ No newline at end of file
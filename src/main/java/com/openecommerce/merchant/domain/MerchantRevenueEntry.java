@@ -0,0 +1,68 @@
+package com.openecommerce.merchant.domain;
+
+import com.openecommerce.shared.domain.Money;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Merchant Revenue Entry Entity
+ * 商家收入流水（只追加）：每笔订单一条，由汇总任务定期计入商家余额
+ */
+@Entity
+@Table(name = "merchant_revenue_entries",
+       indexes = @Index(name = "idx_merchant_revenue_entries_batch_merchant", columnList = "rollup_batch, merchant_id"))
+@Getter
+@EqualsAndHashCode(of = "id")
+@ToString
+public class MerchantRevenueEntry {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "merchant_id", nullable = false)
+    private Long merchantId;
+    
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+    
+    @Embedded
+    @AttributeOverrides({
+        @AttributeOverride(name = "amount", column = @Column(name = "amount")),
+        @AttributeOverride(name = "currency", column = @Column(name = "currency"))
+    })
+    private Money amount;
+    
+    /**
+     * 汇总批次号，为空表示尚未计入商家余额
+     */
+    @Column(name = "rollup_batch", length = 36)
+    private String rollupBatch;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    // JPA required
+    protected MerchantRevenueEntry() {}
+    
+    public MerchantRevenueEntry(Long merchantId, Long orderId, Money amount) {
+        if (merchantId == null) {
+            throw new IllegalArgumentException("Merchant ID cannot be null");
+        }
+        if (orderId == null) {
+            throw new IllegalArgumentException("Order ID cannot be null");
+        }
+        if (amount == null || amount.isZero()) {
+            throw new IllegalArgumentException("Revenue amount must be greater than zero");
+        }
+        
+        this.merchantId = merchantId;
+        this.orderId = orderId;
+        this.amount = amount;
+        this.createdAt = LocalDateTime.now();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.openecommerce.merchant.domain;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Merchant Revenue Entry Repository Interface
+ * 商家收入流水仓储接口
+ */
+public interface MerchantRevenueEntryRepository {
+    
+    /**
+     * 追加收入流水
+     */
+    void append(MerchantRevenueEntry entry);
+    
+    /**
+     * 批量追加收入流水
+     */
+    void appendAll(List<MerchantRevenueEntry> entries);
+    
+    /**
+     * 汇总商家尚未计入余额的收入
+     */
+    BigDecimal sumPendingAmount(Long merchantId);
+    
+    /**
+     * 一次汇总多个商家尚未计入余额的收入（商家ID -> 金额），没有待汇总流水的商家不在结果中
+     */
+    Map<Long, BigDecimal> sumPendingAmountByMerchantIdIn(Collection<Long> merchantIds);
+    
+    /**
+     * 将所有尚未汇总的流水标记为指定批次，返回认领的条数
+     */
+    int claimPending(String rollupBatch);
+    
+    /**
+     * 按商家汇总指定批次的收入（商家ID -> 金额）
+     */
+    Map<Long, BigDecimal> sumAmountByRollupBatch(String rollupBatch);
+}
\ No newline at end of file
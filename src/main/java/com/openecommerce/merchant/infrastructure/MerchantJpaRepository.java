@@ -2,6 +2,7 @@ package com.openecommerce.merchant.infrastructure;
 
 import com.openecommerce.merchant.domain.Merchant;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -16,4 +17,7 @@ public interface MerchantJpaRepository extends JpaRepository<Merchant, Long> {
     Optional<Merchant> findByEmail(String email);
     
     boolean existsByEmail(String email);
+    
+    @Query("SELECT MAX(m.id) FROM Merchant m")
+    Optional<Long> findMaxId();
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import com.openecommerce.merchant.domain.MerchantRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,6 +33,11 @@ public class MerchantRepositoryImpl implements MerchantRepository {
         return merchantJpaRepository.findById(id);
     }
     
+    @Override
+    public List<Merchant> findByIdIn(Collection<Long> ids) {
+        return merchantJpaRepository.findAllById(ids);
+    }
+    
     @Override
     public Optional<Merchant> findByEmail(String email) {
         return merchantJpaRepository.findByEmail(email);
@@ -46,4 +52,9 @@ public class MerchantRepositoryImpl implements MerchantRepository {
     public List<Merchant> findAll() {
         return merchantJpaRepository.findAll();
     }
+    
+    @Override
+    public Optional<Long> findMaxId() {
+        return merchantJpaRepository.findMaxId();
+    }
 }
\ No newline at end of file
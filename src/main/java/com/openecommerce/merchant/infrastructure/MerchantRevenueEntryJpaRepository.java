@@ -0,0 +1,36 @@
+package com.openecommerce.merchant.infrastructure;
+
+import com.openecommerce.merchant.domain.MerchantRevenueEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Merchant Revenue Entry JPA Repository
+ * 商家收入流水JPA仓储
+ */
+@Repository
+public interface MerchantRevenueEntryJpaRepository extends JpaRepository<MerchantRevenueEntry, Long> {
+    
+    @Query("SELECT COALESCE(SUM(e.amount.amount), 0) FROM MerchantRevenueEntry e " +
+           "WHERE e.merchantId = :merchantId AND e.rollupBatch IS NULL")
+    BigDecimal sumPendingAmount(@Param("merchantId") Long merchantId);
+    
+    @Query("SELECT e.merchantId, SUM(e.amount.amount) FROM MerchantRevenueEntry e " +
+           "WHERE e.merchantId IN :merchantIds AND e.rollupBatch IS NULL GROUP BY e.merchantId")
+    List<Object[]> sumPendingAmountByMerchantIdIn(@Param("merchantIds") Collection<Long> merchantIds);
+    
+    @Modifying
+    @Query("UPDATE MerchantRevenueEntry e SET e.rollupBatch = :rollupBatch WHERE e.rollupBatch IS NULL")
+    int claimPending(@Param("rollupBatch") String rollupBatch);
+    
+    @Query("SELECT e.merchantId, SUM(e.amount.amount) FROM MerchantRevenueEntry e " +
+           "WHERE e.rollupBatch = :rollupBatch GROUP BY e.merchantId")
+    List<Object[]> sumAmountByRollupBatch(@Param("rollupBatch") String rollupBatch);
+}
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.openecommerce.merchant.infrastructure;
+
+import com.openecommerce.merchant.domain.MerchantRevenueEntry;
+import com.openecommerce.merchant.domain.MerchantRevenueEntryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Merchant Revenue Entry Repository Implementation
+ * 商家收入流水仓储实现
+ */
+@Component
+public class MerchantRevenueEntryRepositoryImpl implements MerchantRevenueEntryRepository {
+    
+    private static final String INSERT_ENTRY_SQL =
+        "INSERT INTO merchant_revenue_entries (merchant_id, order_id, amount, currency, created_at) VALUES (?, ?, ?, ?, ?)";
+    
+    private final MerchantRevenueEntryJpaRepository merchantRevenueEntryJpaRepository;
+    private final JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    public MerchantRevenueEntryRepositoryImpl(MerchantRevenueEntryJpaRepository merchantRevenueEntryJpaRepository,
+                                              JdbcTemplate jdbcTemplate) {
+        this.merchantRevenueEntryJpaRepository = merchantRevenueEntryJpaRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    @Override
+    public void append(MerchantRevenueEntry entry) {
+        merchantRevenueEntryJpaRepository.save(entry);
+    }
+    
+    @Override
+    public void appendAll(List<MerchantRevenueEntry> entries) {
+        List<Object[]> rows = new ArrayList<>(entries.size());
+        for (MerchantRevenueEntry entry : entries) {
+            rows.add(new Object[] {
+                entry.getMerchantId(), entry.getOrderId(), entry.getAmount().getAmount(),
+                entry.getAmount().getCurrency(), Timestamp.valueOf(entry.getCreatedAt())
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_ENTRY_SQL, rows);
+    }
+    
+    @Override
+    public BigDecimal sumPendingAmount(Long merchantId) {
+        return merchantRevenueEntryJpaRepository.sumPendingAmount(merchantId);
+    }
+    
+    @Override
+    public Map<Long, BigDecimal> sumPendingAmountByMerchantIdIn(Collection<Long> merchantIds) {
+        if (merchantIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return toAmounts(merchantRevenueEntryJpaRepository.sumPendingAmountByMerchantIdIn(merchantIds));
+    }
+    
+    @Override
+    public int claimPending(String rollupBatch) {
+        return merchantRevenueEntryJpaRepository.claimPending(rollupBatch);
+    }
+    
+    @Override
+    public Map<Long, BigDecimal> sumAmountByRollupBatch(String rollupBatch) {
+        return toAmounts(merchantRevenueEntryJpaRepository.sumAmountByRollupBatch(rollupBatch));
+    }
+    
+    /**
+     * 将 (商家ID, 金额) 聚合行转换为映射
+     */
+    private Map<Long, BigDecimal> toAmounts(List<Object[]> rows) {
+        Map<Long, BigDecimal> amounts = new HashMap<>();
+        for (Object[] row : rows) {
+            amounts.put((Long) row[0], (BigDecimal) row[1]);
+        }
+        return amounts;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.openecommerce.order.application;
+
+/**
+ * Idempotency Key Mismatch Exception
+ * 同一用户的幂等键被用于与首次请求内容不同的下单请求
+ */
+public class IdempotencyKeyMismatchException extends RuntimeException {
+    
+    public IdempotencyKeyMismatchException(String idempotencyKey) {
+        super("Idempotency key " + idempotencyKey + " was already used for a different request");
+    }
+}
\ No newline at end of file
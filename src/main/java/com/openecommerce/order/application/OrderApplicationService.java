@@ -1,26 +1,49 @@
 package com.openecommerce.order.application;
 
+import com.openecommerce.merchant.application.MerchantRevenueLedgerService;
 import com.openecommerce.merchant.domain.Merchant;
 import com.openecommerce.merchant.domain.MerchantRepository;
+import com.openecommerce.merchant.domain.MerchantRevenueEntry;
 import com.openecommerce.order.application.dto.CreateOrderRequest;
 import com.openecommerce.order.application.dto.OrderItemRequest;
+import com.openecommerce.order.application.dto.OrderPageResponse;
 import com.openecommerce.order.application.dto.OrderResponse;
+import com.openecommerce.order.application.dto.OrderSearchRequest;
+import com.openecommerce.order.application.dto.SubmissionStatus;
+import com.openecommerce.order.domain.MerchantDailySalesRepository;
 import com.openecommerce.order.domain.Order;
+import com.openecommerce.order.domain.OrderItem;
+import com.openecommerce.order.domain.OrderCursor;
+import com.openecommerce.order.domain.OrderNumberGenerator;
 import com.openecommerce.order.domain.OrderRepository;
+import com.openecommerce.order.domain.OrderStatus;
+import com.openecommerce.product.application.InventoryService;
 import com.openecommerce.product.domain.Product;
+import com.openecommerce.product.domain.ProductStatus;
 import com.openecommerce.product.domain.ProductRepository;
 import com.openecommerce.shared.domain.Money;
+import com.openecommerce.user.application.UserWalletService;
 import com.openecommerce.user.domain.User;
 import com.openecommerce.user.domain.UserRepository;
+import com.openecommerce.user.domain.UserStatus;
+import com.openecommerce.user.domain.UserWalletEntry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
 
 /**
  * Order Application Service
@@ -30,51 +53,83 @@ import java.util.stream.Collectors;
 @Transactional
 public class OrderApplicationService {
     
+    /**
+     * 订单列表单页最大条数
+     */
+    public static final int MAX_PAGE_SIZE = 200;
+    
     private final OrderRepository orderRepository;
     private final UserRepository userRepository;
     private final ProductRepository productRepository;
     private final MerchantRepository merchantRepository;
+    private final InventoryService inventoryService;
+    private final OrderNumberGenerator orderNumberGenerator;
+    private final MerchantRevenueLedgerService merchantRevenueLedgerService;
+    private final UserWalletService userWalletService;
+    private final OrderQueryRepository orderQueryRepository;
+    private final OrderSearchIndex orderSearchIndex;
+    private final MerchantDailySalesRepository merchantDailySalesRepository;
     
     @Autowired
     public OrderApplicationService(OrderRepository orderRepository,
                                  UserRepository userRepository,
                                  ProductRepository productRepository,
-                                 MerchantRepository merchantRepository) {
+                                 MerchantRepository merchantRepository,
+                                 InventoryService inventoryService,
+                                 OrderNumberGenerator orderNumberGenerator,
+                                 MerchantRevenueLedgerService merchantRevenueLedgerService,
+                                 UserWalletService userWalletService,
+                                 OrderQueryRepository orderQueryRepository,
+                                 OrderSearchIndex orderSearchIndex,
+                                 MerchantDailySalesRepository merchantDailySalesRepository) {
         this.orderRepository = orderRepository;
         this.userRepository = userRepository;
         this.productRepository = productRepository;
         this.merchantRepository = merchantRepository;
+        this.inventoryService = inventoryService;
+        this.orderNumberGenerator = orderNumberGenerator;
+        this.merchantRevenueLedgerService = merchantRevenueLedgerService;
+        this.userWalletService = userWalletService;
+        this.orderQueryRepository = orderQueryRepository;
+        this.orderSearchIndex = orderSearchIndex;
+        this.merchantDailySalesRepository = merchantDailySalesRepository;
     }
     
     /**
      * 创建并处理订单
      */
     public OrderResponse createAndProcessOrder(CreateOrderRequest request) {
+        return createAndProcessOrder(request, generateOrderNumber());
+    }
+    
+    /**
+     * 使用预先分配的订单号创建并处理订单（用于异步下单）
+     */
+    public OrderResponse createAndProcessOrder(CreateOrderRequest request, String orderNumber) {
         // 验证用户存在
         User user = userRepository.findById(request.getUserId())
             .orElseThrow(() -> new IllegalArgumentException("User not found: " + request.getUserId()));
         
+        // 一次性加载本订单涉及的全部商品
+        Map<String, Product> products = loadProducts(request.getItems());
+        
         // 验证所有商品都属于同一个商家
-        Long merchantId = validateAndGetMerchantId(request.getItems());
+        Long merchantId = validateAndGetMerchantId(request.getItems(), products);
         
         // 验证商家存在
         Merchant merchant = merchantRepository.findById(merchantId)
             .orElseThrow(() -> new IllegalArgumentException("Merchant not found: " + merchantId));
         
-        // 生成订单号
-        String orderNumber = generateOrderNumber();
-        
         // 创建订单
         Order order = new Order(orderNumber, user.getId(), merchantId);
         
         // 验证库存并添加订单项
         Money totalAmount = null;
         for (OrderItemRequest itemRequest : request.getItems()) {
-            Product product = productRepository.findBySku(itemRequest.getSku())
-                .orElseThrow(() -> new IllegalArgumentException("Product not found: " + itemRequest.getSku()));
+            Product product = products.get(itemRequest.getSku());
             
             // 验证库存
-            if (!product.hasEnoughStock(itemRequest.getQuantity())) {
+            if (!inventoryService.hasEnoughStock(product, itemRequest.getQuantity())) {
                 throw new IllegalStateException("Insufficient stock for product: " + itemRequest.getSku());
             }
             
@@ -104,7 +159,7 @@ public class OrderApplicationService {
         order.confirm();
         
         // 处理支付和库存
-        processPaymentAndStock(user, merchant, order, request.getItems());
+        processPaymentAndStock(user, order, request.getItems(), products);
         
         // 完成订单
         order.complete();
@@ -112,7 +167,151 @@ public class OrderApplicationService {
         // 保存订单
         Order savedOrder = orderRepository.save(order);
         
-        return OrderResponse.from(savedOrder);
+        // 记录商家收入流水（不更新商家行）
+        merchantRevenueLedgerService.recordRevenue(merchant, savedOrder.getId(), savedOrder.getTotalAmount());
+        
+        // 同一事务内累加商家日销售汇总
+        merchantDailySalesRepository.addCompletedOrders(Collections.singletonList(savedOrder));
+        
+        // 同一事务内刷新订单读模型，提交后写入检索索引
+        OrderResponse response = OrderResponse.from(savedOrder);
+        refreshReadSide(Collections.singletonList(response));
+        return response;
+    }
+    
+    /**
+     * 批量创建并处理订单：整批共享商品、用户、商家查询，按SKU合并扣减库存，
+     * 按用户合并校验余额，订单、订单项、钱包流水和商家收入流水批量写入。
+     * 单个订单校验失败或所含SKU扣减失败时该订单返回FAILED结果，不影响同批次其他订单；结果顺序与请求一致
+     */
+    public List<OrderResponse> createAndProcessOrders(List<CreateOrderRequest> requests) {
+        List<String> orderNumbers = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            orderNumbers.add(generateOrderNumber());
+        }
+        return createAndProcessOrders(requests, orderNumbers);
+    }
+    
+    /**
+     * 使用预先分配的订单号批量创建并处理订单（用于组提交），订单号与请求一一对应
+     */
+    public List<OrderResponse> createAndProcessOrders(List<CreateOrderRequest> requests, List<String> orderNumbers) {
+        if (requests.isEmpty()) {
+            throw new IllegalArgumentException("Orders cannot be empty");
+        }
+        if (orderNumbers.size() != requests.size()) {
+            throw new IllegalArgumentException("Order numbers must match orders");
+        }
+        
+        // 一次性加载整批订单涉及的商品、用户和商家
+        Set<String> skus = new LinkedHashSet<>();
+        Set<Long> userIds = new LinkedHashSet<>();
+        for (CreateOrderRequest request : requests) {
+            userIds.add(request.getUserId());
+            for (OrderItemRequest item : request.getItems()) {
+                skus.add(item.getSku());
+            }
+        }
+        Map<String, Product> products = new HashMap<>();
+        for (Product product : productRepository.findBySkuIn(skus)) {
+            products.put(product.getSku(), product);
+        }
+        Map<Long, User> users = new HashMap<>();
+        for (User user : userRepository.findByIdIn(userIds)) {
+            users.put(user.getId(), user);
+        }
+        Set<Long> merchantIds = new HashSet<>();
+        for (Product product : products.values()) {
+            merchantIds.add(product.getMerchantId());
+        }
+        Map<Long, Merchant> merchants = new HashMap<>();
+        for (Merchant merchant : merchantRepository.findByIdIn(merchantIds)) {
+            merchants.put(merchant.getId(), merchant);
+        }
+        
+        // 逐单校验，批次内累计已占用的库存、用户支出和商家收入
+        BatchTotals totals = new BatchTotals();
+        List<Order> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        OrderResponse[] results = new OrderResponse[requests.size()];
+        for (int i = 0; i < requests.size(); i++) {
+            String orderNumber = orderNumbers.get(i);
+            try {
+                accepted.add(prepareBatchOrder(requests.get(i), orderNumber, products, users, merchants, totals));
+                acceptedIndexes.add(i);
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                results[i] = OrderResponse.submission(orderNumber, SubmissionStatus.FAILED, e.getMessage());
+            }
+        }
+        if (accepted.isEmpty()) {
+            return Arrays.asList(results);
+        }
+        
+        // 按SKU合并扣减库存，并按SKU排序保证与其他订单以相同顺序锁定商品行；
+        // 某个SKU扣减失败时只有包含该SKU的订单失败，这些订单已扣减的其他SKU随即归还，未扣减的不再计入
+        Set<String> deductedSkus = new HashSet<>();
+        for (String sku : new ArrayList<>(totals.stockQuantities.keySet())) {
+            int quantity = totals.stockQuantities.get(sku);
+            if (quantity == 0) {
+                continue;
+            }
+            if (inventoryService.deductStock(products.get(sku), quantity)) {
+                deductedSkus.add(sku);
+                continue;
+            }
+            Map<String, Integer> restored = new TreeMap<>();
+            for (int i = accepted.size() - 1; i >= 0; i--) {
+                Order order = accepted.get(i);
+                if (!containsSku(order, sku)) {
+                    continue;
+                }
+                for (OrderItem item : order.getOrderItems()) {
+                    totals.stockQuantities.merge(item.getSku(), -item.getQuantity(), Integer::sum);
+                    if (deductedSkus.contains(item.getSku())) {
+                        restored.merge(item.getSku(), item.getQuantity(), Integer::sum);
+                    }
+                }
+                results[acceptedIndexes.get(i)] = OrderResponse.submission(order.getOrderNumber(),
+                    SubmissionStatus.FAILED, "Insufficient stock for product: " + sku);
+                accepted.remove(i);
+                acceptedIndexes.remove(i);
+            }
+            restored.forEach((restoredSku, restoredQuantity) ->
+                inventoryService.restoreStock(products.get(restoredSku), restoredQuantity));
+        }
+        if (accepted.isEmpty()) {
+            return Arrays.asList(results);
+        }
+        
+        // 每个用户只校验一次余额，每个订单一条钱包出账流水
+        Map<Long, List<UserWalletEntry>> walletDebits = new TreeMap<>();
+        for (Order order : accepted) {
+            walletDebits.computeIfAbsent(order.getUserId(), id -> new ArrayList<>()).add(walletDebit(order));
+        }
+        for (Map.Entry<Long, List<UserWalletEntry>> entry : walletDebits.entrySet()) {
+            userWalletService.debit(users.get(entry.getKey()), entry.getValue());
+        }
+        
+        // 批量写入订单、订单项和商家收入流水，并累加商家日销售汇总
+        Map<String, Order> savedOrders = new HashMap<>();
+        List<MerchantRevenueEntry> revenueEntries = new ArrayList<>(accepted.size());
+        List<Order> inserted = orderRepository.insertAll(accepted);
+        for (Order order : inserted) {
+            savedOrders.put(order.getOrderNumber(), order);
+            revenueEntries.add(new MerchantRevenueEntry(order.getMerchantId(), order.getId(), order.getTotalAmount()));
+        }
+        merchantRevenueLedgerService.recordRevenues(revenueEntries);
+        merchantDailySalesRepository.addCompletedOrders(inserted);
+        
+        // 同一事务内批量刷新订单读模型，提交后写入检索索引
+        List<OrderResponse> responses = new ArrayList<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            OrderResponse response = OrderResponse.from(savedOrders.get(accepted.get(i).getOrderNumber()));
+            responses.add(response);
+            results[acceptedIndexes.get(i)] = response;
+        }
+        refreshReadSide(responses);
+        return Arrays.asList(results);
     }
     
     /**
@@ -120,44 +319,128 @@ public class OrderApplicationService {
      */
     @Transactional(readOnly = true)
     public Optional<OrderResponse> getOrderByOrderNumber(String orderNumber) {
-        return orderRepository.findByOrderNumber(orderNumber)
-            .map(OrderResponse::from);
+        return orderQueryRepository.findByOrderNumber(orderNumber);
     }
     
     /**
-     * 根据用户ID获取订单列表
+     * 根据用户ID分页获取订单列表（按下单时间倒序），cursor为上一页返回的游标
      */
     @Transactional(readOnly = true)
-    public List<OrderResponse> getOrdersByUserId(Long userId) {
-        return orderRepository.findByUserId(userId)
-            .stream()
-            .map(OrderResponse::from)
-            .collect(Collectors.toList());
+    public OrderPageResponse getOrdersByUserId(Long userId, String cursor, int limit) {
+        checkPageSize(limit);
+        return toPage(orderQueryRepository.findPageByUserId(userId, decodeCursor(cursor), limit + 1), limit);
     }
     
     /**
-     * 根据商家ID获取订单列表
+     * 根据商家ID分页获取订单列表（按下单时间倒序），cursor为上一页返回的游标
      */
     @Transactional(readOnly = true)
-    public List<OrderResponse> getOrdersByMerchantId(Long merchantId) {
-        return orderRepository.findByMerchantId(merchantId)
-            .stream()
-            .map(OrderResponse::from)
-            .collect(Collectors.toList());
+    public OrderPageResponse getOrdersByMerchantId(Long merchantId, String cursor, int limit) {
+        checkPageSize(limit);
+        return toPage(orderQueryRepository.findPageByMerchantId(merchantId, decodeCursor(cursor), limit + 1), limit);
     }
     
     /**
-     * 验证所有商品属于同一商家并返回商家ID
+     * 按下单时间顺序逐个导出商家的全部订单，订单从读模型流式读取，不会整体加载到内存
+     */
+    @Transactional(readOnly = true)
+    public void exportOrdersByMerchantId(Long merchantId, Consumer<OrderResponse> sink) {
+        orderQueryRepository.forEachByMerchantId(merchantId, sink);
+    }
+    
+    /**
+     * 按SKU、商品名称片段、状态和下单时间范围检索订单（按下单时间倒序），由进程内检索索引求出订单ID后从读模型加载
+     */
+    @Transactional(readOnly = true)
+    public List<OrderResponse> searchOrders(OrderSearchRequest request) {
+        checkPageSize(request.getLimit());
+        if (request.getSku() == null && request.getProductName() == null && request.getStatus() == null
+                && request.getFrom() == null && request.getTo() == null) {
+            throw new IllegalArgumentException("At least one search criterion is required");
+        }
+        if (request.getFrom() != null && request.getTo() != null && !request.getFrom().isBefore(request.getTo())) {
+            throw new IllegalArgumentException("Search time range is empty");
+        }
+        
+        List<Long> ids = orderSearchIndex.search(request);
+        Map<Long, OrderResponse> ordersById = new HashMap<>();
+        for (OrderResponse order : orderQueryRepository.findByIdIn(ids)) {
+            ordersById.put(order.getId(), order);
+        }
+        List<OrderResponse> orders = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            OrderResponse order = ordersById.get(id);
+            if (order != null) {
+                orders.add(order);
+            }
+        }
+        return orders;
+    }
+    
+    /**
+     * 刷新读侧：读模型在当前事务内写入，检索索引在事务提交后更新
+     */
+    private void refreshReadSide(List<OrderResponse> orders) {
+        orderQueryRepository.saveAll(orders);
+        orderSearchIndex.indexAfterCommit(orders);
+    }
+    
+    private void checkPageSize(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+    
+    private OrderCursor decodeCursor(String cursor) {
+        return cursor == null || cursor.isEmpty() ? null : OrderCursor.decode(cursor);
+    }
+    
+    /**
+     * 多查一条判断是否还有下一页，有则以本页最后一条订单生成游标
      */
-    private Long validateAndGetMerchantId(List<OrderItemRequest> items) {
+    private OrderPageResponse toPage(List<OrderResponse> orders, int limit) {
+        if (orders.size() <= limit) {
+            return OrderPageResponse.of(orders, null);
+        }
+        
+        List<OrderResponse> page = new ArrayList<>(orders.subList(0, limit));
+        OrderResponse last = page.get(limit - 1);
+        return OrderPageResponse.of(page, new OrderCursor(last.getOrderTime(), last.getId()).encode());
+    }
+    
+    /**
+     * 批量加载订单项对应的商品，返回 SKU -> 商品 的映射
+     */
+    private Map<String, Product> loadProducts(List<OrderItemRequest> items) {
         if (items.isEmpty()) {
             throw new IllegalArgumentException("Order items cannot be empty");
         }
         
+        Set<String> skus = new LinkedHashSet<>();
+        for (OrderItemRequest item : items) {
+            skus.add(item.getSku());
+        }
+        
+        Map<String, Product> products = new HashMap<>();
+        for (Product product : productRepository.findBySkuIn(skus)) {
+            products.put(product.getSku(), product);
+        }
+        
+        for (String sku : skus) {
+            if (!products.containsKey(sku)) {
+                throw new IllegalArgumentException("Product not found: " + sku);
+            }
+        }
+        return products;
+    }
+    
+    /**
+     * 验证所有商品属于同一商家并返回商家ID
+     */
+    private Long validateAndGetMerchantId(List<OrderItemRequest> items, Map<String, Product> products) {
         Long merchantId = null;
         for (OrderItemRequest item : items) {
-            Product product = productRepository.findBySku(item.getSku())
-                .orElseThrow(() -> new IllegalArgumentException("Product not found: " + item.getSku()));
+            Product product = products.get(item.getSku());
             
             if (merchantId == null) {
                 merchantId = product.getMerchantId();
@@ -170,35 +453,110 @@ public class OrderApplicationService {
     }
     
     /**
-     * 处理支付和库存
+     * 校验批量订单中的单个订单并构建已完成的订单，校验通过后才计入批次累计
      */
-    private void processPaymentAndStock(User user, Merchant merchant, Order order, List<OrderItemRequest> items) {
-        Money totalAmount = order.getTotalAmount();
+    private Order prepareBatchOrder(CreateOrderRequest request, String orderNumber, Map<String, Product> products,
+                                    Map<Long, User> users, Map<Long, Merchant> merchants, BatchTotals totals) {
+        User user = users.get(request.getUserId());
+        if (user == null) {
+            throw new IllegalArgumentException("User not found: " + request.getUserId());
+        }
+        if (user.getStatus() != UserStatus.ACTIVE) {
+            throw new IllegalStateException("Cannot deduct from inactive user account");
+        }
         
-        // 扣除用户余额
-        user.deduct(totalAmount);
-        userRepository.save(user);
+        for (OrderItemRequest item : request.getItems()) {
+            Product product = products.get(item.getSku());
+            if (product == null) {
+                throw new IllegalArgumentException("Product not found: " + item.getSku());
+            }
+            if (product.getStatus() != ProductStatus.ACTIVE) {
+                throw new IllegalStateException("Product is not available: " + item.getSku());
+            }
+        }
+        Long merchantId = validateAndGetMerchantId(request.getItems(), products);
+        Merchant merchant = merchants.get(merchantId);
+        if (merchant == null) {
+            throw new IllegalArgumentException("Merchant not found: " + merchantId);
+        }
         
-        // 增加商家收入
-        merchant.addRevenue(totalAmount);
-        merchantRepository.save(merchant);
+        Order order = new Order(orderNumber, user.getId(), merchantId);
+        Map<String, Integer> quantities = new HashMap<>();
+        for (OrderItemRequest item : request.getItems()) {
+            Product product = products.get(item.getSku());
+            int quantity = quantities.merge(item.getSku(), item.getQuantity(), Integer::sum);
+            int reserved = totals.stockQuantities.getOrDefault(item.getSku(), 0);
+            if (!inventoryService.hasEnoughStock(product, reserved + quantity)) {
+                throw new IllegalStateException("Insufficient stock for product: " + item.getSku());
+            }
+            order.addOrderItem(product.getSku(), product.getName(), product.getPrice(), item.getQuantity());
+        }
+        
+        Money totalAmount = order.getTotalAmount();
+        Money userDebit = totals.userDebits.get(user.getId());
+        if (!user.hasEnoughBalance(userDebit == null ? totalAmount : userDebit.add(totalAmount))) {
+            throw new IllegalStateException("Insufficient user balance");
+        }
+        merchant.checkRevenue(totalAmount);
+        
+        order.confirm();
+        order.complete();
         
-        // 减少商品库存
+        quantities.forEach((sku, quantity) -> totals.stockQuantities.merge(sku, quantity, Integer::sum));
+        totals.userDebits.merge(user.getId(), totalAmount, Money::add);
+        return order;
+    }
+    
+    private static boolean containsSku(Order order, String sku) {
+        for (OrderItem item : order.getOrderItems()) {
+            if (item.getSku().equals(sku)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * 处理支付和库存
+     */
+    private void processPaymentAndStock(User user, Order order,
+                                        List<OrderItemRequest> items, Map<String, Product> products) {
+        // 减少商品库存：按SKU合并数量并按SKU排序，保证并发订单以相同顺序锁定商品行
+        Map<String, Integer> quantities = new TreeMap<>();
         for (OrderItemRequest item : items) {
-            Product product = productRepository.findBySku(item.getSku())
-                .orElseThrow(() -> new IllegalArgumentException("Product not found: " + item.getSku()));
-            
-            product.reduceStock(item.getQuantity());
-            productRepository.save(product);
+            quantities.merge(item.getSku(), item.getQuantity(), Integer::sum);
         }
+        for (Map.Entry<String, Integer> entry : quantities.entrySet()) {
+            if (!inventoryService.deductStock(products.get(entry.getKey()), entry.getValue())) {
+                throw new IllegalStateException("Insufficient stock for product: " + entry.getKey());
+            }
+        }
+        
+        // 扣除用户余额：追加钱包出账流水
+        userWalletService.debit(user, Collections.singletonList(walletDebit(order)));
+    }
+    
+    /**
+     * 订单支付对应的钱包出账流水，对方账户为订单商家
+     */
+    private UserWalletEntry walletDebit(Order order) {
+        return UserWalletEntry.debit(order.getUserId(), order.getTotalAmount(),
+            "MERCHANT:" + order.getMerchantId(), order.getOrderNumber());
     }
     
     /**
      * 生成订单号
      */
     private String generateOrderNumber() {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
-        String randomSuffix = String.valueOf((int)(Math.random() * 1000));
-        return "ORD" + timestamp + String.format("%03d", Integer.parseInt(randomSuffix));
+        return orderNumberGenerator.nextOrderNumber();
+    }
+    
+    /**
+     * 批量下单时批次内的累计占用
+     */
+    private static final class BatchTotals {
+        
+        private final Map<String, Integer> stockQuantities = new TreeMap<>();
+        private final Map<Long, Money> userDebits = new LinkedHashMap<>();
     }
 }
\ No newline at end of file
@@ -0,0 +1,127 @@
+package com.openecommerce.order.application;
+
+import com.openecommerce.order.application.dto.CreateOrderRequest;
+import com.openecommerce.order.application.dto.OrderResponse;
+import com.openecommerce.order.application.dto.SubmissionStatus;
+import com.openecommerce.order.domain.OrderNumberGenerator;
+import com.openecommerce.order.infrastructure.GroupCommitter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Order Group Commit Service
+ * 订单组提交服务：启用后，并发的同步下单请求在短时间窗口内合并为一次批量下单（一个事务、一次提交），
+ * 每个调用方在共享事务提交后拿到自己的结果
+ */
+@Service
+public class OrderGroupCommitService {
+    
+    private final OrderApplicationService orderApplicationService;
+    private final OrderNumberGenerator orderNumberGenerator;
+    private final OrderRetryPolicy orderRetryPolicy;
+    private final GroupCommitter<NumberedOrder, OrderResponse> groupCommitter;
+    private final long waitTimeoutMillis;
+    
+    @Autowired
+    public OrderGroupCommitService(OrderApplicationService orderApplicationService,
+                                   OrderNumberGenerator orderNumberGenerator,
+                                   OrderRetryPolicy orderRetryPolicy,
+                                   @Value("${business.order.group-commit.enabled:false}") boolean enabled,
+                                   @Value("${business.order.group-commit.window-ms:2}") long windowMillis,
+                                   @Value("${business.order.group-commit.max-batch-size:100}") int maxBatchSize,
+                                   @Value("${business.order.group-commit.fallback-threads:4}") int fallbackThreads,
+                                   @Value("${business.order.group-commit.wait-timeout-ms:10000}") long waitTimeoutMillis) {
+        this.orderApplicationService = orderApplicationService;
+        this.orderNumberGenerator = orderNumberGenerator;
+        this.orderRetryPolicy = orderRetryPolicy;
+        this.groupCommitter = enabled
+            ? new GroupCommitter<>("order-group-commit", windowMillis, maxBatchSize,
+                this::createBatch, this::createWithRetry, fallbackThreads)
+            : null;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+    }
+    
+    /**
+     * 创建并处理订单，未启用组提交时直接处理（乐观锁冲突时重试）
+     */
+    public OrderResponse createAndProcessOrder(CreateOrderRequest request) {
+        return createAndProcessOrder(request, orderNumberGenerator.nextOrderNumber());
+    }
+    
+    /**
+     * 使用预先分配的订单号创建并处理订单（用于幂等下单，订单号在下单前随幂等键一起保存）；
+     * 组提交超时未完成时抛出ConcurrencyFailureException，订单可能仍在处理中，可按订单号查询结果
+     */
+    public OrderResponse createAndProcessOrder(CreateOrderRequest request, String orderNumber) {
+        NumberedOrder order = new NumberedOrder(request, orderNumber);
+        if (groupCommitter == null) {
+            return createWithRetry(order);
+        }
+        
+        OrderResponse response;
+        try {
+            response = groupCommitter.submit(order).get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new ConcurrencyFailureException("Order is still being processed: " + orderNumber);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrencyFailureException("Order is still being processed: " + orderNumber);
+        }
+        
+        // 批量下单中校验失败的订单以FAILED结果返回，这里还原为与单笔下单一致的异常
+        if (response.getSubmissionStatus() == SubmissionStatus.FAILED) {
+            throw new IllegalStateException(response.getFailureReason());
+        }
+        return response;
+    }
+    
+    private List<OrderResponse> createBatch(List<NumberedOrder> orders) {
+        List<CreateOrderRequest> requests = new ArrayList<>(orders.size());
+        List<String> orderNumbers = new ArrayList<>(orders.size());
+        for (NumberedOrder order : orders) {
+            requests.add(order.request);
+            orderNumbers.add(order.orderNumber);
+        }
+        return orderApplicationService.createAndProcessOrders(requests, orderNumbers);
+    }
+    
+    private OrderResponse createWithRetry(NumberedOrder order) {
+        return orderRetryPolicy.execute(() ->
+            orderApplicationService.createAndProcessOrder(order.request, order.orderNumber));
+    }
+    
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (groupCommitter != null) {
+            groupCommitter.shutdown(30, TimeUnit.SECONDS);
+        }
+    }
+    
+    /**
+     * 已分配订单号的下单请求
+     */
+    private static final class NumberedOrder {
+        
+        private final CreateOrderRequest request;
+        private final String orderNumber;
+        
+        private NumberedOrder(CreateOrderRequest request, String orderNumber) {
+            this.request = request;
+            this.orderNumber = orderNumber;
+        }
+    }
+}
\ No newline at end of file
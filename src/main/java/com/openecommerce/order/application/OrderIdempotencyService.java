@@ -0,0 +1,319 @@
+package com.openecommerce.order.application;
+
+import com.openecommerce.order.application.dto.CreateOrderRequest;
+import com.openecommerce.order.application.dto.OrderItemRequest;
+import com.openecommerce.order.application.dto.OrderResponse;
+import com.openecommerce.order.domain.IdempotencyRecord;
+import com.openecommerce.order.domain.IdempotencyRecordRepository;
+import com.openecommerce.order.domain.OrderNumberGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Order Idempotency Service
+ * 下单幂等服务：按用户和客户端幂等键去重。下单前先以唯一约束写入幂等记录占用幂等键（携带预先分配的订单号和请求指纹），
+ * 占用失败的请求返回原订单或在原订单处理中时以ConcurrencyFailureException拒绝；同一幂等键携带不同请求时以
+ * IdempotencyKeyMismatchException拒绝。处理租约到期后订单仍不存在的记录由重试接管，沿用同一订单号下单，
+ * 任何情况下都不会重复下单。有界、按TTL过期的内存缓存让同一实例上的并发重试直接等待首个请求的结果
+ */
+@Service
+public class OrderIdempotencyService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(OrderIdempotencyService.class);
+    
+    private final OrderGroupCommitService orderGroupCommitService;
+    private final OrderApplicationService orderApplicationService;
+    private final OrderNumberGenerator orderNumberGenerator;
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final int cacheSize;
+    private final long cacheTtlMillis;
+    private final long retentionHours;
+    private final long leaseMillis;
+    private final ConcurrentMap<String, CachedResult> cache = new ConcurrentHashMap<>();
+    
+    @Autowired
+    public OrderIdempotencyService(OrderGroupCommitService orderGroupCommitService,
+                                   OrderApplicationService orderApplicationService,
+                                   OrderNumberGenerator orderNumberGenerator,
+                                   IdempotencyRecordRepository idempotencyRecordRepository,
+                                   @Value("${business.order.idempotency.cache-size:10000}") int cacheSize,
+                                   @Value("${business.order.idempotency.cache-ttl-ms:600000}") long cacheTtlMillis,
+                                   @Value("${business.order.idempotency.retention-hours:24}") long retentionHours,
+                                   @Value("${business.order.idempotency.lease-ms:30000}") long leaseMillis) {
+        this.orderGroupCommitService = orderGroupCommitService;
+        this.orderApplicationService = orderApplicationService;
+        this.orderNumberGenerator = orderNumberGenerator;
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.cacheSize = cacheSize;
+        this.cacheTtlMillis = cacheTtlMillis;
+        this.retentionHours = retentionHours;
+        this.leaseMillis = leaseMillis;
+    }
+    
+    /**
+     * 按用户和幂等键创建并处理订单：幂等键已处理过时直接返回原订单，不再执行下单流程；
+     * 原订单仍在处理中时抛出ConcurrencyFailureException，幂等键已用于不同请求时抛出IdempotencyKeyMismatchException，
+     * 处理中的幂等键过多时抛出RejectedExecutionException
+     */
+    public OrderResponse createAndProcessOrder(String idempotencyKey, CreateOrderRequest request) {
+        if (idempotencyKey.trim().isEmpty() || idempotencyKey.length() > IdempotencyRecord.MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Invalid idempotency key");
+        }
+        
+        String cacheKey = request.getUserId() + ":" + idempotencyKey;
+        String fingerprint = fingerprint(request);
+        long now = System.currentTimeMillis();
+        CachedResult cached = cache.get(cacheKey);
+        if (cached != null && !cached.isExpired(now)) {
+            checkFingerprint(idempotencyKey, cached.fingerprint, fingerprint);
+            return await(cached.future);
+        }
+        
+        // 内存未命中（已过期、重启或由其他实例处理）时查数据库
+        Optional<IdempotencyRecord> existing =
+            idempotencyRecordRepository.findByUserIdAndIdempotencyKey(request.getUserId(), idempotencyKey);
+        if (existing.isPresent()) {
+            checkFingerprint(idempotencyKey, existing.get().getRequestFingerprint(), fingerprint);
+            Optional<OrderResponse> order = orderApplicationService.getOrderByOrderNumber(existing.get().getOrderNumber());
+            if (order.isPresent()) {
+                cacheCompleted(cacheKey, fingerprint, order.get(), now);
+                return order.get();
+            }
+            checkLeaseExpired(existing.get());
+        }
+        
+        // 处理中的请求必须登记在缓存中，否则同一幂等键的并发重试无法等待其结果
+        if (!cache.containsKey(cacheKey) && !makeRoom(now)) {
+            throw new RejectedExecutionException("Too many idempotent orders in flight");
+        }
+        CachedResult inFlight = new CachedResult(fingerprint, now + cacheTtlMillis);
+        CachedResult winner = cache.compute(cacheKey,
+            (key, current) -> current == null || current.isExpired(now) ? inFlight : current);
+        if (winner != inFlight) {
+            checkFingerprint(idempotencyKey, winner.fingerprint, fingerprint);
+            return await(winner.future);
+        }
+        
+        OrderResponse response;
+        try {
+            response = reserveAndCreate(idempotencyKey, request, fingerprint, existing.orElse(null));
+        } catch (RuntimeException e) {
+            // 失败不缓存，客户端使用同一幂等键重试时重新下单
+            cache.remove(cacheKey, inFlight);
+            inFlight.future.completeExceptionally(e);
+            throw e;
+        }
+        
+        inFlight.future.complete(response);
+        return response;
+    }
+    
+    /**
+     * 定期清理过期的内存缓存和数据库幂等记录
+     */
+    @Scheduled(fixedDelayString = "${business.order.idempotency.cleanup-interval-ms:60000}")
+    public void evictExpired() {
+        evictExpired(System.currentTimeMillis());
+        int deleted = idempotencyRecordRepository.deleteCreatedBefore(LocalDateTime.now().minusHours(retentionHours));
+        if (deleted > 0) {
+            logger.debug("Deleted {} expired idempotency records", deleted);
+        }
+    }
+    
+    /**
+     * 先占用幂等键再下单：占用失败说明其他实例或重启前的请求已占用，返回其订单而不是再下一单；
+     * 已有记录的租约到期且订单不存在时接管记录，沿用其订单号下单
+     */
+    private OrderResponse reserveAndCreate(String idempotencyKey, CreateOrderRequest request, String fingerprint,
+                                           IdempotencyRecord existing) {
+        IdempotencyRecord record = existing;
+        if (record == null) {
+            IdempotencyRecord reservation = new IdempotencyRecord(request.getUserId(), idempotencyKey, fingerprint,
+                orderNumberGenerator.nextOrderNumber(), leaseExpiry());
+            if (idempotencyRecordRepository.saveIfAbsent(reservation)) {
+                return create(reservation, request);
+            }
+            record = idempotencyRecordRepository.findByUserIdAndIdempotencyKey(request.getUserId(), idempotencyKey)
+                .orElseThrow(() -> new ConcurrencyFailureException(
+                    "Idempotency key " + idempotencyKey + " is being released"));
+            checkFingerprint(idempotencyKey, record.getRequestFingerprint(), fingerprint);
+            Optional<OrderResponse> order = orderApplicationService.getOrderByOrderNumber(record.getOrderNumber());
+            if (order.isPresent()) {
+                return order.get();
+            }
+            checkLeaseExpired(record);
+        }
+        
+        if (!idempotencyRecordRepository.takeOver(record, leaseExpiry())) {
+            throw stillProcessing(record);
+        }
+        logger.info("Taking over idempotency key {} for order {} after its lease expired",
+            idempotencyKey, record.getOrderNumber());
+        return create(record, request);
+    }
+    
+    /**
+     * 以幂等记录的订单号下单；失败时若同一订单号的订单已由此前的持有者提交则返回该订单，
+     * 否则结束租约，重试立即接管并沿用同一订单号
+     */
+    private OrderResponse create(IdempotencyRecord record, CreateOrderRequest request) {
+        try {
+            return orderGroupCommitService.createAndProcessOrder(request, record.getOrderNumber());
+        } catch (RuntimeException e) {
+            Optional<OrderResponse> order = findCommittedOrder(record);
+            if (order.isPresent()) {
+                return order.get();
+            }
+            releaseLease(record);
+            throw e;
+        }
+    }
+    
+    private Optional<OrderResponse> findCommittedOrder(IdempotencyRecord record) {
+        try {
+            return orderApplicationService.getOrderByOrderNumber(record.getOrderNumber());
+        } catch (RuntimeException e) {
+            logger.error("Failed to look up order {} for idempotency key {}",
+                record.getOrderNumber(), record.getIdempotencyKey(), e);
+            return Optional.empty();
+        }
+    }
+    
+    /**
+     * 下单失败后结束租约；结束失败时租约到期后同样可以接管
+     */
+    private void releaseLease(IdempotencyRecord record) {
+        try {
+            idempotencyRecordRepository.releaseLease(record);
+        } catch (RuntimeException e) {
+            logger.error("Failed to release idempotency key {} for order {}",
+                record.getIdempotencyKey(), record.getOrderNumber(), e);
+        }
+    }
+    
+    private void checkLeaseExpired(IdempotencyRecord record) {
+        if (!record.isLeaseExpired(LocalDateTime.now())) {
+            throw stillProcessing(record);
+        }
+    }
+    
+    private static ConcurrencyFailureException stillProcessing(IdempotencyRecord record) {
+        return new ConcurrencyFailureException(
+            "Order for idempotency key " + record.getIdempotencyKey() + " is still being processed");
+    }
+    
+    private static void checkFingerprint(String idempotencyKey, String expected, String actual) {
+        if (!expected.equals(actual)) {
+            throw new IdempotencyKeyMismatchException(idempotencyKey);
+        }
+    }
+    
+    private LocalDateTime leaseExpiry() {
+        return LocalDateTime.now().plus(leaseMillis, ChronoUnit.MILLIS);
+    }
+    
+    /**
+     * 请求指纹：用户ID与按顺序排列的SKU、数量的SHA-256摘要
+     */
+    static String fingerprint(CreateOrderRequest request) {
+        StringBuilder canonical = new StringBuilder().append(request.getUserId());
+        for (OrderItemRequest item : request.getItems()) {
+            canonical.append('\n').append(item.getSku()).append('\t').append(item.getQuantity());
+        }
+        
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256").digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        StringBuilder hex = new StringBuilder(digest.length * 2);
+        for (byte b : digest) {
+            hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return hex.toString();
+    }
+    
+    private void cacheCompleted(String cacheKey, String fingerprint, OrderResponse response, long now) {
+        // 已完成的结果以数据库幂等记录为准，缓存仅用于减少查询，腾不出空间时不缓存
+        if (makeRoom(now)) {
+            CachedResult result = new CachedResult(fingerprint, now + cacheTtlMillis);
+            result.future.complete(response);
+            cache.putIfAbsent(cacheKey, result);
+        }
+    }
+    
+    /**
+     * 缓存已满时先清理过期结果，仍满则淘汰最早过期的已完成结果；只剩处理中的请求时返回false
+     */
+    private boolean makeRoom(long now) {
+        if (cache.size() < cacheSize) {
+            return true;
+        }
+        
+        evictExpired(now);
+        while (cache.size() >= cacheSize) {
+            Optional<Map.Entry<String, CachedResult>> oldest = cache.entrySet().stream()
+                .filter(entry -> entry.getValue().future.isDone())
+                .min(Comparator.comparingLong(entry -> entry.getValue().expiresAt));
+            if (!oldest.isPresent()) {
+                return false;
+            }
+            cache.remove(oldest.get().getKey(), oldest.get().getValue());
+        }
+        return true;
+    }
+    
+    private void evictExpired(long now) {
+        cache.entrySet().removeIf(entry -> entry.getValue().future.isDone() && entry.getValue().isExpired(now));
+    }
+    
+    private OrderResponse await(CompletableFuture<OrderResponse> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * 缓存的下单结果，处理中时Future尚未完成
+     */
+    private static final class CachedResult {
+        
+        private final CompletableFuture<OrderResponse> future = new CompletableFuture<>();
+        private final String fingerprint;
+        private final long expiresAt;
+        
+        private CachedResult(String fingerprint, long expiresAt) {
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+        
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,212 @@
+package com.openecommerce.order.application;
+
+import com.openecommerce.order.application.dto.CreateOrderRequest;
+import com.openecommerce.order.application.dto.OrderResponse;
+import com.openecommerce.order.application.dto.SubmissionStatus;
+import com.openecommerce.order.domain.OrderNumberGenerator;
+import com.openecommerce.product.domain.Product;
+import com.openecommerce.product.domain.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order Intake Service
+ * 异步下单服务：请求进入有界队列后立即返回订单号，由后台执行下单流程。
+ * executor模式使用工作线程池；pipeline模式按商家分区进入单写者环形缓冲区流水线
+ */
+@Service
+public class OrderIntakeService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(OrderIntakeService.class);
+    
+    public static final String MODE_EXECUTOR = "executor";
+    public static final String MODE_PIPELINE = "pipeline";
+    
+    private final OrderApplicationService orderApplicationService;
+    private final OrderNumberGenerator orderNumberGenerator;
+    private final ProductRepository productRepository;
+    private final OrderRetryPolicy orderRetryPolicy;
+    private final ThreadPoolExecutor executor;
+    private final OrderPipeline pipeline;
+    private final long failedRetentionMillis;
+    private final long pendingTimeoutMillis;
+    private final ConcurrentMap<String, Submission> submissions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Long> merchantIdsBySku = new ConcurrentHashMap<>();
+    
+    @Autowired
+    public OrderIntakeService(OrderApplicationService orderApplicationService,
+                              OrderNumberGenerator orderNumberGenerator,
+                              ProductRepository productRepository,
+                              OrderRetryPolicy orderRetryPolicy,
+                              @Value("${business.order.async.mode:executor}") String mode,
+                              @Value("${business.order.async.worker-threads:8}") int workerThreads,
+                              @Value("${business.order.async.queue-capacity:1000}") int queueCapacity,
+                              @Value("${business.order.async.pipeline.partitions:4}") int pipelinePartitions,
+                              @Value("${business.order.async.pipeline.ring-size:1024}") int ringSize,
+                              @Value("${business.order.async.failed-retention-ms:600000}") long failedRetentionMillis,
+                              @Value("${business.order.async.pending-timeout-ms:3600000}") long pendingTimeoutMillis) {
+        this.orderApplicationService = orderApplicationService;
+        this.orderNumberGenerator = orderNumberGenerator;
+        this.productRepository = productRepository;
+        this.orderRetryPolicy = orderRetryPolicy;
+        this.failedRetentionMillis = failedRetentionMillis;
+        this.pendingTimeoutMillis = pendingTimeoutMillis;
+        
+        if (MODE_PIPELINE.equals(mode)) {
+            this.executor = null;
+            this.pipeline = new OrderPipeline(pipelinePartitions, ringSize, this::process);
+        } else if (MODE_EXECUTOR.equals(mode)) {
+            this.executor = new ThreadPoolExecutor(
+                workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("order-intake-"),
+                new ThreadPoolExecutor.AbortPolicy());
+            this.pipeline = null;
+        } else {
+            throw new IllegalArgumentException("Unknown order intake mode: " + mode);
+        }
+    }
+    
+    /**
+     * 提交订单，队列已满时抛出RejectedExecutionException
+     */
+    public OrderResponse submit(CreateOrderRequest request) {
+        String orderNumber = orderNumberGenerator.nextOrderNumber();
+        submissions.put(orderNumber, Submission.pending());
+        
+        try {
+            if (pipeline != null) {
+                pipeline.publish(partitionKey(request), orderNumber, request);
+            } else {
+                executor.execute(() -> process(orderNumber, request));
+            }
+        } catch (RejectedExecutionException e) {
+            submissions.remove(orderNumber);
+            throw e;
+        }
+        
+        return OrderResponse.submission(orderNumber, SubmissionStatus.PENDING, null);
+    }
+    
+    /**
+     * 查询尚未落库的异步订单状态（处理中或失败），已完成的订单以数据库为准
+     */
+    public Optional<OrderResponse> getSubmission(String orderNumber) {
+        Submission submission = submissions.get(orderNumber);
+        if (submission == null) {
+            return Optional.empty();
+        }
+        return Optional.of(OrderResponse.submission(orderNumber, submission.status, submission.failureReason));
+    }
+    
+    /**
+     * 当前排队中的订单数
+     */
+    public int getQueueSize() {
+        return pipeline != null ? pipeline.getBacklog() : executor.getQueue().size();
+    }
+    
+    /**
+     * 定期清理过期的失败记录，以及超时仍未处理完的记录（避免丢失的订单永远停留在PENDING）
+     */
+    @Scheduled(fixedDelayString = "${business.order.async.cleanup-interval-ms:60000}")
+    public void evictExpiredSubmissions() {
+        long now = System.currentTimeMillis();
+        submissions.entrySet().removeIf(entry -> {
+            Submission submission = entry.getValue();
+            if (submission.status == SubmissionStatus.FAILED) {
+                return submission.updatedAt < now - failedRetentionMillis;
+            }
+            if (submission.updatedAt < now - pendingTimeoutMillis) {
+                logger.warn("Async order {} still pending after {} ms, evicting", entry.getKey(), pendingTimeoutMillis);
+                return true;
+            }
+            return false;
+        });
+    }
+    
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (pipeline != null) {
+            if (!pipeline.shutdown(30, TimeUnit.SECONDS)) {
+                logger.warn("Order pipeline did not drain in time, {} orders still queued", getQueueSize());
+            }
+            return;
+        }
+        
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            logger.warn("Order intake workers did not finish in time, {} orders still queued", getQueueSize());
+            executor.shutdownNow();
+        }
+    }
+    
+    /**
+     * 流水线分区键：同一商家的订单进入同一分区；商品不存在时按用户分区，由下单流程报告错误
+     */
+    private long partitionKey(CreateOrderRequest request) {
+        if (request.getItems() == null || request.getItems().isEmpty()) {
+            return request.getUserId();
+        }
+        
+        String sku = request.getItems().get(0).getSku();
+        Long merchantId = merchantIdsBySku.get(sku);
+        if (merchantId == null) {
+            for (Product product : productRepository.findBySkuIn(Collections.singleton(sku))) {
+                merchantId = product.getMerchantId();
+                merchantIdsBySku.put(sku, merchantId);
+            }
+        }
+        return merchantId != null ? merchantId : request.getUserId();
+    }
+    
+    private void process(String orderNumber, CreateOrderRequest request) {
+        try {
+            orderRetryPolicy.execute(() -> orderApplicationService.createAndProcessOrder(request, orderNumber));
+            // 事务已提交，后续查询直接命中数据库
+            submissions.remove(orderNumber);
+        } catch (RuntimeException e) {
+            logger.warn("Async order {} failed: {}", orderNumber, e.getMessage());
+            submissions.put(orderNumber, Submission.failed(e.getMessage()));
+        }
+    }
+    
+    /**
+     * 异步订单的处理状态
+     */
+    private static final class Submission {
+        
+        private final SubmissionStatus status;
+        private final String failureReason;
+        private final long updatedAt;
+        
+        private Submission(SubmissionStatus status, String failureReason, long updatedAt) {
+            this.status = status;
+            this.failureReason = failureReason;
+            this.updatedAt = updatedAt;
+        }
+        
+        static Submission pending() {
+            return new Submission(SubmissionStatus.PENDING, null, System.currentTimeMillis());
+        }
+        
+        static Submission failed(String failureReason) {
+            return new Submission(SubmissionStatus.FAILED, failureReason, System.currentTimeMillis());
+        }
+    }
+}
\ No newline at end of file
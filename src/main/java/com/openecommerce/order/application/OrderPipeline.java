@@ -0,0 +1,184 @@
+package com.openecommerce.order.application;
+
+import com.openecommerce.order.application.dto.CreateOrderRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+
+/**
+ * Order Pipeline
+ * 单写者订单流水线：按分区键（商家）划分为多个分区，每个分区一个预分配槽位的环形缓冲区和一个消费线程，
+ * 同一商家的订单始终由同一线程串行处理，商家和商品聚合不会出现并发写冲突
+ */
+public class OrderPipeline {
+    
+    private static final Logger logger = LoggerFactory.getLogger(OrderPipeline.class);
+    
+    private static final long IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    
+    private final Partition[] partitions;
+    
+    public OrderPipeline(int partitionCount, int ringSize, BiConsumer<String, CreateOrderRequest> handler) {
+        if (partitionCount < 1) {
+            throw new IllegalArgumentException("Partition count must be positive");
+        }
+        if (ringSize < 2 || Integer.bitCount(ringSize) != 1) {
+            throw new IllegalArgumentException("Ring size must be a power of two");
+        }
+        
+        ThreadFactory threadFactory = new CustomizableThreadFactory("order-pipeline-");
+        this.partitions = new Partition[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            partitions[i] = new Partition(ringSize, handler);
+            partitions[i].thread = threadFactory.newThread(partitions[i]::run);
+            partitions[i].thread.start();
+        }
+    }
+    
+    /**
+     * 发布订单到分区键对应的环形缓冲区，缓冲区已满时抛出RejectedExecutionException
+     */
+    public void publish(long partitionKey, String orderNumber, CreateOrderRequest request) {
+        Partition partition = partitions[(int) Math.floorMod(partitionKey, (long) partitions.length)];
+        if (!partition.offer(orderNumber, request)) {
+            throw new RejectedExecutionException("Order pipeline partition is full");
+        }
+    }
+    
+    /**
+     * 当前各分区中待处理的订单总数
+     */
+    public int getBacklog() {
+        int backlog = 0;
+        for (Partition partition : partitions) {
+            backlog += partition.backlog();
+        }
+        return backlog;
+    }
+    
+    /**
+     * 停止接收新订单，等待进行中的发布完成并处理完缓冲区中剩余的订单后退出
+     */
+    public boolean shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        for (Partition partition : partitions) {
+            partition.running = false;
+            LockSupport.unpark(partition.thread);
+        }
+        
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Partition partition : partitions) {
+            long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            partition.thread.join(Math.max(remaining, 1));
+            if (partition.thread.isAlive()) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * 环形缓冲区中的预分配槽位，sequence标记槽位当前可写或可读的序号
+     */
+    private static final class Slot {
+        
+        private final AtomicLong sequence;
+        private String orderNumber;
+        private CreateOrderRequest request;
+        
+        private Slot(long sequence) {
+            this.sequence = new AtomicLong(sequence);
+        }
+    }
+    
+    /**
+     * 单个分区：多生产者写入、单消费者读取的有界环形缓冲区
+     */
+    private static final class Partition {
+        
+        private final Slot[] slots;
+        private final int mask;
+        private final BiConsumer<String, CreateOrderRequest> handler;
+        private final AtomicLong tail = new AtomicLong();
+        private final AtomicInteger publishers = new AtomicInteger();
+        private volatile long head;
+        private volatile boolean running = true;
+        private Thread thread;
+        
+        private Partition(int ringSize, BiConsumer<String, CreateOrderRequest> handler) {
+            this.slots = new Slot[ringSize];
+            this.mask = ringSize - 1;
+            this.handler = handler;
+            for (int i = 0; i < ringSize; i++) {
+                slots[i] = new Slot(i);
+            }
+        }
+        
+        private boolean offer(String orderNumber, CreateOrderRequest request) {
+            // 先登记再检查running：关闭后消费者只在没有进行中的发布时退出，已占用的槽位不会丢失
+            publishers.incrementAndGet();
+            try {
+                return running && claim(orderNumber, request);
+            } finally {
+                publishers.decrementAndGet();
+            }
+        }
+        
+        private boolean claim(String orderNumber, CreateOrderRequest request) {
+            while (true) {
+                long position = tail.get();
+                Slot slot = slots[(int) (position & mask)];
+                long sequence = slot.sequence.get();
+                if (sequence < position) {
+                    // 消费者尚未腾出该槽位，缓冲区已满
+                    return false;
+                }
+                if (sequence == position && tail.compareAndSet(position, position + 1)) {
+                    slot.orderNumber = orderNumber;
+                    slot.request = request;
+                    slot.sequence.set(position + 1);
+                    LockSupport.unpark(thread);
+                    return true;
+                }
+            }
+        }
+        
+        private int backlog() {
+            return (int) (tail.get() - head);
+        }
+        
+        private void run() {
+            long position = head;
+            while (true) {
+                Slot slot = slots[(int) (position & mask)];
+                if (slot.sequence.get() != position + 1) {
+                    if (!running && publishers.get() == 0 && position == tail.get()) {
+                        return;
+                    }
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    continue;
+                }
+                
+                String orderNumber = slot.orderNumber;
+                CreateOrderRequest request = slot.request;
+                slot.orderNumber = null;
+                slot.request = null;
+                slot.sequence.set(position + slots.length);
+                head = ++position;
+                
+                try {
+                    handler.accept(orderNumber, request);
+                } catch (RuntimeException e) {
+                    logger.error("Order pipeline handler failed for order {}", orderNumber, e);
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.openecommerce.order.application;
+
+import com.openecommerce.order.application.dto.OrderResponse;
+import com.openecommerce.order.domain.OrderCursor;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Order Query Repository Interface
+ * 订单查询仓储接口：读侧存储每个订单一条反规范化记录（订单项内嵌），查询不关联订单项表、
+ * 不加载实体；写侧在订单状态变化的同一事务内刷新对应记录
+ */
+public interface OrderQueryRepository {
+    
+    /**
+     * 写入或覆盖订单的读模型记录（含订单项）
+     */
+    void saveAll(List<OrderResponse> orders);
+    
+    /**
+     * 根据订单号查询订单（含订单项）
+     */
+    Optional<OrderResponse> findByOrderNumber(String orderNumber);
+    
+    /**
+     * 根据订单ID批量查询订单（含订单项），结果顺序不保证与ids一致
+     */
+    List<OrderResponse> findByIdIn(Collection<Long> ids);
+    
+    /**
+     * 按 (下单时间, ID) 倒序分页查询用户订单（含订单项），after为空时从最新的订单开始
+     */
+    List<OrderResponse> findPageByUserId(Long userId, OrderCursor after, int limit);
+    
+    /**
+     * 按 (下单时间, ID) 倒序分页查询商家订单（含订单项），after为空时从最新的订单开始
+     */
+    List<OrderResponse> findPageByMerchantId(Long merchantId, OrderCursor after, int limit);
+    
+    /**
+     * 按 (下单时间, ID) 顺序流式读取商家的全部订单（含订单项），逐个交给consumer，不整体加载到内存
+     */
+    void forEachByMerchantId(Long merchantId, Consumer<OrderResponse> consumer);
+    
+    /**
+     * 按订单ID顺序流式读取全部订单（含订单项），逐个交给consumer，不整体加载到内存
+     */
+    void forEachOrder(Consumer<OrderResponse> consumer);
+}
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.openecommerce.order.application;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Order Retry Policy
+ * 下单重试策略：乐观锁冲突时以指数退避加随机抖动重新执行，每次执行都在新的事务中进行，
+ * 调用方不能处于事务中。按聚合类型记录冲突次数指标
+ */
+@Component
+public class OrderRetryPolicy {
+    
+    private static final Logger logger = LoggerFactory.getLogger(OrderRetryPolicy.class);
+    
+    static final String ATTEMPTS_METRIC = "order.processing.attempts";
+    static final String CONFLICTS_METRIC = "order.optimistic_lock.conflicts";
+    static final String EXHAUSTED_METRIC = "order.optimistic_lock.retries_exhausted";
+    
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final Counter attempts;
+    
+    @Autowired
+    public OrderRetryPolicy(MeterRegistry meterRegistry,
+                            @Value("${business.order.retry.max-attempts:3}") int maxAttempts,
+                            @Value("${business.order.retry.initial-backoff-ms:10}") long initialBackoffMillis,
+                            @Value("${business.order.retry.max-backoff-ms:200}") long maxBackoffMillis) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Max attempts must be positive");
+        }
+        
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.attempts = meterRegistry.counter(ATTEMPTS_METRIC);
+    }
+    
+    /**
+     * 执行下单操作，乐观锁冲突时重试，重试次数用尽后抛出最后一次的冲突异常
+     */
+    public <T> T execute(Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            attempts.increment();
+            try {
+                return action.get();
+            } catch (OptimisticLockingFailureException e) {
+                String aggregateType = aggregateType(e);
+                meterRegistry.counter(CONFLICTS_METRIC, "aggregate", aggregateType).increment();
+                if (attempt >= maxAttempts) {
+                    meterRegistry.counter(EXHAUSTED_METRIC, "aggregate", aggregateType).increment();
+                    logger.warn("Order processing gave up after {} optimistic lock conflicts on {}", attempt, aggregateType);
+                    throw e;
+                }
+                
+                logger.debug("Optimistic lock conflict on {}, retrying (attempt {}/{})", aggregateType, attempt, maxAttempts);
+                backoff(attempt);
+            }
+        }
+    }
+    
+    /**
+     * 全抖动退避：在 [0, min(上限, 初始值 * 2^(attempt-1))] 内随机等待，避免冲突方同时重试
+     */
+    private void backoff(int attempt) {
+        long ceiling = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 20));
+        if (ceiling <= 0) {
+            return;
+        }
+        
+        try {
+            TimeUnit.MILLISECONDS.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while backing off order retry", e);
+        }
+    }
+    
+    private String aggregateType(OptimisticLockingFailureException e) {
+        if (e instanceof ObjectOptimisticLockingFailureException) {
+            String className = ((ObjectOptimisticLockingFailureException) e).getPersistentClassName();
+            if (className != null) {
+                return className.substring(className.lastIndexOf('.') + 1);
+            }
+        }
+        return "unknown";
+    }
+}
\ No newline at end of file
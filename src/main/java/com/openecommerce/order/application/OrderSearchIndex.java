@@ -0,0 +1,286 @@
+package com.openecommerce.order.application;
+
+import com.openecommerce.order.application.dto.OrderResponse;
+import com.openecommerce.order.application.dto.OrderResponse.OrderItemResponse;
+import com.openecommerce.order.application.dto.OrderSearchRequest;
+import com.openecommerce.order.domain.OrderStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.IntConsumer;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Order Search Index
+ * 进程内订单检索索引：订单ID映射为按写入顺序连续分配的内部文档ID，维护 SKU -> 订单、商品名称 -> 订单 的
+ * 有序文档ID列表（倒排表）和按状态划分的位图，检索时以最短的倒排表驱动求交后按下单时间过滤，不扫描订单项表。
+ * 内存占用随订单数而非订单ID的大小增长。订单提交后增量更新，启动时从订单读模型重建
+ */
+@Component
+public class OrderSearchIndex {
+    
+    private static final Logger logger = LoggerFactory.getLogger(OrderSearchIndex.class);
+    
+    private final OrderQueryRepository orderQueryRepository;
+    private final boolean enabled;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> docsByOrderId = new HashMap<>();
+    private final Map<String, Postings> ordersBySku = new HashMap<>();
+    private final Map<String, Postings> ordersByProductName = new HashMap<>();
+    private final Map<OrderStatus, BitSet> ordersByStatus = new EnumMap<>(OrderStatus.class);
+    private long[] orderIds = new long[1024];
+    private long[] orderTimes = new long[1024];
+    private int docCount;
+    
+    @Autowired
+    public OrderSearchIndex(OrderQueryRepository orderQueryRepository,
+                            @Value("${business.order.search.enabled:true}") boolean enabled) {
+        this.orderQueryRepository = orderQueryRepository;
+        this.enabled = enabled;
+    }
+    
+    /**
+     * 是否启用检索索引
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * 启动时从订单读模型重建索引
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        
+        int[] count = new int[1];
+        orderQueryRepository.forEachOrder(order -> {
+            put(order);
+            count[0]++;
+        });
+        logger.info("Order search index rebuilt from read model: {} orders loaded", count[0]);
+    }
+    
+    /**
+     * 订单所在事务提交后写入索引，回滚的订单不会被检索到；无事务时立即写入
+     */
+    public void indexAfterCommit(List<OrderResponse> orders) {
+        if (!enabled || orders.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            orders.forEach(this::put);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                orders.forEach(OrderSearchIndex.this::put);
+            }
+        });
+    }
+    
+    /**
+     * 写入或更新单个订单；订单项不可变，重复写入只会更新状态
+     */
+    public void put(OrderResponse order) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = docsByOrderId.get(order.getId());
+            int doc = existing != null ? existing : newDoc(order.getId());
+            orderTimes[doc] = Timestamp.valueOf(order.getOrderTime()).getTime();
+            for (BitSet statusOrders : ordersByStatus.values()) {
+                statusOrders.clear(doc);
+            }
+            ordersByStatus.computeIfAbsent(order.getStatus(), status -> new BitSet()).set(doc);
+            if (existing == null) {
+                // 新文档ID大于已有的所有文档ID，追加即保持倒排表有序
+                for (OrderItemResponse item : order.getItems()) {
+                    ordersBySku.computeIfAbsent(item.getSku(), sku -> new Postings()).add(doc);
+                    ordersByProductName.computeIfAbsent(item.getProductName().toLowerCase(Locale.ROOT),
+                        name -> new Postings()).add(doc);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * 检索满足条件的订单ID，按 (下单时间, ID) 倒序返回至多limit个
+     */
+    public List<Long> search(OrderSearchRequest request) {
+        if (!enabled) {
+            throw new IllegalStateException("Order search is disabled");
+        }
+        
+        long from = request.getFrom() != null ? toMillis(request.getFrom()) : Long.MIN_VALUE;
+        long to = request.getTo() != null ? toMillis(request.getTo()) : Long.MAX_VALUE;
+        int limit = request.getLimit();
+        List<Long> ids = new ArrayList<>(limit);
+        lock.readLock().lock();
+        try {
+            List<Postings> filters = new ArrayList<>(2);
+            if (request.getSku() != null) {
+                filters.add(ordersBySku.getOrDefault(request.getSku(), Postings.EMPTY));
+            }
+            if (request.getProductName() != null) {
+                filters.add(matchProductName(request.getProductName().toLowerCase(Locale.ROOT)));
+            }
+            BitSet statusDocs = request.getStatus() != null
+                ? ordersByStatus.getOrDefault(request.getStatus(), new BitSet())
+                : null;
+            
+            // 小顶堆保留时间范围内最新的limit个订单
+            PriorityQueue<Integer> top = new PriorityQueue<>(limit + 1, oldestFirst());
+            IntConsumer collector = doc -> {
+                long orderTime = orderTimes[doc];
+                if (orderTime < from || orderTime >= to) {
+                    return;
+                }
+                top.add(doc);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            };
+            if (!filters.isEmpty()) {
+                forEachMatch(filters, statusDocs, collector);
+            } else if (statusDocs != null) {
+                for (int doc = statusDocs.nextSetBit(0); doc >= 0; doc = statusDocs.nextSetBit(doc + 1)) {
+                    collector.accept(doc);
+                }
+            } else {
+                for (int doc = 0; doc < docCount; doc++) {
+                    collector.accept(doc);
+                }
+            }
+            while (!top.isEmpty()) {
+                ids.add(orderIds[top.poll()]);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        Collections.reverse(ids);
+        return ids;
+    }
+    
+    private int newDoc(Long orderId) {
+        int doc = docCount++;
+        if (doc >= orderIds.length) {
+            orderIds = Arrays.copyOf(orderIds, orderIds.length * 2);
+            orderTimes = Arrays.copyOf(orderTimes, orderTimes.length * 2);
+        }
+        orderIds[doc] = orderId;
+        docsByOrderId.put(orderId, doc);
+        return doc;
+    }
+    
+    /**
+     * 以最短的倒排表驱动，逐个文档在其余倒排表中二分查找、在状态位图中检查
+     */
+    private static void forEachMatch(List<Postings> filters, BitSet statusDocs, IntConsumer collector) {
+        filters.sort(Comparator.comparingInt(postings -> postings.size));
+        Postings driver = filters.get(0);
+        candidates:
+        for (int i = 0; i < driver.size; i++) {
+            int doc = driver.docs[i];
+            for (int f = 1; f < filters.size(); f++) {
+                if (!filters.get(f).contains(doc)) {
+                    continue candidates;
+                }
+            }
+            if (statusDocs == null || statusDocs.get(doc)) {
+                collector.accept(doc);
+            }
+        }
+    }
+    
+    /**
+     * 商品名称的种类远少于订单数，逐个名称做包含匹配后合并其倒排表
+     */
+    private Postings matchProductName(String fragment) {
+        List<Postings> matched = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<String, Postings> entry : ordersByProductName.entrySet()) {
+            if (entry.getKey().contains(fragment)) {
+                matched.add(entry.getValue());
+                total += entry.getValue().size;
+            }
+        }
+        if (matched.size() <= 1) {
+            return matched.isEmpty() ? Postings.EMPTY : matched.get(0);
+        }
+        
+        int[] docs = new int[total];
+        int offset = 0;
+        for (Postings postings : matched) {
+            System.arraycopy(postings.docs, 0, docs, offset, postings.size);
+            offset += postings.size;
+        }
+        Arrays.sort(docs);
+        Postings union = new Postings();
+        for (int doc : docs) {
+            union.add(doc);
+        }
+        return union;
+    }
+    
+    private Comparator<Integer> oldestFirst() {
+        return Comparator.<Integer>comparingLong(doc -> orderTimes[doc]).thenComparingLong(doc -> orderIds[doc]);
+    }
+    
+    private static long toMillis(LocalDateTime time) {
+        return Timestamp.valueOf(time).getTime();
+    }
+    
+    /**
+     * 有序、去重的文档ID列表
+     */
+    private static final class Postings {
+        
+        private static final Postings EMPTY = new Postings();
+        
+        private int[] docs = new int[4];
+        private int size;
+        
+        /**
+         * 追加文档ID，仅接受大于末尾的ID（同一订单的多个订单项重复追加时忽略）
+         */
+        private void add(int doc) {
+            if (size > 0 && docs[size - 1] >= doc) {
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+        
+        private boolean contains(int doc) {
+            return Arrays.binarySearch(docs, 0, size, doc) >= 0;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.openecommerce.order.application.dto;
+
+import lombok.Data;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * Batch Create Order Request DTO
+ * 批量创建订单请求DTO
+ */
+@Data
+public class BatchCreateOrderRequest {
+    
+    @NotEmpty(message = "Orders cannot be empty")
+    @Size(max = 500, message = "A batch cannot contain more than 500 orders")
+    @Valid
+    private List<CreateOrderRequest> orders;
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.openecommerce.order.application.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Order Page Response DTO
+ * 订单分页响应DTO，nextCursor为空表示没有下一页
+ */
+@Data
+public class OrderPageResponse {
+    
+    private List<OrderResponse> orders;
+    private String nextCursor;
+    
+    public static OrderPageResponse of(List<OrderResponse> orders, String nextCursor) {
+        OrderPageResponse response = new OrderPageResponse();
+        response.setOrders(orders);
+        response.setNextCursor(nextCursor);
+        return response;
+    }
+}
\ No newline at end of file
@@ -24,6 +24,8 @@ public class OrderResponse {
     private BigDecimal totalAmount;
     private String totalCurrency;
     private OrderStatus status;
+    private SubmissionStatus submissionStatus;
+    private String failureReason;
     private LocalDateTime orderTime;
     private List<OrderItemResponse> items;
     private LocalDateTime createdAt;
@@ -49,6 +51,17 @@ public class OrderResponse {
         return response;
     }
     
+    /**
+     * 尚未落库（处理中）或未能落库（处理失败）的下单结果，此时没有订单状态
+     */
+    public static OrderResponse submission(String orderNumber, SubmissionStatus submissionStatus, String failureReason) {
+        OrderResponse response = new OrderResponse();
+        response.setOrderNumber(orderNumber);
+        response.setSubmissionStatus(submissionStatus);
+        response.setFailureReason(failureReason);
+        return response;
+    }
+    
     @Data
     public static class OrderItemResponse {
         private Long id;
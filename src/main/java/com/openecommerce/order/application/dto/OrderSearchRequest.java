@@ -0,0 +1,30 @@
+package com.openecommerce.order.application.dto;
+
+import com.openecommerce.order.domain.OrderStatus;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Order Search Request DTO
+ * 订单检索条件：各条件之间为与关系，至少指定一个；productName按包含匹配且不区分大小写，
+ * 下单时间范围为 [from, to)
+ */
+@Data
+public class OrderSearchRequest {
+    
+    private String sku;
+    
+    private String productName;
+    
+    private OrderStatus status;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+    
+    private int limit = 20;
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.openecommerce.order.application.dto;
+
+/**
+ * Submission Status Enumeration
+ * 下单提交状态枚举：仅用于尚未落库或未能落库的订单响应，不属于订单生命周期，不会持久化
+ */
+public enum SubmissionStatus {
+    /**
+     * 已受理，等待处理
+     */
+    PENDING,
+    
+    /**
+     * 处理失败
+     */
+    FAILED
+}
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.openecommerce.order.domain;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Idempotency Record Entity
+ * 下单幂等记录：用户的客户端幂等键与预先分配的订单号的对应关系，在下单前写入以占用幂等键，
+ * 同时保存请求指纹，同一幂等键携带不同请求时据此拒绝。
+ * 订单号对应的订单尚不存在时表示请求仍在处理中；处理租约到期后订单仍不存在（如占用后进程崩溃），
+ * 重试可接管记录并沿用同一订单号下单，订单号唯一约束保证不会重复下单
+ */
+@Entity
+@Table(name = "order_idempotency_keys",
+       uniqueConstraints = @UniqueConstraint(name = "uk_order_idempotency_keys_user_key",
+                                             columnNames = {"user_id", "idempotency_key"}),
+       indexes = @Index(name = "idx_order_idempotency_keys_created_at", columnList = "created_at"))
+@Getter
+@EqualsAndHashCode(of = "id")
+@ToString
+public class IdempotencyRecord {
+    
+    /**
+     * 幂等键最大长度
+     */
+    public static final int MAX_KEY_LENGTH = 100;
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(name = "idempotency_key", nullable = false, length = MAX_KEY_LENGTH)
+    private String idempotencyKey;
+    
+    @Column(name = "request_fingerprint", nullable = false, length = 64)
+    private String requestFingerprint;
+    
+    @Column(name = "order_number", nullable = false, length = 50)
+    private String orderNumber;
+    
+    @Column(name = "lease_expires_at", nullable = false)
+    private LocalDateTime leaseExpiresAt;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    // JPA required
+    protected IdempotencyRecord() {}
+    
+    public IdempotencyRecord(Long userId, String idempotencyKey, String requestFingerprint,
+                             String orderNumber, LocalDateTime leaseExpiresAt) {
+        if (userId == null) {
+            throw new IllegalArgumentException("User ID cannot be null");
+        }
+        if (idempotencyKey == null || idempotencyKey.trim().isEmpty()) {
+            throw new IllegalArgumentException("Idempotency key cannot be null or empty");
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency key cannot exceed " + MAX_KEY_LENGTH + " characters");
+        }
+        if (requestFingerprint == null || requestFingerprint.isEmpty()) {
+            throw new IllegalArgumentException("Request fingerprint cannot be null or empty");
+        }
+        if (orderNumber == null || orderNumber.trim().isEmpty()) {
+            throw new IllegalArgumentException("Order number cannot be null or empty");
+        }
+        if (leaseExpiresAt == null) {
+            throw new IllegalArgumentException("Lease expiry cannot be null");
+        }
+        
+        this.userId = userId;
+        this.idempotencyKey = idempotencyKey;
+        this.requestFingerprint = requestFingerprint;
+        this.orderNumber = orderNumber;
+        this.leaseExpiresAt = leaseExpiresAt;
+        this.createdAt = LocalDateTime.now();
+    }
+    
+    /**
+     * 处理租约是否已到期
+     */
+    public boolean isLeaseExpired(LocalDateTime now) {
+        return !now.isBefore(leaseExpiresAt);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.openecommerce.order.domain;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Idempotency Record Repository Interface
+ * 下单幂等记录仓储接口
+ */
+public interface IdempotencyRecordRepository {
+    
+    /**
+     * 保存幂等记录，幂等键已存在时返回false
+     */
+    boolean saveIfAbsent(IdempotencyRecord record);
+    
+    /**
+     * 接管处理租约已到期的记录并设置新的租约到期时间，租约未到期（已被其他请求接管）时返回false
+     */
+    boolean takeOver(IdempotencyRecord record, LocalDateTime leaseExpiresAt);
+    
+    /**
+     * 立即结束处理租约，重试无需等待即可接管
+     */
+    void releaseLease(IdempotencyRecord record);
+    
+    /**
+     * 根据用户ID和幂等键查找记录
+     */
+    Optional<IdempotencyRecord> findByUserIdAndIdempotencyKey(Long userId, String idempotencyKey);
+    
+    /**
+     * 删除指定时间之前创建的记录，返回删除的条数
+     */
+    int deleteCreatedBefore(LocalDateTime createdBefore);
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.openecommerce.order.domain;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Merchant Daily Sales Repository Interface
+ * 商家日销售汇总仓储接口：订单完成时在同一事务内累加，结算按日读取汇总而不扫描订单表
+ */
+public interface MerchantDailySalesRepository {
+    
+    /**
+     * 将已完成订单按 (商家, 下单日期, 币种) 累加到日销售汇总
+     */
+    void addCompletedOrders(List<Order> orders);
+    
+    /**
+     * 按商家和币种汇总商家ID在 [minMerchantId, maxMerchantId] 内、日期在 [startDate, endDate) 内的销售
+     */
+    List<MerchantSalesSummary> summarizeByMerchant(Long minMerchantId, Long maxMerchantId,
+                                                   LocalDate startDate, LocalDate endDate);
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.openecommerce.order.domain;
+
+import com.openecommerce.shared.domain.Money;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Merchant Sales Summary
+ * 商家销售汇总：某商家在统计期内某一币种已完成订单的订单数和销售总额
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+public final class MerchantSalesSummary {
+    
+    private final Long merchantId;
+    private final long orderCount;
+    private final Money totalAmount;
+    
+    public MerchantSalesSummary(Long merchantId, long orderCount, Money totalAmount) {
+        if (merchantId == null) {
+            throw new IllegalArgumentException("Merchant ID cannot be null");
+        }
+        if (totalAmount == null) {
+            throw new IllegalArgumentException("Total amount cannot be null");
+        }
+        
+        this.merchantId = merchantId;
+        this.orderCount = orderCount;
+        this.totalAmount = totalAmount;
+    }
+}
\ No newline at end of file
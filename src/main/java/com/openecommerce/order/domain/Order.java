@@ -4,6 +4,7 @@ import com.openecommerce.shared.domain.AggregateRoot;
 import com.openecommerce.shared.domain.Money;
 import lombok.Getter;
 import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
@@ -16,7 +17,10 @@ import java.util.List;
  * 订单聚合根
  */
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+    @Index(name = "idx_orders_user_time", columnList = "user_id, order_time, id"),
+    @Index(name = "idx_orders_merchant_time", columnList = "merchant_id, order_time, id")
+})
 @Getter
 @ToString(callSuper = true, exclude = "orderItems")
 public class Order extends AggregateRoot {
@@ -44,7 +48,11 @@ public class Order extends AggregateRoot {
     @Column(name = "order_time", nullable = false)
     private LocalDateTime orderTime;
     
+    /**
+     * 未预先抓取订单项的查询路径按批次以 order_id IN (...) 加载，避免逐个订单查询
+     */
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
     private List<OrderItem> orderItems = new ArrayList<>();
     
     // JPA required
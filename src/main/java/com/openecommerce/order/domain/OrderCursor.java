@@ -0,0 +1,55 @@
+package com.openecommerce.order.domain;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Order Cursor
+ * 订单分页游标：按 (下单时间, ID) 倒序翻页时上一页最后一条订单的位置，对外编码为不透明字符串
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+public final class OrderCursor {
+    
+    private static final String SEPARATOR = "|";
+    
+    private final LocalDateTime orderTime;
+    private final Long id;
+    
+    public OrderCursor(LocalDateTime orderTime, Long id) {
+        if (orderTime == null || id == null) {
+            throw new IllegalArgumentException("Cursor order time and ID cannot be null");
+        }
+        
+        this.orderTime = orderTime;
+        this.id = id;
+    }
+    
+    /**
+     * 编码为URL安全的字符串
+     */
+    public String encode() {
+        String raw = orderTime + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * 解码游标字符串，格式不正确时抛出IllegalArgumentException
+     */
+    public static OrderCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new OrderCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid order cursor: " + cursor);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.openecommerce.order.domain;
+
+/**
+ * Order Number Generator
+ * 订单号生成器：生成的订单号在所有节点间唯一，无需查库校验
+ */
+public interface OrderNumberGenerator {
+    
+    /**
+     * 生成下一个订单号
+     */
+    String nextOrderNumber();
+}
\ No newline at end of file
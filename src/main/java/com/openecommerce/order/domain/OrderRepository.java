@@ -1,6 +1,7 @@
 package com.openecommerce.order.domain;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,23 +16,33 @@ public interface OrderRepository {
      */
     Order save(Order order);
     
+    /**
+     * 批量插入新订单及订单项，返回带有生成ID的已保存订单
+     */
+    List<Order> insertAll(List<Order> orders);
+    
     /**
      * 根据ID查找订单
      */
     Optional<Order> findById(Long id);
     
     /**
-     * 根据订单号查找订单
+     * 根据订单号查找订单（含订单项）
      */
     Optional<Order> findByOrderNumber(String orderNumber);
     
     /**
-     * 根据用户ID查找订单列表
+     * 根据订单号批量查找订单（含订单项）
+     */
+    List<Order> findByOrderNumberIn(Collection<String> orderNumbers);
+    
+    /**
+     * 根据用户ID查找订单列表（含订单项）
      */
     List<Order> findByUserId(Long userId);
     
     /**
-     * 根据商家ID查找订单列表
+     * 根据商家ID查找订单列表（含订单项）
      */
     List<Order> findByMerchantId(Long merchantId);
     
@@ -46,9 +57,9 @@ public interface OrderRepository {
     List<Order> findByOrderTimeBetween(LocalDateTime startTime, LocalDateTime endTime);
     
     /**
-     * 根据商家ID和时间范围查找已完成订单
+     * 以一次 GROUP BY 聚合按币种汇总单个商家时间范围内指定状态订单的订单数和金额，不加载订单实体
      */
-    List<Order> findByMerchantIdAndStatusAndOrderTimeBetween(
+    List<MerchantSalesSummary> summarizeSalesOfMerchant(
         Long merchantId, OrderStatus status, LocalDateTime startTime, LocalDateTime endTime);
     
     /**
@@ -0,0 +1,186 @@
+package com.openecommerce.order.infrastructure;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Group Committer
+ * 组提交器：将短时间窗口内并发提交的请求合并为一批，由一次批量处理（一个事务）完成，
+ * 提交完成后再逐个完成调用方的Future；批量处理失败时退化为逐个处理，逐个处理在独立线程池中并行执行，不阻塞后续批次
+ */
+public class GroupCommitter<T, R> {
+    
+    private static final Logger logger = LoggerFactory.getLogger(GroupCommitter.class);
+    
+    private final BlockingQueue<Pending<T, R>> queue = new LinkedBlockingQueue<>();
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final Function<List<T>, List<R>> batchHandler;
+    private final Function<T, R> singleHandler;
+    private final Thread flusher;
+    private final ExecutorService fallbackExecutor;
+    private final AtomicInteger submitters = new AtomicInteger();
+    private volatile boolean running = true;
+    private volatile boolean closed;
+    
+    /**
+     * @param batchHandler 批量处理，返回结果须与输入一一对应
+     * @param singleHandler 批量处理抛出异常时对每个请求单独处理
+     * @param fallbackThreads 执行逐个处理的线程数
+     */
+    public GroupCommitter(String name, long windowMillis, int maxBatchSize,
+                          Function<List<T>, List<R>> batchHandler, Function<T, R> singleHandler,
+                          int fallbackThreads) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Max batch size must be positive");
+        }
+        if (fallbackThreads < 1) {
+            throw new IllegalArgumentException("Fallback threads must be positive");
+        }
+        
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.maxBatchSize = maxBatchSize;
+        this.batchHandler = batchHandler;
+        this.singleHandler = singleHandler;
+        this.fallbackExecutor = Executors.newFixedThreadPool(fallbackThreads,
+            new CustomizableThreadFactory(name + "-fallback-"));
+        this.flusher = new CustomizableThreadFactory(name + "-").newThread(this::run);
+        this.flusher.start();
+    }
+    
+    /**
+     * 提交请求，返回在所属批次提交后完成的Future
+     */
+    public CompletableFuture<R> submit(T item) {
+        // 提交期间计数，刷写线程在停机后等待进行中的提交入队完成再退出，避免请求滞留在队列中
+        submitters.incrementAndGet();
+        try {
+            if (!running) {
+                throw new RejectedExecutionException("Group committer is shut down");
+            }
+            
+            Pending<T, R> pending = new Pending<>(item);
+            queue.add(pending);
+            // 刷写线程被强制中断退出后，撤回尚未被清理的请求
+            if (closed && queue.remove(pending)) {
+                throw new RejectedExecutionException("Group committer is shut down");
+            }
+            return pending.future;
+        } finally {
+            submitters.decrementAndGet();
+        }
+    }
+    
+    /**
+     * 停止接收新请求，提交完队列中剩余的请求后退出
+     */
+    public void shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        running = false;
+        flusher.join(unit.toMillis(timeout));
+        if (flusher.isAlive()) {
+            flusher.interrupt();
+        }
+        
+        fallbackExecutor.shutdown();
+        if (!fallbackExecutor.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+            fallbackExecutor.shutdownNow();
+        }
+    }
+    
+    private void run() {
+        List<Pending<T, R>> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (running || submitters.get() > 0 || !queue.isEmpty()) {
+                Pending<T, R> first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                
+                // 在窗口期内继续收集，直到达到批次上限
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatchSize) {
+                    Pending<T, R> next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                
+                commit(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            closed = true;
+            RejectedExecutionException rejected = new RejectedExecutionException("Group committer is shut down");
+            batch.forEach(pending -> pending.future.completeExceptionally(rejected));
+            queue.forEach(pending -> pending.future.completeExceptionally(rejected));
+        }
+    }
+    
+    private void commit(List<Pending<T, R>> batch) {
+        List<T> items = new ArrayList<>(batch.size());
+        for (Pending<T, R> pending : batch) {
+            items.add(pending.item);
+        }
+        
+        List<R> results;
+        try {
+            results = batchHandler.apply(items);
+        } catch (RuntimeException e) {
+            logger.warn("Group commit of {} requests failed, falling back to individual processing: {}",
+                batch.size(), e.getMessage());
+            for (Pending<T, R> pending : batch) {
+                fallback(pending);
+            }
+            return;
+        }
+        
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).future.complete(results.get(i));
+        }
+    }
+    
+    private void fallback(Pending<T, R> pending) {
+        try {
+            fallbackExecutor.execute(() -> {
+                try {
+                    pending.future.complete(singleHandler.apply(pending.item));
+                } catch (RuntimeException e) {
+                    pending.future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.future.completeExceptionally(e);
+        }
+    }
+    
+    /**
+     * 等待提交的请求
+     */
+    private static final class Pending<T, R> {
+        
+        private final T item;
+        private final CompletableFuture<R> future = new CompletableFuture<>();
+        
+        private Pending(T item) {
+            this.item = item;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.openecommerce.order.infrastructure;
+
+import com.openecommerce.order.domain.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Idempotency Record JPA Repository
+ * 下单幂等记录JPA仓储
+ */
+@Repository
+public interface IdempotencyRecordJpaRepository extends JpaRepository<IdempotencyRecord, Long> {
+    
+    Optional<IdempotencyRecord> findByUserIdAndIdempotencyKey(Long userId, String idempotencyKey);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.leaseExpiresAt = :leaseExpiresAt " +
+           "WHERE r.id = :id AND r.leaseExpiresAt <= :now")
+    int takeOver(@Param("id") Long id, @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt,
+                 @Param("now") LocalDateTime now);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.leaseExpiresAt = :now WHERE r.id = :id")
+    int releaseLease(@Param("id") Long id, @Param("now") LocalDateTime now);
+    
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :createdBefore")
+    int deleteCreatedBefore(@Param("createdBefore") LocalDateTime createdBefore);
+}
\ No newline at end of file
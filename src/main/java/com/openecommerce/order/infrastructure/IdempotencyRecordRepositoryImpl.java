@@ -0,0 +1,56 @@
+package com.openecommerce.order.infrastructure;
+
+import com.openecommerce.order.domain.IdempotencyRecord;
+import com.openecommerce.order.domain.IdempotencyRecordRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Idempotency Record Repository Implementation
+ * 下单幂等记录仓储实现
+ */
+@Component
+public class IdempotencyRecordRepositoryImpl implements IdempotencyRecordRepository {
+    
+    private final IdempotencyRecordJpaRepository idempotencyRecordJpaRepository;
+    
+    @Autowired
+    public IdempotencyRecordRepositoryImpl(IdempotencyRecordJpaRepository idempotencyRecordJpaRepository) {
+        this.idempotencyRecordJpaRepository = idempotencyRecordJpaRepository;
+    }
+    
+    @Override
+    public boolean saveIfAbsent(IdempotencyRecord record) {
+        try {
+            idempotencyRecordJpaRepository.saveAndFlush(record);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // 唯一约束冲突：其他实例已保存同一用户的同一幂等键
+            return false;
+        }
+    }
+    
+    @Override
+    public boolean takeOver(IdempotencyRecord record, LocalDateTime leaseExpiresAt) {
+        return idempotencyRecordJpaRepository.takeOver(record.getId(), leaseExpiresAt, LocalDateTime.now()) == 1;
+    }
+    
+    @Override
+    public void releaseLease(IdempotencyRecord record) {
+        idempotencyRecordJpaRepository.releaseLease(record.getId(), LocalDateTime.now());
+    }
+    
+    @Override
+    public Optional<IdempotencyRecord> findByUserIdAndIdempotencyKey(Long userId, String idempotencyKey) {
+        return idempotencyRecordJpaRepository.findByUserIdAndIdempotencyKey(userId, idempotencyKey);
+    }
+    
+    @Override
+    public int deleteCreatedBefore(LocalDateTime createdBefore) {
+        return idempotencyRecordJpaRepository.deleteCreatedBefore(createdBefore);
+    }
+}
\ No newline at end of file
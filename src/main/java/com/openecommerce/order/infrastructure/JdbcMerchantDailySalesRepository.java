@@ -0,0 +1,147 @@
+package com.openecommerce.order.infrastructure;
+
+import com.openecommerce.order.domain.MerchantDailySalesRepository;
+import com.openecommerce.order.domain.MerchantSalesSummary;
+import com.openecommerce.order.domain.Order;
+import com.openecommerce.shared.domain.Money;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * JDBC Merchant Daily Sales Repository
+ * 商家日销售汇总仓储：以 MERGE 累加到随机槽位行，同一事务内的多行按 (商家, 日期, 币种) 顺序更新，
+ * 避免并发事务交叉加锁；查询按槽位求和
+ */
+@Component
+public class JdbcMerchantDailySalesRepository implements MerchantDailySalesRepository {
+    
+    private static final String MERGE_SQL =
+        "MERGE INTO merchant_daily_sales t USING (VALUES (CAST(:merchantId AS BIGINT), CAST(:salesDate AS DATE), "
+            + "CAST(:currency AS VARCHAR(255)), CAST(:slotNo AS INTEGER))) s (merchant_id, sales_date, currency, slot_no) "
+            + "ON t.merchant_id = s.merchant_id AND t.sales_date = s.sales_date AND t.currency = s.currency "
+            + "AND t.slot_no = s.slot_no "
+            + "WHEN MATCHED THEN UPDATE SET order_count = t.order_count + :orderCount, "
+            + "gross_amount = t.gross_amount + :grossAmount, updated_at = :updatedAt "
+            + "WHEN NOT MATCHED THEN INSERT (merchant_id, sales_date, currency, slot_no, order_count, gross_amount, "
+            + "updated_at) VALUES (s.merchant_id, s.sales_date, s.currency, s.slot_no, :orderCount, :grossAmount, "
+            + ":updatedAt)";
+    
+    private static final String SUM_BY_MERCHANT_SQL =
+        "SELECT merchant_id, currency, SUM(order_count) AS order_count, SUM(gross_amount) AS gross_amount "
+            + "FROM merchant_daily_sales WHERE sales_date >= :startDate AND sales_date < :endDate "
+            + "AND merchant_id BETWEEN :minMerchantId AND :maxMerchantId "
+            + "GROUP BY merchant_id, currency ORDER BY merchant_id, currency";
+    
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final int slots;
+    
+    @Autowired
+    public JdbcMerchantDailySalesRepository(NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                                            @Value("${business.order.daily-sales.slots:4}") int slots) {
+        if (slots < 1) {
+            throw new IllegalArgumentException("Daily sales slots must be positive");
+        }
+        
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.slots = slots;
+    }
+    
+    @Override
+    public void addCompletedOrders(List<Order> orders) {
+        // 先在内存中按 (商家, 日期, 币种) 合并，每个组合只执行一次累加
+        Map<SalesKey, Totals> totals = new TreeMap<>();
+        for (Order order : orders) {
+            Money amount = order.getTotalAmount();
+            if (amount == null) {
+                continue;
+            }
+            SalesKey key = new SalesKey(order.getMerchantId(), order.getOrderTime().toLocalDate(), amount.getCurrency());
+            totals.computeIfAbsent(key, k -> new Totals()).add(amount.getAmount());
+        }
+        
+        int slotNo = ThreadLocalRandom.current().nextInt(slots);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (Map.Entry<SalesKey, Totals> entry : totals.entrySet()) {
+            SalesKey key = entry.getKey();
+            MapSqlParameterSource row = new MapSqlParameterSource("merchantId", key.merchantId)
+                .addValue("salesDate", Date.valueOf(key.salesDate))
+                .addValue("currency", key.currency)
+                .addValue("slotNo", slotNo)
+                .addValue("orderCount", entry.getValue().orderCount)
+                .addValue("grossAmount", entry.getValue().grossAmount)
+                .addValue("updatedAt", now);
+            try {
+                namedParameterJdbcTemplate.update(MERGE_SQL, row);
+            } catch (DuplicateKeyException e) {
+                // 并发事务刚插入了同一槽位行，此时该行已存在，再次合并即走累加分支
+                namedParameterJdbcTemplate.update(MERGE_SQL, row);
+            }
+        }
+    }
+    
+    @Override
+    public List<MerchantSalesSummary> summarizeByMerchant(Long minMerchantId, Long maxMerchantId,
+                                                          LocalDate startDate, LocalDate endDate) {
+        MapSqlParameterSource params = new MapSqlParameterSource("minMerchantId", minMerchantId)
+            .addValue("maxMerchantId", maxMerchantId)
+            .addValue("startDate", Date.valueOf(startDate))
+            .addValue("endDate", Date.valueOf(endDate));
+        return namedParameterJdbcTemplate.query(SUM_BY_MERCHANT_SQL, params, (rs, rowNum) ->
+            new MerchantSalesSummary(rs.getLong("merchant_id"), rs.getLong("order_count"),
+                new Money(rs.getBigDecimal("gross_amount"), rs.getString("currency"))));
+    }
+    
+    /**
+     * 汇总行的业务键，按商家、日期、币种排序
+     */
+    private static final class SalesKey implements Comparable<SalesKey> {
+        
+        private static final Comparator<SalesKey> ORDER = Comparator.<SalesKey, Long>comparing(key -> key.merchantId)
+            .thenComparing(key -> key.salesDate)
+            .thenComparing(key -> key.currency);
+        
+        private final Long merchantId;
+        private final LocalDate salesDate;
+        private final String currency;
+        
+        private SalesKey(Long merchantId, LocalDate salesDate, String currency) {
+            this.merchantId = merchantId;
+            this.salesDate = salesDate;
+            this.currency = currency;
+        }
+        
+        @Override
+        public int compareTo(SalesKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+    
+    /**
+     * 同一业务键下累计的订单数和金额
+     */
+    private static final class Totals {
+        
+        private long orderCount;
+        private BigDecimal grossAmount = BigDecimal.ZERO;
+        
+        private void add(BigDecimal amount) {
+            orderCount++;
+            grossAmount = grossAmount.add(amount);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,210 @@
+package com.openecommerce.order.infrastructure;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.openecommerce.order.application.OrderQueryRepository;
+import com.openecommerce.order.application.dto.OrderResponse;
+import com.openecommerce.order.application.dto.OrderResponse.OrderItemResponse;
+import com.openecommerce.order.domain.OrderCursor;
+import com.openecommerce.order.domain.OrderStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * JDBC Order Query Repository
+ * 基于订单读模型（order_views）的查询仓储：每个订单一行、订单项以紧凑JSON内嵌，
+ * 查询只读单表，不关联 orders / order_items，也不与下单写入的表争用
+ */
+@Component
+public class JdbcOrderQueryRepository implements OrderQueryRepository {
+    
+    /**
+     * 流式导出时每次从数据库抓取的行数
+     */
+    static final int EXPORT_FETCH_SIZE = 500;
+    
+    private static final String MERGE_SQL =
+        "MERGE INTO order_views (order_id, order_number, user_id, merchant_id, total_amount, total_currency, "
+            + "status, order_time, items, created_at, updated_at) KEY (order_id) VALUES (:id, :orderNumber, "
+            + ":userId, :merchantId, :totalAmount, :totalCurrency, :status, :orderTime, :items, :createdAt, :updatedAt)";
+    
+    private static final String VIEW_COLUMNS =
+        "SELECT order_id, order_number, user_id, merchant_id, total_amount, total_currency, status, order_time, "
+            + "items, created_at, updated_at FROM order_views ";
+    
+    private static final String AFTER_CURSOR =
+        "AND (order_time < :orderTime OR (order_time = :orderTime AND order_id < :id)) ";
+    
+    private static final String PAGE_ORDER = "ORDER BY order_time DESC, order_id DESC LIMIT :limit";
+    
+    private static final String SELECT_BY_ORDER_NUMBER_SQL = VIEW_COLUMNS + "WHERE order_number = :orderNumber";
+    
+    private static final String SELECT_BY_IDS_SQL = VIEW_COLUMNS + "WHERE order_id IN (:ids)";
+    
+    private static final String SELECT_FIRST_PAGE_BY_USER_SQL = VIEW_COLUMNS + "WHERE user_id = :ownerId " + PAGE_ORDER;
+    
+    private static final String SELECT_PAGE_BY_USER_AFTER_SQL =
+        VIEW_COLUMNS + "WHERE user_id = :ownerId " + AFTER_CURSOR + PAGE_ORDER;
+    
+    private static final String SELECT_FIRST_PAGE_BY_MERCHANT_SQL =
+        VIEW_COLUMNS + "WHERE merchant_id = :ownerId " + PAGE_ORDER;
+    
+    private static final String SELECT_PAGE_BY_MERCHANT_AFTER_SQL =
+        VIEW_COLUMNS + "WHERE merchant_id = :ownerId " + AFTER_CURSOR + PAGE_ORDER;
+    
+    private static final String SELECT_ALL_BY_MERCHANT_SQL =
+        VIEW_COLUMNS + "WHERE merchant_id = :merchantId ORDER BY order_time, order_id";
+    
+    private static final String SELECT_ALL_SQL = VIEW_COLUMNS + "ORDER BY order_id";
+    
+    private static final TypeReference<List<OrderItemResponse>> ITEMS_TYPE =
+        new TypeReference<List<OrderItemResponse>>() {};
+    
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final NamedParameterJdbcTemplate streamingJdbcTemplate;
+    private final ObjectWriter itemsWriter;
+    private final ObjectReader itemsReader;
+    private final RowMapper<OrderResponse> viewRowMapper = this::mapView;
+    
+    @Autowired
+    public JdbcOrderQueryRepository(NamedParameterJdbcTemplate namedParameterJdbcTemplate, ObjectMapper objectMapper) {
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        JdbcTemplate streaming = new JdbcTemplate(namedParameterJdbcTemplate.getJdbcTemplate().getDataSource());
+        streaming.setFetchSize(EXPORT_FETCH_SIZE);
+        this.streamingJdbcTemplate = new NamedParameterJdbcTemplate(streaming);
+        this.itemsWriter = objectMapper.writerFor(ITEMS_TYPE);
+        this.itemsReader = objectMapper.readerFor(ITEMS_TYPE);
+    }
+    
+    @Override
+    public void saveAll(List<OrderResponse> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        
+        SqlParameterSource[] rows = new SqlParameterSource[orders.size()];
+        for (int i = 0; i < orders.size(); i++) {
+            OrderResponse order = orders.get(i);
+            rows[i] = new MapSqlParameterSource("id", order.getId())
+                .addValue("orderNumber", order.getOrderNumber())
+                .addValue("userId", order.getUserId())
+                .addValue("merchantId", order.getMerchantId())
+                .addValue("totalAmount", order.getTotalAmount())
+                .addValue("totalCurrency", order.getTotalCurrency())
+                .addValue("status", order.getStatus().name())
+                .addValue("orderTime", toTimestamp(order.getOrderTime()))
+                .addValue("items", writeItems(order.getItems()))
+                .addValue("createdAt", toTimestamp(order.getCreatedAt()))
+                .addValue("updatedAt", toTimestamp(order.getUpdatedAt()));
+        }
+        namedParameterJdbcTemplate.batchUpdate(MERGE_SQL, rows);
+    }
+    
+    @Override
+    public Optional<OrderResponse> findByOrderNumber(String orderNumber) {
+        return namedParameterJdbcTemplate.query(SELECT_BY_ORDER_NUMBER_SQL,
+            new MapSqlParameterSource("orderNumber", orderNumber), viewRowMapper).stream().findFirst();
+    }
+    
+    @Override
+    public List<OrderResponse> findByIdIn(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return namedParameterJdbcTemplate.query(SELECT_BY_IDS_SQL, new MapSqlParameterSource("ids", ids), viewRowMapper);
+    }
+    
+    @Override
+    public List<OrderResponse> findPageByUserId(Long userId, OrderCursor after, int limit) {
+        return findPage(after == null ? SELECT_FIRST_PAGE_BY_USER_SQL : SELECT_PAGE_BY_USER_AFTER_SQL,
+            userId, after, limit);
+    }
+    
+    @Override
+    public List<OrderResponse> findPageByMerchantId(Long merchantId, OrderCursor after, int limit) {
+        return findPage(after == null ? SELECT_FIRST_PAGE_BY_MERCHANT_SQL : SELECT_PAGE_BY_MERCHANT_AFTER_SQL,
+            merchantId, after, limit);
+    }
+    
+    @Override
+    public void forEachByMerchantId(Long merchantId, Consumer<OrderResponse> consumer) {
+        streamingJdbcTemplate.query(SELECT_ALL_BY_MERCHANT_SQL, new MapSqlParameterSource("merchantId", merchantId),
+            rs -> {
+                consumer.accept(mapView(rs, 0));
+            });
+    }
+    
+    @Override
+    public void forEachOrder(Consumer<OrderResponse> consumer) {
+        streamingJdbcTemplate.query(SELECT_ALL_SQL, rs -> {
+            consumer.accept(mapView(rs, 0));
+        });
+    }
+    
+    private List<OrderResponse> findPage(String sql, Long ownerId, OrderCursor after, int limit) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource("ownerId", ownerId).addValue("limit", limit);
+        if (after != null) {
+            parameters.addValue("orderTime", Timestamp.valueOf(after.getOrderTime())).addValue("id", after.getId());
+        }
+        return namedParameterJdbcTemplate.query(sql, parameters, viewRowMapper);
+    }
+    
+    private OrderResponse mapView(ResultSet rs, int rowNum) throws SQLException {
+        OrderResponse response = new OrderResponse();
+        response.setId(rs.getLong("order_id"));
+        response.setOrderNumber(rs.getString("order_number"));
+        response.setUserId(rs.getLong("user_id"));
+        response.setMerchantId(rs.getLong("merchant_id"));
+        response.setTotalAmount(rs.getBigDecimal("total_amount"));
+        response.setTotalCurrency(rs.getString("total_currency"));
+        response.setStatus(OrderStatus.valueOf(rs.getString("status")));
+        response.setOrderTime(toLocalDateTime(rs, "order_time"));
+        response.setItems(readItems(rs.getString("items")));
+        response.setCreatedAt(toLocalDateTime(rs, "created_at"));
+        response.setUpdatedAt(toLocalDateTime(rs, "updated_at"));
+        return response;
+    }
+    
+    private String writeItems(List<OrderItemResponse> items) {
+        try {
+            return itemsWriter.writeValueAsString(items);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize order items", e);
+        }
+    }
+    
+    private List<OrderItemResponse> readItems(String items) {
+        try {
+            return itemsReader.readValue(items);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupted order items in read model", e);
+        }
+    }
+    
+    private static Timestamp toTimestamp(LocalDateTime time) {
+        return time != null ? Timestamp.valueOf(time) : null;
+    }
+    
+    private static LocalDateTime toLocalDateTime(ResultSet rs, String column) throws SQLException {
+        Timestamp timestamp = rs.getTimestamp(column);
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.openecommerce.order.infrastructure;
+
+import lombok.Getter;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Merchant Daily Sales Entity
+ * 商家日销售汇总：按 (商家, 日期, 币种) 累计已完成订单的订单数和销售额，每个组合拆分为若干槽位行，
+ * 并发下单分散累加到不同槽位以避免热点行，读取时按槽位求和。
+ * 此映射仅用于建表，读写均经 JdbcMerchantDailySalesRepository 以JDBC完成
+ */
+@Entity
+@Table(name = "merchant_daily_sales",
+       uniqueConstraints = @UniqueConstraint(name = "uk_merchant_daily_sales_key",
+           columnNames = {"merchant_id", "sales_date", "currency", "slot_no"}),
+       indexes = @Index(name = "idx_merchant_daily_sales_date_merchant", columnList = "sales_date, merchant_id"))
+@Getter
+public class MerchantDailySales {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "merchant_id", nullable = false)
+    private Long merchantId;
+    
+    @Column(name = "sales_date", nullable = false)
+    private LocalDate salesDate;
+    
+    @Column(name = "currency", nullable = false)
+    private String currency;
+    
+    @Column(name = "slot_no", nullable = false)
+    private Integer slotNo;
+    
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount;
+    
+    @Column(name = "gross_amount", nullable = false)
+    private BigDecimal grossAmount;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    // JPA required
+    protected MerchantDailySales() {}
+}
\ No newline at end of file
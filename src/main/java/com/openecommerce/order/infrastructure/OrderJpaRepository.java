@@ -3,12 +3,19 @@ package com.openecommerce.order.infrastructure;
 import com.openecommerce.order.domain.Order;
 import com.openecommerce.order.domain.OrderStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.QueryHints.HINT_PASS_DISTINCT_THROUGH;
+
 /**
  * Order JPA Repository
  * 订单JPA仓储
@@ -16,18 +23,33 @@ import java.util.Optional;
 @Repository
 public interface OrderJpaRepository extends JpaRepository<Order, Long> {
     
-    Optional<Order> findByOrderNumber(String orderNumber);
+    @QueryHints(@QueryHint(name = HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.orderItems WHERE o.orderNumber = :orderNumber")
+    Optional<Order> findByOrderNumber(@Param("orderNumber") String orderNumber);
+    
+    @QueryHints(@QueryHint(name = HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.orderItems WHERE o.orderNumber IN :orderNumbers")
+    List<Order> findByOrderNumberIn(@Param("orderNumbers") Collection<String> orderNumbers);
     
-    List<Order> findByUserId(Long userId);
+    @QueryHints(@QueryHint(name = HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.orderItems WHERE o.userId = :userId")
+    List<Order> findByUserId(@Param("userId") Long userId);
     
-    List<Order> findByMerchantId(Long merchantId);
+    @QueryHints(@QueryHint(name = HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.orderItems WHERE o.merchantId = :merchantId")
+    List<Order> findByMerchantId(@Param("merchantId") Long merchantId);
     
     List<Order> findByStatus(OrderStatus status);
     
     List<Order> findByOrderTimeBetween(LocalDateTime startTime, LocalDateTime endTime);
     
-    List<Order> findByMerchantIdAndStatusAndOrderTimeBetween(
-        Long merchantId, OrderStatus status, LocalDateTime startTime, LocalDateTime endTime);
+    @Query("SELECT o.merchantId, o.totalAmount.currency, COUNT(o), SUM(o.totalAmount.amount) FROM Order o " +
+           "WHERE o.merchantId = :merchantId AND o.status = :status AND o.orderTime BETWEEN :startTime AND :endTime " +
+           "AND o.totalAmount.amount IS NOT NULL GROUP BY o.merchantId, o.totalAmount.currency")
+    List<Object[]> sumByMerchantId(@Param("merchantId") Long merchantId,
+                                   @Param("status") OrderStatus status,
+                                   @Param("startTime") LocalDateTime startTime,
+                                   @Param("endTime") LocalDateTime endTime);
     
     boolean existsByOrderNumber(String orderNumber);
 }
\ No newline at end of file
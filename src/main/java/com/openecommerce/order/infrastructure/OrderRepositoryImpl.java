@@ -1,13 +1,25 @@
 package com.openecommerce.order.infrastructure;
 
+import com.openecommerce.order.domain.MerchantSalesSummary;
 import com.openecommerce.order.domain.Order;
+import com.openecommerce.order.domain.OrderItem;
 import com.openecommerce.order.domain.OrderRepository;
 import com.openecommerce.order.domain.OrderStatus;
+import com.openecommerce.shared.domain.Money;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -17,11 +29,25 @@ import java.util.Optional;
 @Component
 public class OrderRepositoryImpl implements OrderRepository {
     
+    private static final String INSERT_ORDER_SQL =
+        "INSERT INTO orders (order_number, user_id, merchant_id, total_amount, total_currency, status, order_time, "
+            + "created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+    
+    private static final String INSERT_ORDER_ITEM_SQL =
+        "INSERT INTO order_items (order_id, sku, product_name, unit_price_amount, unit_price_currency, quantity, "
+            + "total_price_amount, total_price_currency) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    
     private final OrderJpaRepository orderJpaRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
     
     @Autowired
-    public OrderRepositoryImpl(OrderJpaRepository orderJpaRepository) {
+    public OrderRepositoryImpl(OrderJpaRepository orderJpaRepository,
+                               JdbcTemplate jdbcTemplate,
+                               NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
         this.orderJpaRepository = orderJpaRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
     }
     
     @Override
@@ -29,6 +55,52 @@ public class OrderRepositoryImpl implements OrderRepository {
         return orderJpaRepository.save(order);
     }
     
+    @Override
+    public List<Order> insertAll(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return Collections.emptyList();
+        }
+        
+        // 先刷新持久化上下文，保证JDBC批量写入与之前的JPA变更顺序一致
+        orderJpaRepository.flush();
+        
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> orderRows = new ArrayList<>(orders.size());
+        List<String> orderNumbers = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            orderRows.add(new Object[] {
+                order.getOrderNumber(), order.getUserId(), order.getMerchantId(),
+                order.getTotalAmount().getAmount(), order.getTotalAmount().getCurrency(),
+                order.getStatus().name(), Timestamp.valueOf(order.getOrderTime()), now, now
+            });
+            orderNumbers.add(order.getOrderNumber());
+        }
+        jdbcTemplate.batchUpdate(INSERT_ORDER_SQL, orderRows);
+        
+        Map<String, Long> orderIds = new HashMap<>();
+        namedParameterJdbcTemplate.query(
+            "SELECT id, order_number FROM orders WHERE order_number IN (:orderNumbers)",
+            Collections.singletonMap("orderNumbers", orderNumbers),
+            rs -> {
+                orderIds.put(rs.getString("order_number"), rs.getLong("id"));
+            });
+        
+        List<Object[]> itemRows = new ArrayList<>();
+        for (Order order : orders) {
+            Long orderId = orderIds.get(order.getOrderNumber());
+            for (OrderItem item : order.getOrderItems()) {
+                itemRows.add(new Object[] {
+                    orderId, item.getSku(), item.getProductName(),
+                    item.getUnitPrice().getAmount(), item.getUnitPrice().getCurrency(), item.getQuantity(),
+                    item.getTotalPrice().getAmount(), item.getTotalPrice().getCurrency()
+                });
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_ORDER_ITEM_SQL, itemRows);
+        
+        return orderJpaRepository.findByOrderNumberIn(orderNumbers);
+    }
+    
     @Override
     public Optional<Order> findById(Long id) {
         return orderJpaRepository.findById(id);
@@ -39,6 +111,11 @@ public class OrderRepositoryImpl implements OrderRepository {
         return orderJpaRepository.findByOrderNumber(orderNumber);
     }
     
+    @Override
+    public List<Order> findByOrderNumberIn(Collection<String> orderNumbers) {
+        return orderJpaRepository.findByOrderNumberIn(orderNumbers);
+    }
+    
     @Override
     public List<Order> findByUserId(Long userId) {
         return orderJpaRepository.findByUserId(userId);
@@ -60,14 +137,25 @@ public class OrderRepositoryImpl implements OrderRepository {
     }
     
     @Override
-    public List<Order> findByMerchantIdAndStatusAndOrderTimeBetween(
+    public List<MerchantSalesSummary> summarizeSalesOfMerchant(
             Long merchantId, OrderStatus status, LocalDateTime startTime, LocalDateTime endTime) {
-        return orderJpaRepository.findByMerchantIdAndStatusAndOrderTimeBetween(
-            merchantId, status, startTime, endTime);
+        return toSalesSummaries(orderJpaRepository.sumByMerchantId(merchantId, status, startTime, endTime));
     }
     
     @Override
     public boolean existsByOrderNumber(String orderNumber) {
         return orderJpaRepository.existsByOrderNumber(orderNumber);
     }
+    
+    /**
+     * 将 (商家ID, 币种, 订单数, 金额) 聚合行转换为销售汇总
+     */
+    private List<MerchantSalesSummary> toSalesSummaries(List<Object[]> rows) {
+        List<MerchantSalesSummary> summaries = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            summaries.add(new MerchantSalesSummary((Long) row[0], (Long) row[2],
+                new Money((BigDecimal) row[3], (String) row[1])));
+        }
+        return summaries;
+    }
 }
\ No newline at end of file
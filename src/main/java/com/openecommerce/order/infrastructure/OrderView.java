@@ -0,0 +1,61 @@
+package com.openecommerce.order.infrastructure;
+
+import com.openecommerce.order.domain.OrderStatus;
+import lombok.Getter;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Order View Entity
+ * 订单读模型：每个订单一行，订单项以紧凑JSON内嵌，按用户和商家的分页顺序建索引。
+ * 此映射仅用于建表，读写均经 JdbcOrderQueryRepository 以JDBC完成
+ */
+@Entity
+@Table(name = "order_views", indexes = {
+    @Index(name = "idx_order_views_user_time", columnList = "user_id, order_time, order_id"),
+    @Index(name = "idx_order_views_merchant_time", columnList = "merchant_id, order_time, order_id")
+})
+@Getter
+public class OrderView {
+    
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+    
+    @Column(name = "order_number", nullable = false, unique = true, length = 50)
+    private String orderNumber;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(name = "merchant_id", nullable = false)
+    private Long merchantId;
+    
+    @Column(name = "total_amount")
+    private BigDecimal totalAmount;
+    
+    @Column(name = "total_currency")
+    private String totalCurrency;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private OrderStatus status;
+    
+    @Column(name = "order_time", nullable = false)
+    private LocalDateTime orderTime;
+    
+    @Lob
+    @Column(name = "items", nullable = false)
+    private String items;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    // JPA required
+    protected OrderView() {}
+}
\ No newline at end of file
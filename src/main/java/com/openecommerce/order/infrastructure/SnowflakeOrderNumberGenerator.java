@@ -0,0 +1,67 @@
+package com.openecommerce.order.infrastructure;
+
+import com.openecommerce.order.domain.OrderNumberGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snowflake Order Number Generator
+ * 雪花算法订单号生成器：41位毫秒时间戳 + 10位节点ID + 12位毫秒内序号。
+ * 时间戳和序号保存在同一个AtomicLong中，通过CAS无锁递增；同一毫秒内序号用尽或时钟回拨时，
+ * 借用下一毫秒继续递增而不等待，因此同一节点生成的ID严格单调递增
+ */
+@Component
+public class SnowflakeOrderNumberGenerator implements OrderNumberGenerator {
+    
+    static final long EPOCH = LocalDateTime.of(2024, 1, 1, 0, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+    static final int NODE_ID_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_ID_BITS) - 1;
+    
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final String PREFIX = "ORD";
+    
+    private final long nodeId;
+    
+    /**
+     * 高位为相对EPOCH的毫秒时间戳，低12位为毫秒内序号
+     */
+    private final AtomicLong lastState = new AtomicLong();
+    
+    @Autowired
+    public SnowflakeOrderNumberGenerator(@Value("${business.order.number.node-id:0}") long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node ID must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+    }
+    
+    @Override
+    public String nextOrderNumber() {
+        return PREFIX + nextId();
+    }
+    
+    /**
+     * 生成下一个64位ID
+     */
+    public long nextId() {
+        long state;
+        while (true) {
+            long last = lastState.get();
+            long now = (System.currentTimeMillis() - EPOCH) << SEQUENCE_BITS;
+            // 时钟前进则从新毫秒的0号序号开始，否则在上一个状态上加1（溢出时自然进位到下一毫秒）
+            state = now > last ? now : last + 1;
+            if (lastState.compareAndSet(last, state)) {
+                break;
+            }
+        }
+        
+        long timestamp = state >>> SEQUENCE_BITS;
+        return (timestamp << (NODE_ID_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | (state & SEQUENCE_MASK);
+    }
+}
\ No newline at end of file
@@ -1,17 +1,40 @@
 package com.openecommerce.order.interfaces.rest;
 
+import com.openecommerce.order.application.IdempotencyKeyMismatchException;
 import com.openecommerce.order.application.OrderApplicationService;
+import com.openecommerce.order.application.OrderGroupCommitService;
+import com.openecommerce.order.application.OrderIdempotencyService;
+import com.openecommerce.order.application.OrderIntakeService;
+import com.openecommerce.order.application.dto.BatchCreateOrderRequest;
 import com.openecommerce.order.application.dto.CreateOrderRequest;
+import com.openecommerce.order.application.dto.OrderPageResponse;
 import com.openecommerce.order.application.dto.OrderResponse;
+import com.openecommerce.order.application.dto.OrderSearchRequest;
+import com.openecommerce.order.application.dto.SubmissionStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Order REST Controller
@@ -22,21 +45,63 @@ import java.util.Optional;
 @Validated
 public class OrderController {
     
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String DEFAULT_PAGE_SIZE = "20";
+    private static final String NDJSON = "application/x-ndjson";
+    
     private final OrderApplicationService orderApplicationService;
+    private final OrderIntakeService orderIntakeService;
+    private final OrderGroupCommitService orderGroupCommitService;
+    private final OrderIdempotencyService orderIdempotencyService;
+    private final ObjectWriter exportWriter;
     
     @Autowired
-    public OrderController(OrderApplicationService orderApplicationService) {
+    public OrderController(OrderApplicationService orderApplicationService,
+                           OrderIntakeService orderIntakeService,
+                           OrderGroupCommitService orderGroupCommitService,
+                           OrderIdempotencyService orderIdempotencyService,
+                           ObjectMapper objectMapper) {
         this.orderApplicationService = orderApplicationService;
+        this.orderIntakeService = orderIntakeService;
+        this.orderGroupCommitService = orderGroupCommitService;
+        this.orderIdempotencyService = orderIdempotencyService;
+        this.exportWriter = objectMapper.writer();
     }
     
     /**
-     * 创建订单
+     * 创建订单，携带Idempotency-Key时同一用户同一幂等键的重试直接返回首次创建的订单，
+     * 幂等键已用于不同请求时返回422
      */
     @PostMapping
-    public ResponseEntity<OrderResponse> createOrder(@Valid @RequestBody CreateOrderRequest request) {
+    public ResponseEntity<OrderResponse> createOrder(@Valid @RequestBody CreateOrderRequest request,
+                                                     @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         try {
-            OrderResponse response = orderApplicationService.createAndProcessOrder(request);
+            OrderResponse response = idempotencyKey != null
+                ? orderIdempotencyService.createAndProcessOrder(idempotencyKey, request)
+                : orderGroupCommitService.createAndProcessOrder(request);
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (IdempotencyKeyMismatchException e) {
+            return ResponseEntity.unprocessableEntity().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (ConcurrencyFailureException e) {
+            // 重试次数用尽仍冲突，或同一幂等键的订单仍在处理中，客户端可稍后重试
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+    }
+    
+    /**
+     * 批量创建订单，按请求顺序返回每个订单的处理结果
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<OrderResponse>> createOrders(@Valid @RequestBody BatchCreateOrderRequest request) {
+        try {
+            List<OrderResponse> responses = orderApplicationService.createAndProcessOrders(request.getOrders());
+            return ResponseEntity.ok(responses);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         } catch (IllegalStateException e) {
@@ -44,31 +109,157 @@ public class OrderController {
         }
     }
     
+    /**
+     * 异步创建订单：进入队列后立即返回202和订单号，队列已满时返回429
+     */
+    @PostMapping("/async")
+    public ResponseEntity<OrderResponse> submitOrder(@Valid @RequestBody CreateOrderRequest request) {
+        try {
+            OrderResponse response = orderIntakeService.submit(request);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+    }
+    
     /**
      * 根据订单号获取订单
      */
     @GetMapping("/{orderNumber}")
     public ResponseEntity<OrderResponse> getOrderByOrderNumber(@PathVariable String orderNumber) {
+        Optional<OrderResponse> submission = orderIntakeService.getSubmission(orderNumber);
+        if (submission.isPresent()) {
+            HttpStatus status = submission.get().getSubmissionStatus() == SubmissionStatus.PENDING
+                ? HttpStatus.ACCEPTED : HttpStatus.OK;
+            return ResponseEntity.status(status).body(submission.get());
+        }
+        
         Optional<OrderResponse> order = orderApplicationService.getOrderByOrderNumber(orderNumber);
         return order.map(ResponseEntity::ok)
                    .orElse(ResponseEntity.notFound().build());
     }
     
     /**
-     * 根据用户ID获取订单列表
+     * 按SKU、商品名称片段、状态和下单时间范围检索订单，例如
+     * /orders/search?productName=macbook&status=COMPLETED&from=2024-01-01T00:00:00
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<OrderResponse>> searchOrders(OrderSearchRequest request) {
+        try {
+            return ResponseEntity.ok(orderApplicationService.searchOrders(request));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * 根据用户ID分页获取订单列表，下一页游标通过X-Next-Cursor响应头返回
      */
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<OrderResponse>> getOrdersByUserId(@PathVariable Long userId) {
-        List<OrderResponse> orders = orderApplicationService.getOrdersByUserId(userId);
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<List<OrderResponse>> getOrdersByUserId(@PathVariable Long userId,
+                                                                 @RequestParam(required = false) String cursor,
+                                                                 @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
+        try {
+            return toPageResponse(orderApplicationService.getOrdersByUserId(userId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
     
     /**
-     * 根据商家ID获取订单列表
+     * 根据商家ID分页获取订单列表，下一页游标通过X-Next-Cursor响应头返回
      */
     @GetMapping("/merchant/{merchantId}")
-    public ResponseEntity<List<OrderResponse>> getOrdersByMerchantId(@PathVariable Long merchantId) {
-        List<OrderResponse> orders = orderApplicationService.getOrdersByMerchantId(merchantId);
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<List<OrderResponse>> getOrdersByMerchantId(@PathVariable Long merchantId,
+                                                                     @RequestParam(required = false) String cursor,
+                                                                     @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
+        try {
+            return toPageResponse(orderApplicationService.getOrdersByMerchantId(merchantId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * 以NDJSON（每行一个订单）流式导出商家的全部订单，请求头Accept-Encoding包含gzip时压缩输出
+     */
+    @GetMapping(value = "/merchant/{merchantId}/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportOrdersByMerchantId(
+            @PathVariable Long merchantId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        StreamingResponseBody body = outputStream -> {
+            OutputStream target = gzip ? new GZIPOutputStream(outputStream, 8192) : outputStream;
+            Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8));
+            // 导出中途失败时不关闭也不刷新输出：不写出缓冲中的数据和GZIP尾部，异常交给容器中断分块响应，
+            // 客户端因此得到不完整的响应而不是一个看似完整的文件
+            try {
+                orderApplicationService.exportOrdersByMerchantId(merchantId, order -> {
+                    try {
+                        // 整行序列化后再写入，序列化失败时不会留下半行
+                        writer.write(exportWriter.writeValueAsString(order));
+                        writer.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.close();
+        };
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"merchant-" + merchantId + "-orders.ndjson\"")
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+    
+    /**
+     * 按Accept-Encoding的内容编码和q值判断客户端是否接受gzip，q=0表示明确拒绝
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        
+        Double gzipQuality = null;
+        Double wildcardQuality = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=") || parameter.startsWith("Q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0.0;
+                    }
+                }
+            }
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                gzipQuality = quality;
+            } else if (name.equals("*")) {
+                wildcardQuality = quality;
+            }
+        }
+        
+        if (gzipQuality != null) {
+            return gzipQuality > 0;
+        }
+        return wildcardQuality != null && wildcardQuality > 0;
+    }
+    
+    private ResponseEntity<List<OrderResponse>> toPageResponse(OrderPageResponse page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getOrders());
     }
 }
\ No newline at end of file
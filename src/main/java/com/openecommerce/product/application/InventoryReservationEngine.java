@@ -0,0 +1,205 @@
+package com.openecommerce.product.application;
+
+import com.openecommerce.product.domain.Product;
+import com.openecommerce.product.domain.ProductRepository;
+import com.openecommerce.product.domain.ProductStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Inventory Reservation Engine
+ * 内存库存预留引擎：在JVM内维护活跃商品的实时库存，预留/确认/释放均为无锁CAS操作，
+ * 已确认的净变化定期批量写回products表（write-behind），启动时从数据库重建
+ */
+@Component
+public class InventoryReservationEngine {
+    
+    private static final Logger logger = LoggerFactory.getLogger(InventoryReservationEngine.class);
+    
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final ConcurrentMap<String, StockCell> cells = new ConcurrentHashMap<>();
+    
+    @Autowired
+    public InventoryReservationEngine(ProductRepository productRepository,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${business.inventory.engine.enabled:false}") boolean enabled) {
+        this.productRepository = productRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+    }
+    
+    /**
+     * 是否启用内存库存引擎
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * 启动时从数据库重建活跃商品的库存
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        
+        Integer loaded = transactionTemplate.execute(status -> {
+            int count = 0;
+            for (Product product : productRepository.findByStatus(ProductStatus.ACTIVE)) {
+                if (!product.isShardedStock()
+                        && cells.putIfAbsent(product.getSku(), new StockCell(product.getStockQuantity())) == null) {
+                    count++;
+                }
+            }
+            return count;
+        });
+        logger.info("Inventory engine rebuilt from database: {} SKUs loaded", loaded);
+    }
+    
+    /**
+     * 检查内存中的可用库存是否足够，未加载的商品以传入实体的库存为准
+     */
+    public boolean hasEnoughStock(Product product, int quantity) {
+        StockCell cell = cells.get(product.getSku());
+        int available = cell != null ? cell.available.get() : product.getStockQuantity();
+        return available >= quantity;
+    }
+    
+    /**
+     * 预留库存，可用库存不足时返回false
+     */
+    public boolean reserve(Product product, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        
+        StockCell cell = cells.computeIfAbsent(product.getSku(), sku -> new StockCell(product.getStockQuantity()));
+        while (true) {
+            int available = cell.available.get();
+            if (available < quantity) {
+                return false;
+            }
+            if (cell.available.compareAndSet(available, available - quantity)) {
+                return true;
+            }
+        }
+    }
+    
+    /**
+     * 确认预留：扣减计入待写回的净变化
+     */
+    public void commit(String sku, int quantity) {
+        requireCell(sku).pendingDelta.addAndGet(-quantity);
+    }
+    
+    /**
+     * 释放预留：库存归还可用量
+     */
+    public void release(String sku, int quantity) {
+        requireCell(sku).available.addAndGet(quantity);
+    }
+    
+    /**
+     * 归还已确认的预留：净变化与可用量同时加回
+     */
+    public void restore(String sku, int quantity) {
+        StockCell cell = requireCell(sku);
+        cell.pendingDelta.addAndGet(quantity);
+        cell.available.addAndGet(quantity);
+    }
+    
+    /**
+     * 数据库已补充库存后同步到内存
+     */
+    public void restock(String sku, int quantity) {
+        StockCell cell = cells.get(sku);
+        if (cell != null) {
+            cell.available.addAndGet(quantity);
+        }
+    }
+    
+    /**
+     * 获取内存中的可用库存，未加载时返回null
+     */
+    public Integer getAvailableStock(String sku) {
+        StockCell cell = cells.get(sku);
+        return cell != null ? cell.available.get() : null;
+    }
+    
+    /**
+     * 定期将已确认的净变化批量写回数据库
+     */
+    @Scheduled(fixedDelayString = "${business.inventory.engine.flush-interval-ms:1000}")
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        
+        Map<String, Integer> deltas = new HashMap<>();
+        for (Map.Entry<String, StockCell> entry : cells.entrySet()) {
+            int delta = entry.getValue().pendingDelta.getAndSet(0);
+            if (delta != 0) {
+                deltas.put(entry.getKey(), delta);
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+        
+        try {
+            transactionTemplate.executeWithoutResult(status -> productRepository.adjustStock(deltas));
+            logger.debug("Inventory engine flushed stock deltas for {} SKUs", deltas.size());
+        } catch (RuntimeException e) {
+            // 写回失败时将净变化放回，等待下一轮
+            deltas.forEach((sku, delta) -> cells.get(sku).pendingDelta.addAndGet(delta));
+            logger.error("Failed to flush inventory deltas, will retry", e);
+        }
+    }
+    
+    /**
+     * 停机前写回剩余的净变化
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+    
+    private StockCell requireCell(String sku) {
+        StockCell cell = cells.get(sku);
+        if (cell == null) {
+            throw new IllegalStateException("SKU not managed by inventory engine: " + sku);
+        }
+        return cell;
+    }
+    
+    /**
+     * 单个SKU的库存单元
+     */
+    private static final class StockCell {
+        
+        private final AtomicInteger available;
+        private final AtomicInteger pendingDelta = new AtomicInteger();
+        
+        private StockCell(int available) {
+            this.available = new AtomicInteger(available);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,222 @@
+package com.openecommerce.product.application;
+
+import com.openecommerce.product.domain.Product;
+import com.openecommerce.product.domain.ProductRepository;
+import com.openecommerce.product.domain.ProductStatus;
+import com.openecommerce.product.domain.ProductStockShard;
+import com.openecommerce.product.domain.ProductStockShardRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * Inventory Service
+ * 库存服务：统一普通库存与分片库存的写入路径
+ */
+@Service
+@Transactional
+public class InventoryService {
+    
+    private final ProductRepository productRepository;
+    private final ProductStockShardRepository productStockShardRepository;
+    private final InventoryReservationEngine inventoryReservationEngine;
+    
+    @Autowired
+    public InventoryService(ProductRepository productRepository,
+                            ProductStockShardRepository productStockShardRepository,
+                            InventoryReservationEngine inventoryReservationEngine) {
+        this.productRepository = productRepository;
+        this.productStockShardRepository = productStockShardRepository;
+        this.inventoryReservationEngine = inventoryReservationEngine;
+    }
+    
+    /**
+     * 检查库存是否足够，由内存库存引擎管理的商品以引擎中的实时库存为准
+     */
+    public boolean hasEnoughStock(Product product, int quantity) {
+        if (isManagedByEngine(product)) {
+            return inventoryReservationEngine.hasEnoughStock(product, quantity);
+        }
+        return product.hasEnoughStock(quantity);
+    }
+    
+    /**
+     * 扣减库存，库存不足或商品非活跃时返回false
+     */
+    public boolean deductStock(Product product, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        if (isManagedByEngine(product)) {
+            return reserveInEngine(product, quantity);
+        }
+        if (!product.isShardedStock()) {
+            return productRepository.decreaseStock(product.getSku(), quantity);
+        }
+        if (product.getStatus() != ProductStatus.ACTIVE) {
+            return false;
+        }
+        
+        // 随机选择起始分片，单个分片不足时依次尝试相邻分片
+        String sku = product.getSku();
+        int shardCount = product.getStockShardCount();
+        int start = ThreadLocalRandom.current().nextInt(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            if (productStockShardRepository.decreaseStock(sku, (start + i) % shardCount, quantity)) {
+                return true;
+            }
+        }
+        
+        // 任一分片都不足以单独满足时，跨分片合并扣减
+        return deductAcrossShards(sku, quantity);
+    }
+    
+    /**
+     * 为分片库存商品补充库存（随机落到一个分片）
+     */
+    public void addShardedStock(Product product, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        if (!product.isShardedStock()) {
+            throw new IllegalStateException("Product stock is not sharded");
+        }
+        if (product.getStatus() != ProductStatus.ACTIVE) {
+            throw new IllegalStateException("Cannot add stock to inactive product");
+        }
+        
+        int shardNo = ThreadLocalRandom.current().nextInt(product.getStockShardCount());
+        productStockShardRepository.increaseStock(product.getSku(), shardNo, quantity);
+        product.applyShardedStockQuantity(product.getStockQuantity() + quantity);
+    }
+    
+    /**
+     * 归还本事务内已扣减的库存，用于批量下单中部分订单失败的情况
+     */
+    public void restoreStock(Product product, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        String sku = product.getSku();
+        if (isManagedByEngine(product)) {
+            // 引擎中的预留在事务完成时整体确认或释放，归还部分只需在提交后抵消
+            afterCompletion(committed -> {
+                if (committed) {
+                    inventoryReservationEngine.restore(sku, quantity);
+                }
+            });
+            return;
+        }
+        if (!product.isShardedStock()) {
+            productRepository.adjustStock(Collections.singletonMap(sku, quantity));
+            return;
+        }
+        int shardNo = ThreadLocalRandom.current().nextInt(product.getStockShardCount());
+        productStockShardRepository.increaseStock(sku, shardNo, quantity);
+    }
+    
+    /**
+     * 普通商品补充库存已写入数据库后，在事务提交时同步到内存库存引擎
+     */
+    public void stockAdded(Product product, int quantity) {
+        if (isManagedByEngine(product)) {
+            String sku = product.getSku();
+            afterCompletion(committed -> {
+                if (committed) {
+                    inventoryReservationEngine.restock(sku, quantity);
+                }
+            });
+        }
+    }
+    
+    /**
+     * 将商品库存拆分到指定数量的分片
+     */
+    public Product enableShardedStock(String sku, int shardCount) {
+        if (inventoryReservationEngine.isEnabled()) {
+            throw new IllegalStateException("Cannot shard stock while the inventory engine is enabled");
+        }
+        
+        Product product = productRepository.findBySku(sku)
+            .orElseThrow(() -> new IllegalArgumentException("Product not found: " + sku));
+        
+        int movedQuantity = product.enableShardedStock(shardCount);
+        Product savedProduct = productRepository.save(product);
+        productStockShardRepository.saveAll(ProductStockShard.split(product.getSku(), movedQuantity, shardCount));
+        
+        return savedProduct;
+    }
+    
+    private boolean isManagedByEngine(Product product) {
+        return inventoryReservationEngine.isEnabled() && !product.isShardedStock();
+    }
+    
+    /**
+     * 在内存库存引擎中预留，事务提交后确认，回滚后释放
+     */
+    private boolean reserveInEngine(Product product, int quantity) {
+        if (product.getStatus() != ProductStatus.ACTIVE) {
+            return false;
+        }
+        if (!inventoryReservationEngine.reserve(product, quantity)) {
+            return false;
+        }
+        
+        String sku = product.getSku();
+        afterCompletion(committed -> {
+            if (committed) {
+                inventoryReservationEngine.commit(sku, quantity);
+            } else {
+                inventoryReservationEngine.release(sku, quantity);
+            }
+        });
+        return true;
+    }
+    
+    /**
+     * 注册事务完成回调，无事务时立即按已提交处理
+     */
+    private void afterCompletion(Consumer<Boolean> callback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            callback.accept(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                callback.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+    
+    /**
+     * 按各分片的当前库存逐个扣减，最终不足时归还已扣减部分
+     */
+    private boolean deductAcrossShards(String sku, int quantity) {
+        Map<Integer, Integer> deducted = new LinkedHashMap<>();
+        int remaining = quantity;
+        for (Map.Entry<Integer, Integer> shard : productStockShardRepository.findQuantitiesBySku(sku).entrySet()) {
+            int take = Math.min(remaining, shard.getValue());
+            if (take > 0 && productStockShardRepository.decreaseStock(sku, shard.getKey(), take)) {
+                deducted.put(shard.getKey(), take);
+                remaining -= take;
+            }
+            if (remaining == 0) {
+                return true;
+            }
+        }
+        
+        for (Map.Entry<Integer, Integer> entry : deducted.entrySet()) {
+            productStockShardRepository.increaseStock(sku, entry.getKey(), entry.getValue());
+        }
+        return false;
+    }
+}
\ No newline at end of file
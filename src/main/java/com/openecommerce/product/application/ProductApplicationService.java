@@ -3,6 +3,7 @@ package com.openecommerce.product.application;
 import com.openecommerce.merchant.domain.MerchantRepository;
 import com.openecommerce.product.application.dto.AddStockRequest;
 import com.openecommerce.product.application.dto.CreateProductRequest;
+import com.openecommerce.product.application.dto.EnableShardedStockRequest;
 import com.openecommerce.product.application.dto.ProductResponse;
 import com.openecommerce.product.domain.Product;
 import com.openecommerce.product.domain.ProductRepository;
@@ -26,12 +27,15 @@ public class ProductApplicationService {
     
     private final ProductRepository productRepository;
     private final MerchantRepository merchantRepository;
+    private final InventoryService inventoryService;
     
     @Autowired
     public ProductApplicationService(ProductRepository productRepository, 
-                                   MerchantRepository merchantRepository) {
+                                   MerchantRepository merchantRepository,
+                                   InventoryService inventoryService) {
         this.productRepository = productRepository;
         this.merchantRepository = merchantRepository;
+        this.inventoryService = inventoryService;
     }
     
     /**
@@ -68,12 +72,26 @@ public class ProductApplicationService {
         Product product = productRepository.findBySku(sku)
             .orElseThrow(() -> new IllegalArgumentException("Product not found: " + sku));
         
+        if (product.isShardedStock()) {
+            inventoryService.addShardedStock(product, request.getQuantity());
+            return ProductResponse.from(product);
+        }
+        
         product.addStock(request.getQuantity());
         Product savedProduct = productRepository.save(product);
+        inventoryService.stockAdded(savedProduct, request.getQuantity());
         
         return ProductResponse.from(savedProduct);
     }
     
+    /**
+     * 启用分片库存（热点商品）
+     */
+    public ProductResponse enableShardedStock(String sku, EnableShardedStockRequest request) {
+        Product product = inventoryService.enableShardedStock(sku, request.getShardCount());
+        return ProductResponse.from(product);
+    }
+    
     /**
      * 根据SKU获取商品
      */
@@ -0,0 +1,20 @@
+package com.openecommerce.product.application.dto;
+
+import lombok.Data;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ * Enable Sharded Stock Request DTO
+ * 启用分片库存请求DTO
+ */
+@Data
+public class EnableShardedStockRequest {
+    
+    @NotNull(message = "Shard count cannot be null")
+    @Min(value = 2, message = "Shard count must be at least 2")
+    @Max(value = 64, message = "Shard count cannot exceed 64")
+    private Integer shardCount;
+}
\ No newline at end of file
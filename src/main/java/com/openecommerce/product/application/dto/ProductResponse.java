@@ -21,6 +21,7 @@ public class ProductResponse {
     private BigDecimal priceAmount;
     private String priceCurrency;
     private Integer stockQuantity;
+    private Integer stockShardCount;
     private Long merchantId;
     private ProductStatus status;
     private LocalDateTime createdAt;
@@ -35,6 +36,7 @@ public class ProductResponse {
         response.setPriceAmount(product.getPrice().getAmount());
         response.setPriceCurrency(product.getPrice().getCurrency());
         response.setStockQuantity(product.getStockQuantity());
+        response.setStockShardCount(product.getStockShardCount());
         response.setMerchantId(product.getMerchantId());
         response.setStatus(product.getStatus());
         response.setCreatedAt(product.getCreatedAt());
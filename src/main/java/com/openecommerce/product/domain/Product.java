@@ -43,6 +43,18 @@ public class Product extends AggregateRoot {
     @Column(name = "status", nullable = false)
     private ProductStatus status;
     
+    /**
+     * 库存分片数，0表示未启用分片库存
+     */
+    @Column(name = "stock_shard_count", nullable = false)
+    private Integer stockShardCount = 0;
+    
+    /**
+     * 分片库存模式下各分片汇总得到的库存（不持久化，由仓储加载时填充）
+     */
+    @Transient
+    private Integer shardedStockQuantity;
+    
     // JPA required
     protected Product() {
         super();
@@ -86,6 +98,9 @@ public class Product extends AggregateRoot {
         if (this.status != ProductStatus.ACTIVE) {
             throw new IllegalStateException("Cannot add stock to inactive product");
         }
+        if (isShardedStock()) {
+            throw new IllegalStateException("Stock of sharded product must be added to its shards");
+        }
         
         this.stockQuantity += quantity;
     }
@@ -100,6 +115,9 @@ public class Product extends AggregateRoot {
         if (this.status != ProductStatus.ACTIVE) {
             throw new IllegalStateException("Cannot reduce stock from inactive product");
         }
+        if (isShardedStock()) {
+            throw new IllegalStateException("Stock of sharded product must be reduced from its shards");
+        }
         if (this.stockQuantity < quantity) {
             throw new IllegalStateException("Insufficient stock");
         }
@@ -111,7 +129,55 @@ public class Product extends AggregateRoot {
      * 检查是否有足够库存
      */
     public boolean hasEnoughStock(Integer quantity) {
-        return this.stockQuantity >= quantity;
+        return getStockQuantity() >= quantity;
+    }
+    
+    /**
+     * 获取库存，分片库存模式下返回各分片汇总后的库存
+     */
+    public Integer getStockQuantity() {
+        if (isShardedStock() && this.shardedStockQuantity != null) {
+            return this.shardedStockQuantity;
+        }
+        return this.stockQuantity;
+    }
+    
+    /**
+     * 是否启用了分片库存
+     */
+    public boolean isShardedStock() {
+        return this.stockShardCount != null && this.stockShardCount > 0;
+    }
+    
+    /**
+     * 启用分片库存，返回需要迁移到各分片的库存数量
+     */
+    public int enableShardedStock(int shardCount) {
+        if (shardCount < 2) {
+            throw new IllegalArgumentException("Shard count must be at least 2");
+        }
+        if (this.status != ProductStatus.ACTIVE) {
+            throw new IllegalStateException("Cannot shard stock of inactive product");
+        }
+        if (isShardedStock()) {
+            throw new IllegalStateException("Product stock is already sharded");
+        }
+        
+        int movedQuantity = this.stockQuantity;
+        this.stockQuantity = 0;
+        this.stockShardCount = shardCount;
+        this.shardedStockQuantity = movedQuantity;
+        return movedQuantity;
+    }
+    
+    /**
+     * 填充分片库存的汇总值
+     */
+    public void applyShardedStockQuantity(int totalQuantity) {
+        if (!isShardedStock()) {
+            throw new IllegalStateException("Product stock is not sharded");
+        }
+        this.shardedStockQuantity = totalQuantity;
     }
     
     /**
@@ -1,6 +1,8 @@
 package com.openecommerce.product.domain;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -24,6 +26,22 @@ public interface ProductRepository {
      */
     Optional<Product> findBySku(String sku);
     
+    /**
+     * 根据SKU集合批量查找商品（一次查询）
+     */
+    List<Product> findBySkuIn(Collection<String> skus);
+    
+    /**
+     * 原子扣减库存（条件更新）
+     * 仅当商品为活跃状态且库存充足时扣减，返回是否扣减成功
+     */
+    boolean decreaseStock(String sku, int quantity);
+    
+    /**
+     * 批量调整库存（SKU -> 库存增量，可为负数），用于写回内存库存引擎累计的净变化
+     */
+    void adjustStock(Map<String, Integer> deltas);
+    
     /**
      * 根据商家ID查找商品列表
      */
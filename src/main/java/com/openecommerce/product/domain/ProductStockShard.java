@@ -0,0 +1,74 @@
+package com.openecommerce.product.domain;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import javax.persistence.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Product Stock Shard Entity
+ * 商品库存分片实体（热点商品的库存拆分到多行子计数器）
+ */
+@Entity
+@Table(name = "product_stock_shards",
+       uniqueConstraints = @UniqueConstraint(name = "uk_product_stock_shards_sku_shard", columnNames = {"sku", "shard_no"}))
+@Getter
+@EqualsAndHashCode(of = "id")
+@ToString
+public class ProductStockShard {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "sku", nullable = false, length = 50)
+    private String sku;
+    
+    @Column(name = "shard_no", nullable = false)
+    private Integer shardNo;
+    
+    @Column(name = "quantity", nullable = false)
+    private Integer quantity;
+    
+    // JPA required
+    protected ProductStockShard() {}
+    
+    public ProductStockShard(String sku, Integer shardNo, Integer quantity) {
+        if (sku == null || sku.trim().isEmpty()) {
+            throw new IllegalArgumentException("SKU cannot be null or empty");
+        }
+        if (shardNo == null || shardNo < 0) {
+            throw new IllegalArgumentException("Shard number cannot be null or negative");
+        }
+        if (quantity == null || quantity < 0) {
+            throw new IllegalArgumentException("Stock quantity cannot be null or negative");
+        }
+        
+        this.sku = sku.trim().toUpperCase();
+        this.shardNo = shardNo;
+        this.quantity = quantity;
+    }
+    
+    /**
+     * 将库存尽量平均地拆分到指定数量的分片
+     */
+    public static List<ProductStockShard> split(String sku, int totalQuantity, int shardCount) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive");
+        }
+        if (totalQuantity < 0) {
+            throw new IllegalArgumentException("Stock quantity cannot be negative");
+        }
+        
+        List<ProductStockShard> shards = new ArrayList<>(shardCount);
+        int base = totalQuantity / shardCount;
+        int remainder = totalQuantity % shardCount;
+        for (int shardNo = 0; shardNo < shardCount; shardNo++) {
+            shards.add(new ProductStockShard(sku, shardNo, base + (shardNo < remainder ? 1 : 0)));
+        }
+        return shards;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.openecommerce.product.domain;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Product Stock Shard Repository Interface
+ * 商品库存分片仓储接口
+ */
+public interface ProductStockShardRepository {
+    
+    /**
+     * 批量保存库存分片
+     */
+    List<ProductStockShard> saveAll(List<ProductStockShard> shards);
+    
+    /**
+     * 查询指定商品各分片的当前库存（分片号 -> 库存）
+     */
+    Map<Integer, Integer> findQuantitiesBySku(String sku);
+    
+    /**
+     * 原子扣减单个分片的库存，分片库存不足时返回false
+     */
+    boolean decreaseStock(String sku, int shardNo, int quantity);
+    
+    /**
+     * 增加单个分片的库存
+     */
+    void increaseStock(String sku, int shardNo, int quantity);
+    
+    /**
+     * 汇总各商品所有分片的库存（SKU -> 总库存）
+     */
+    Map<String, Integer> sumQuantityBySkuIn(Collection<String> skus);
+}
\ No newline at end of file
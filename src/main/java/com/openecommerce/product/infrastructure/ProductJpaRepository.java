@@ -3,8 +3,13 @@ package com.openecommerce.product.infrastructure;
 import com.openecommerce.product.domain.Product;
 import com.openecommerce.product.domain.ProductStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,6 +22,20 @@ public interface ProductJpaRepository extends JpaRepository<Product, Long> {
     
     Optional<Product> findBySku(String sku);
     
+    List<Product> findBySkuIn(Collection<String> skus);
+    
+    /**
+     * 条件扣减库存：单条UPDATE完成校验与扣减，同时递增版本号以使并发的读改写路径感知变更
+     */
+    @Modifying
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity - :quantity, " +
+           "p.version = p.version + 1, p.updatedAt = :now " +
+           "WHERE p.sku = :sku AND p.stockQuantity >= :quantity AND p.status = :status")
+    int decreaseStock(@Param("sku") String sku,
+                      @Param("quantity") int quantity,
+                      @Param("status") ProductStatus status,
+                      @Param("now") LocalDateTime now);
+    
     List<Product> findByMerchantId(Long merchantId);
     
     List<Product> findByMerchantIdAndStatus(Long merchantId, ProductStatus status);
@@ -3,11 +3,20 @@ package com.openecommerce.product.infrastructure;
 import com.openecommerce.product.domain.Product;
 import com.openecommerce.product.domain.ProductRepository;
 import com.openecommerce.product.domain.ProductStatus;
+import com.openecommerce.product.domain.ProductStockShardRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * Product Repository Implementation
@@ -17,10 +26,16 @@ import java.util.Optional;
 public class ProductRepositoryImpl implements ProductRepository {
     
     private final ProductJpaRepository productJpaRepository;
+    private final ProductStockShardRepository productStockShardRepository;
+    private final JdbcTemplate jdbcTemplate;
     
     @Autowired
-    public ProductRepositoryImpl(ProductJpaRepository productJpaRepository) {
+    public ProductRepositoryImpl(ProductJpaRepository productJpaRepository,
+                                 ProductStockShardRepository productStockShardRepository,
+                                 JdbcTemplate jdbcTemplate) {
         this.productJpaRepository = productJpaRepository;
+        this.productStockShardRepository = productStockShardRepository;
+        this.jdbcTemplate = jdbcTemplate;
     }
     
     @Override
@@ -30,22 +45,53 @@ public class ProductRepositoryImpl implements ProductRepository {
     
     @Override
     public Optional<Product> findById(Long id) {
-        return productJpaRepository.findById(id);
+        return productJpaRepository.findById(id).map(this::withShardedStock);
     }
     
     @Override
     public Optional<Product> findBySku(String sku) {
-        return productJpaRepository.findBySku(sku);
+        return productJpaRepository.findBySku(sku).map(this::withShardedStock);
+    }
+    
+    @Override
+    public List<Product> findBySkuIn(Collection<String> skus) {
+        if (skus == null || skus.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return withShardedStock(productJpaRepository.findBySkuIn(skus));
+    }
+    
+    @Override
+    public boolean decreaseStock(String sku, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        return productJpaRepository.decreaseStock(sku, quantity, ProductStatus.ACTIVE, LocalDateTime.now()) == 1;
+    }
+    
+    @Override
+    public void adjustStock(Map<String, Integer> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batchArgs = new ArrayList<>(deltas.size());
+        for (Map.Entry<String, Integer> delta : deltas.entrySet()) {
+            batchArgs.add(new Object[] {delta.getValue(), now, delta.getKey()});
+        }
+        jdbcTemplate.batchUpdate(
+            "UPDATE products SET stock_quantity = stock_quantity + ?, version = version + 1, updated_at = ? " +
+            "WHERE sku = ?", batchArgs);
     }
     
     @Override
     public List<Product> findByMerchantId(Long merchantId) {
-        return productJpaRepository.findByMerchantId(merchantId);
+        return withShardedStock(productJpaRepository.findByMerchantId(merchantId));
     }
     
     @Override
     public List<Product> findByMerchantIdAndStatus(Long merchantId, ProductStatus status) {
-        return productJpaRepository.findByMerchantIdAndStatus(merchantId, status);
+        return withShardedStock(productJpaRepository.findByMerchantIdAndStatus(merchantId, status));
     }
     
     @Override
@@ -55,6 +101,32 @@ public class ProductRepositoryImpl implements ProductRepository {
     
     @Override
     public List<Product> findByStatus(ProductStatus status) {
-        return productJpaRepository.findByStatus(status);
+        return withShardedStock(productJpaRepository.findByStatus(status));
+    }
+    
+    /**
+     * 分片库存商品：填充各分片汇总后的库存
+     */
+    private Product withShardedStock(Product product) {
+        withShardedStock(Collections.singletonList(product));
+        return product;
+    }
+    
+    private List<Product> withShardedStock(List<Product> products) {
+        List<String> shardedSkus = products.stream()
+            .filter(Product::isShardedStock)
+            .map(Product::getSku)
+            .collect(Collectors.toList());
+        if (shardedSkus.isEmpty()) {
+            return products;
+        }
+        
+        Map<String, Integer> totals = productStockShardRepository.sumQuantityBySkuIn(shardedSkus);
+        for (Product product : products) {
+            if (product.isShardedStock()) {
+                product.applyShardedStockQuantity(totals.getOrDefault(product.getSku(), 0));
+            }
+        }
+        return products;
     }
 }
\ No newline at end of file
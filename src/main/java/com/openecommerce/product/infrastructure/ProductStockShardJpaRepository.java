@@ -0,0 +1,35 @@
+package com.openecommerce.product.infrastructure;
+
+import com.openecommerce.product.domain.ProductStockShard;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Product Stock Shard JPA Repository
+ * 商品库存分片JPA仓储
+ */
+@Repository
+public interface ProductStockShardJpaRepository extends JpaRepository<ProductStockShard, Long> {
+    
+    @Query("SELECT s.shardNo, s.quantity FROM ProductStockShard s WHERE s.sku = :sku ORDER BY s.shardNo")
+    List<Object[]> findQuantitiesBySku(@Param("sku") String sku);
+    
+    @Modifying
+    @Query("UPDATE ProductStockShard s SET s.quantity = s.quantity - :quantity " +
+           "WHERE s.sku = :sku AND s.shardNo = :shardNo AND s.quantity >= :quantity")
+    int decreaseStock(@Param("sku") String sku, @Param("shardNo") int shardNo, @Param("quantity") int quantity);
+    
+    @Modifying
+    @Query("UPDATE ProductStockShard s SET s.quantity = s.quantity + :quantity " +
+           "WHERE s.sku = :sku AND s.shardNo = :shardNo")
+    int increaseStock(@Param("sku") String sku, @Param("shardNo") int shardNo, @Param("quantity") int quantity);
+    
+    @Query("SELECT s.sku, SUM(s.quantity) FROM ProductStockShard s WHERE s.sku IN :skus GROUP BY s.sku")
+    List<Object[]> sumQuantityBySkuIn(@Param("skus") Collection<String> skus);
+}
\ No newline at end of file
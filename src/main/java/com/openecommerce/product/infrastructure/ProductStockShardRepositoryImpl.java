@@ -0,0 +1,66 @@
+package com.openecommerce.product.infrastructure;
+
+import com.openecommerce.product.domain.ProductStockShard;
+import com.openecommerce.product.domain.ProductStockShardRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Product Stock Shard Repository Implementation
+ * 商品库存分片仓储实现
+ */
+@Component
+public class ProductStockShardRepositoryImpl implements ProductStockShardRepository {
+    
+    private final ProductStockShardJpaRepository productStockShardJpaRepository;
+    
+    @Autowired
+    public ProductStockShardRepositoryImpl(ProductStockShardJpaRepository productStockShardJpaRepository) {
+        this.productStockShardJpaRepository = productStockShardJpaRepository;
+    }
+    
+    @Override
+    public List<ProductStockShard> saveAll(List<ProductStockShard> shards) {
+        return productStockShardJpaRepository.saveAll(shards);
+    }
+    
+    @Override
+    public Map<Integer, Integer> findQuantitiesBySku(String sku) {
+        Map<Integer, Integer> quantities = new LinkedHashMap<>();
+        for (Object[] row : productStockShardJpaRepository.findQuantitiesBySku(sku)) {
+            quantities.put((Integer) row[0], (Integer) row[1]);
+        }
+        return quantities;
+    }
+    
+    @Override
+    public boolean decreaseStock(String sku, int shardNo, int quantity) {
+        return productStockShardJpaRepository.decreaseStock(sku, shardNo, quantity) == 1;
+    }
+    
+    @Override
+    public void increaseStock(String sku, int shardNo, int quantity) {
+        if (productStockShardJpaRepository.increaseStock(sku, shardNo, quantity) != 1) {
+            throw new IllegalStateException("Stock shard not found: " + sku + "#" + shardNo);
+        }
+    }
+    
+    @Override
+    public Map<String, Integer> sumQuantityBySkuIn(Collection<String> skus) {
+        if (skus == null || skus.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, Integer> totals = new HashMap<>();
+        for (Object[] row : productStockShardJpaRepository.sumQuantityBySkuIn(skus)) {
+            totals.put((String) row[0], ((Number) row[1]).intValue());
+        }
+        return totals;
+    }
+}
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.openecommerce.product.interfaces.rest;
 import com.openecommerce.product.application.ProductApplicationService;
 import com.openecommerce.product.application.dto.AddStockRequest;
 import com.openecommerce.product.application.dto.CreateProductRequest;
+import com.openecommerce.product.application.dto.EnableShardedStockRequest;
 import com.openecommerce.product.application.dto.ProductResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -87,4 +88,21 @@ public class ProductController {
             return ResponseEntity.badRequest().build();
         }
     }
+    
+    /**
+     * 启用分片库存
+     */
+    @PostMapping("/{sku}/stock/shards")
+    public ResponseEntity<ProductResponse> enableShardedStock(
+            @PathVariable String sku,
+            @Valid @RequestBody EnableShardedStockRequest request) {
+        try {
+            ProductResponse response = productApplicationService.enableShardedStock(sku, request);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
 }
\ No newline at end of file
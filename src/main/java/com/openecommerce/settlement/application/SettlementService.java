@@ -1,38 +1,103 @@
 package com.openecommerce.settlement.application;
 
+import com.openecommerce.merchant.application.MerchantRevenueLedgerService;
 import com.openecommerce.merchant.domain.Merchant;
 import com.openecommerce.merchant.domain.MerchantRepository;
-import com.openecommerce.order.domain.Order;
+import com.openecommerce.order.domain.MerchantDailySalesRepository;
+import com.openecommerce.order.domain.MerchantSalesSummary;
 import com.openecommerce.order.domain.OrderRepository;
 import com.openecommerce.order.domain.OrderStatus;
+import com.openecommerce.settlement.application.dto.SettlementResultResponse;
+import com.openecommerce.settlement.application.dto.SettlementRunResponse;
+import com.openecommerce.settlement.domain.SettlementChunk;
+import com.openecommerce.settlement.domain.SettlementChunkRepository;
+import com.openecommerce.settlement.domain.SettlementResult;
+import com.openecommerce.settlement.domain.SettlementResultRepository;
+import com.openecommerce.settlement.domain.SettlementRun;
+import com.openecommerce.settlement.domain.SettlementRunRepository;
+import com.openecommerce.settlement.domain.SettlementRunStatus;
+import com.openecommerce.settlement.domain.SettlementVerification;
 import com.openecommerce.shared.domain.Money;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.annotation.PreDestroy;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Settlement Service
- * 结算服务
+ * 结算服务：每个结算周期持久化为一个结算批次，按商家ID拆分为每块至多 chunkSize 个商家的分块，
+ * 分块在有界线程池上异步并行执行，每块在独立事务中读取商家日销售汇总（不扫描订单表）、与商家余额核对
+ * 并将各商家的结算结果与完成状态一起提交作为检查点，最后结束的分块汇总批次状态。分块失败不影响其他分块；
+ * 中断或失败的批次再次触发（或应用重启）时只处理尚未完成的分块
  */
 @Service
-@Transactional
 public class SettlementService {
     
     private static final Logger logger = LoggerFactory.getLogger(SettlementService.class);
     
     private final OrderRepository orderRepository;
+    private final MerchantDailySalesRepository merchantDailySalesRepository;
     private final MerchantRepository merchantRepository;
+    private final MerchantRevenueLedgerService merchantRevenueLedgerService;
+    private final SettlementRunRepository settlementRunRepository;
+    private final SettlementChunkRepository settlementChunkRepository;
+    private final SettlementResultRepository settlementResultRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor;
+    private final int chunkSize;
+    private final Set<Long> activeRunIds = ConcurrentHashMap.newKeySet();
     
     @Autowired
-    public SettlementService(OrderRepository orderRepository, MerchantRepository merchantRepository) {
+    public SettlementService(OrderRepository orderRepository,
+                             MerchantDailySalesRepository merchantDailySalesRepository,
+                             MerchantRepository merchantRepository,
+                             MerchantRevenueLedgerService merchantRevenueLedgerService,
+                             SettlementRunRepository settlementRunRepository,
+                             SettlementChunkRepository settlementChunkRepository,
+                             SettlementResultRepository settlementResultRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${business.settlement.parallelism:4}") int parallelism,
+                             @Value("${business.settlement.chunk-size:100}") int chunkSize) {
+        if (parallelism < 1 || chunkSize < 1) {
+            throw new IllegalArgumentException("Settlement parallelism and chunk size must be positive");
+        }
+        
         this.orderRepository = orderRepository;
+        this.merchantDailySalesRepository = merchantDailySalesRepository;
         this.merchantRepository = merchantRepository;
+        this.merchantRevenueLedgerService = merchantRevenueLedgerService;
+        this.settlementRunRepository = settlementRunRepository;
+        this.settlementChunkRepository = settlementChunkRepository;
+        this.settlementResultRepository = settlementResultRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = Executors.newFixedThreadPool(parallelism, new CustomizableThreadFactory("settlement-"));
+        this.chunkSize = chunkSize;
     }
     
     /**
@@ -41,90 +106,312 @@ public class SettlementService {
      */
     @Scheduled(cron = "${business.settlement.cron:0 0 2 * * ?}")
     public void performDailySettlement() {
-        logger.info("Starting daily settlement process...");
+        LocalDate today = LocalDate.now();
+        settle(today.minusDays(1), today);
+    }
+    
+    /**
+     * 应用启动后将上次进程中断时仍在进行的结算批次重新提交到结算线程池
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedRuns() {
+        for (SettlementRun run : settlementRunRepository.findByStatus(SettlementRunStatus.RUNNING)) {
+            logger.info("Resuming interrupted settlement run {} ({} to {})", run.getId(), run.getStartDate(),
+                run.getEndDate());
+            try {
+                settle(run.getStartDate(), run.getEndDate());
+            } catch (RuntimeException e) {
+                logger.error("Failed to resume settlement run {}", run.getId(), e);
+            }
+        }
+    }
+    
+    /**
+     * 结算 [startDate, endDate) 内的全部商家：首次触发时创建批次并规划分块，
+     * 再次触发未完成的批次时从检查点继续，已完成或正在执行的批次直接返回。
+     * 分块提交到结算线程池后即返回，调用方按批次ID查询进度
+     */
+    public SettlementRunResponse settle(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null || !startDate.isBefore(endDate)) {
+            throw new IllegalArgumentException("Settlement start date must be before end date");
+        }
+        
+        logger.info("Starting settlement process...");
+        logger.info("Settlement period: {} to {}", startDate, endDate);
         
-        LocalDateTime endTime = LocalDateTime.now().withHour(0).withMinute(0).withSecond(0).withNano(0);
-        LocalDateTime startTime = endTime.minusDays(1);
+        SettlementRun run = startOrResumeRun(startDate, endDate);
+        if (run.getStatus() == SettlementRunStatus.COMPLETED) {
+            logger.info("Settlement period {} to {} already completed by run {}", startDate, endDate, run.getId());
+            return SettlementRunResponse.from(run);
+        }
+        if (!activeRunIds.add(run.getId())) {
+            logger.info("Settlement run {} already in progress", run.getId());
+            return SettlementRunResponse.from(run);
+        }
         
-        logger.info("Settlement period: {} to {}", startTime, endTime);
+        return SettlementRunResponse.from(executeRun(run));
+    }
+    
+    /**
+     * 根据ID查询结算批次
+     */
+    @Transactional(readOnly = true)
+    public Optional<SettlementRunResponse> getRun(Long runId) {
+        return settlementRunRepository.findById(runId).map(SettlementRunResponse::from);
+    }
+    
+    /**
+     * 按结算周期开始日期顺序查询商家周期开始于 [startDate, endDate) 内的结算结果
+     */
+    @Transactional(readOnly = true)
+    public List<SettlementResultResponse> getResults(Long merchantId, LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null || !startDate.isBefore(endDate)) {
+            throw new IllegalArgumentException("Query start date must be before end date");
+        }
         
+        List<SettlementResultResponse> responses = new ArrayList<>();
+        for (SettlementResult result : settlementResultRepository.findByMerchantId(merchantId, startDate, endDate)) {
+            responses.add(SettlementResultResponse.from(result));
+        }
+        return responses;
+    }
+    
+    /**
+     * 在事务中查找或创建结算周期的批次；并发触发同一新周期时后提交的一方违反周期唯一约束，改为读取已创建的批次
+     */
+    private SettlementRun startOrResumeRun(LocalDate startDate, LocalDate endDate) {
         try {
-            // 获取所有商家
-            List<Merchant> merchants = merchantRepository.findAll();
-            
-            for (Merchant merchant : merchants) {
-                performMerchantSettlement(merchant, startTime, endTime);
+            return transactionTemplate.execute(status -> findOrCreateRun(startDate, endDate));
+        } catch (DataIntegrityViolationException e) {
+            logger.info("Settlement run for {} to {} was created concurrently, resuming it", startDate, endDate);
+            return transactionTemplate.execute(status -> findOrCreateRun(startDate, endDate));
+        }
+    }
+    
+    /**
+     * 查找结算周期的批次：不存在时按当前最大商家ID规划分块，失败的批次重新置为执行中
+     */
+    private SettlementRun findOrCreateRun(LocalDate startDate, LocalDate endDate) {
+        Optional<SettlementRun> existing = settlementRunRepository.findByPeriod(startDate, endDate);
+        if (existing.isPresent()) {
+            SettlementRun run = existing.get();
+            // 仍在汇总中的批次由当前执行者收尾，不在此重新置为执行中
+            if (run.getStatus() == SettlementRunStatus.FAILED && !activeRunIds.contains(run.getId())) {
+                run.restart();
+                return settlementRunRepository.save(run);
             }
-            
-            logger.info("Daily settlement completed successfully");
-        } catch (Exception e) {
-            logger.error("Error during daily settlement", e);
-            throw e;
+            return run;
         }
+        
+        long maxMerchantId = merchantRepository.findMaxId().orElse(0L);
+        int totalChunks = (int) ((maxMerchantId + chunkSize - 1) / chunkSize);
+        SettlementRun run = settlementRunRepository.save(new SettlementRun(startDate, endDate, chunkSize, totalChunks));
+        settlementChunkRepository.saveAll(SettlementChunk.plan(run.getId(), maxMerchantId, chunkSize));
+        return run;
     }
     
     /**
-     * 执行单个商家的结算
+     * 将批次中尚未完成的分块提交到结算线程池并行执行，最后结束的分块汇总批次状态；
+     * 没有待执行的分块时直接汇总并返回结束后的批次
      */
-    private void performMerchantSettlement(Merchant merchant, LocalDateTime startTime, LocalDateTime endTime) {
-        logger.info("Processing settlement for merchant: {} (ID: {})", merchant.getName(), merchant.getId());
+    private SettlementRun executeRun(SettlementRun run) {
+        List<SettlementChunk> pending = new ArrayList<>();
+        for (SettlementChunk chunk : settlementChunkRepository.findByRunId(run.getId())) {
+            if (!chunk.isCompleted()) {
+                pending.add(chunk);
+            }
+        }
+        logger.info("Settlement run {}: {} of {} chunks to process", run.getId(), pending.size(), run.getTotalChunks());
+        if (pending.isEmpty()) {
+            return finishRun(run);
+        }
+        
+        AtomicInteger remaining = new AtomicInteger(pending.size());
+        try {
+            for (SettlementChunk chunk : pending) {
+                executor.execute(() -> {
+                    try {
+                        settleChunk(run, chunk);
+                    } catch (RuntimeException e) {
+                        logger.error("Settlement run {} chunk could not be recorded", run.getId(), e);
+                    } finally {
+                        if (remaining.decrementAndGet() == 0) {
+                            finishRun(run);
+                        }
+                    }
+                });
+            }
+        } catch (RejectedExecutionException e) {
+            // 应用正在关闭，批次保持执行中，重启后继续
+            logger.warn("Settlement run {} interrupted by shutdown", run.getId());
+            activeRunIds.remove(run.getId());
+        }
+        return run;
+    }
+    
+    /**
+     * 按分块状态汇总批次并释放执行标记，汇总失败时批次保持执行中，再次触发或重启后重新汇总
+     */
+    private SettlementRun finishRun(SettlementRun run) {
+        try {
+            SettlementRun finished = transactionTemplate.execute(status -> {
+                SettlementRun current = settlementRunRepository.findById(run.getId())
+                    .orElseThrow(() -> new IllegalStateException("Settlement run not found: " + run.getId()));
+                current.finish(settlementChunkRepository.findByRunId(run.getId()));
+                return settlementRunRepository.save(current);
+            });
+            logger.info("Settlement run {} {}: {}/{} chunks completed, {} failed, {} merchants, {} orders, "
+                    + "{} verification failures", finished.getId(), finished.getStatus(), finished.getCompletedChunks(),
+                finished.getTotalChunks(), finished.getFailedChunks(), finished.getMerchants(), finished.getOrders(),
+                finished.getVerificationFailures());
+            return finished;
+        } catch (RuntimeException e) {
+            logger.error("Failed to finish settlement run {}", run.getId(), e);
+            return run;
+        } finally {
+            activeRunIds.remove(run.getId());
+        }
+    }
+    
+    /**
+     * 在一个事务中结算分块并记录完成状态；失败时回滚结算结果，另起事务记录失败原因
+     */
+    private void settleChunk(SettlementRun run, SettlementChunk chunk) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                PartitionResult result = settlePartition(run, chunk.getMinMerchantId(), chunk.getMaxMerchantId());
+                chunk.complete(result.merchants, result.orders, result.verificationFailures);
+                settlementChunkRepository.save(chunk);
+            });
+        } catch (RuntimeException e) {
+            logger.error("Settlement run {} chunk [{}, {}] failed", run.getId(), chunk.getMinMerchantId(),
+                chunk.getMaxMerchantId(), e);
+            chunk.fail(e.getMessage());
+            transactionTemplate.executeWithoutResult(status -> settlementChunkRepository.save(chunk));
+        }
+    }
+    
+    /**
+     * 结算商家ID在 [minMerchantId, maxMerchantId] 内的商家：从日销售汇总一次聚合得到各商家销售额，
+     * 批量加载商家及其当前余额后逐一核对，核对结果批量写入结算结果
+     */
+    private PartitionResult settlePartition(SettlementRun run, long minMerchantId, long maxMerchantId) {
+        PartitionResult result = new PartitionResult();
+        List<MerchantSalesSummary> summaries = merchantDailySalesRepository.summarizeByMerchant(
+            minMerchantId, maxMerchantId, run.getStartDate(), run.getEndDate());
+        if (summaries.isEmpty()) {
+            return result;
+        }
         
-        // 获取该商家在指定时间范围内的已完成订单
-        List<Order> completedOrders = orderRepository.findByMerchantIdAndStatusAndOrderTimeBetween(
-            merchant.getId(), OrderStatus.COMPLETED, startTime, endTime);
+        Set<Long> merchantIds = new LinkedHashSet<>();
+        for (MerchantSalesSummary summary : summaries) {
+            merchantIds.add(summary.getMerchantId());
+        }
+        Map<Long, Merchant> merchants = new HashMap<>();
+        for (Merchant merchant : merchantRepository.findByIdIn(merchantIds)) {
+            merchants.put(merchant.getId(), merchant);
+        }
+        Map<Long, Money> balances = merchantRevenueLedgerService.getCurrentBalances(merchants.values());
         
-        if (completedOrders.isEmpty()) {
-            logger.info("No completed orders found for merchant: {}", merchant.getName());
-            return;
-        }
-        
-        // 计算总销售额
-        Money totalSalesAmount = null;
-        for (Order order : completedOrders) {
-            if (order.getTotalAmount() != null) {
-                if (totalSalesAmount == null) {
-                    totalSalesAmount = order.getTotalAmount();
-                } else {
-                    totalSalesAmount = totalSalesAmount.add(order.getTotalAmount());
-                }
+        List<SettlementResult> settlementResults = new ArrayList<>(summaries.size());
+        for (MerchantSalesSummary summary : summaries) {
+            Merchant merchant = merchants.get(summary.getMerchantId());
+            if (merchant == null) {
+                logger.warn("Skipping settlement for unknown merchant ID: {}", summary.getMerchantId());
+                continue;
+            }
+            Money balance = balances.get(merchant.getId());
+            SettlementVerification verification = verifyMerchantSettlement(merchant, summary, balance);
+            if (verification == SettlementVerification.FAILED) {
+                result.verificationFailures++;
             }
+            result.orders += summary.getOrderCount();
+            settlementResults.add(new SettlementResult(run.getId(), merchant.getId(), run.getStartDate(),
+                run.getEndDate(), summary.getOrderCount(), summary.getTotalAmount(), balance, verification));
+        }
+        if (!settlementResults.isEmpty()) {
+            settlementResultRepository.saveAll(settlementResults);
         }
+        result.merchants = merchants.size();
+        return result;
+    }
+    
+    /**
+     * 核对单个商家某一币种的销售额与账户余额
+     */
+    private SettlementVerification verifyMerchantSettlement(Merchant merchant, MerchantSalesSummary summary, Money merchantBalance) {
+        logger.info("Processing settlement for merchant: {} (ID: {})", merchant.getName(), merchant.getId());
         
-        if (totalSalesAmount == null || totalSalesAmount.isZero()) {
+        Money totalSalesAmount = summary.getTotalAmount();
+        if (totalSalesAmount.isZero()) {
             logger.info("No sales amount to settle for merchant: {}", merchant.getName());
-            return;
+            return SettlementVerification.PASSED;
         }
         
-        // 验证商家账户余额与销售额是否匹配
-        Money merchantBalance = merchant.getBalance();
-        
         logger.info("Merchant: {}, Sales Amount: {}, Current Balance: {}", 
             merchant.getName(), totalSalesAmount, merchantBalance);
         
         // 检查余额是否足够覆盖销售额
-        if (merchantBalance.isGreaterThanOrEqual(totalSalesAmount)) {
+        SettlementVerification verification;
+        if (!merchantBalance.getCurrency().equals(totalSalesAmount.getCurrency())) {
+            verification = SettlementVerification.CURRENCY_MISMATCH;
+            logger.warn("Settlement verification skipped for merchant: {}. Sales currency {} differs from balance currency {}",
+                merchant.getName(), totalSalesAmount.getCurrency(), merchantBalance.getCurrency());
+        } else if (merchantBalance.isGreaterThanOrEqual(totalSalesAmount)) {
+            verification = SettlementVerification.PASSED;
             logger.info("Settlement verification passed for merchant: {}", merchant.getName());
         } else {
+            verification = SettlementVerification.FAILED;
             logger.warn("Settlement verification failed for merchant: {}. Balance insufficient to cover sales.", 
                 merchant.getName());
         }
         
         // 记录结算信息
         logger.info("Settlement summary for merchant {}: {} orders processed, total amount: {}", 
-            merchant.getName(), completedOrders.size(), totalSalesAmount);
+            merchant.getName(), summary.getOrderCount(), totalSalesAmount);
+        return verification;
     }
     
     /**
      * 手动触发结算（用于测试或特殊情况）
      */
+    @Transactional(readOnly = true)
     public void performManualSettlement(Long merchantId, LocalDateTime startTime, LocalDateTime endTime) {
         logger.info("Starting manual settlement for merchant: {}", merchantId);
         
         Merchant merchant = merchantRepository.findById(merchantId)
             .orElseThrow(() -> new IllegalArgumentException("Merchant not found: " + merchantId));
         
-        performMerchantSettlement(merchant, startTime, endTime);
+        List<MerchantSalesSummary> summaries =
+            orderRepository.summarizeSalesOfMerchant(merchantId, OrderStatus.COMPLETED, startTime, endTime);
+        if (summaries.isEmpty()) {
+            logger.info("No completed orders found for merchant: {}", merchant.getName());
+        } else {
+            Money merchantBalance = merchantRevenueLedgerService.getCurrentBalance(merchant);
+            for (MerchantSalesSummary summary : summaries) {
+                verifyMerchantSettlement(merchant, summary, merchantBalance);
+            }
+        }
         
         logger.info("Manual settlement completed for merchant: {}", merchantId);
     }
+    
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            logger.warn("Settlement workers did not finish in time");
+            executor.shutdownNow();
+        }
+    }
+    
+    /**
+     * 单个分区的结算结果
+     */
+    private static final class PartitionResult {
+        
+        private int merchants;
+        private long orders;
+        private int verificationFailures;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.openecommerce.settlement.application.dto;
+
+import com.openecommerce.settlement.domain.SettlementResult;
+import com.openecommerce.settlement.domain.SettlementVerification;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Settlement Result Response DTO
+ * 商家结算结果响应DTO
+ */
+@Data
+public class SettlementResultResponse {
+    
+    private Long id;
+    private Long runId;
+    private Long merchantId;
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
+    private Long orderCount;
+    private BigDecimal salesAmount;
+    private String salesCurrency;
+    private BigDecimal balanceAmount;
+    private String balanceCurrency;
+    private SettlementVerification verification;
+    private LocalDateTime createdAt;
+    
+    public static SettlementResultResponse from(SettlementResult result) {
+        SettlementResultResponse response = new SettlementResultResponse();
+        response.setId(result.getId());
+        response.setRunId(result.getRunId());
+        response.setMerchantId(result.getMerchantId());
+        response.setPeriodStart(result.getPeriodStart());
+        response.setPeriodEnd(result.getPeriodEnd());
+        response.setOrderCount(result.getOrderCount());
+        response.setSalesAmount(result.getSalesAmount().getAmount());
+        response.setSalesCurrency(result.getSalesAmount().getCurrency());
+        response.setBalanceAmount(result.getBalance().getAmount());
+        response.setBalanceCurrency(result.getBalance().getCurrency());
+        response.setVerification(result.getVerification());
+        response.setCreatedAt(result.getCreatedAt());
+        return response;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.openecommerce.settlement.application.dto;
+
+import com.openecommerce.settlement.domain.SettlementRun;
+import com.openecommerce.settlement.domain.SettlementRunStatus;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Settlement Run Response DTO
+ * 结算批次响应DTO
+ */
+@Data
+public class SettlementRunResponse {
+    
+    private Long id;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private SettlementRunStatus status;
+    private Integer totalChunks;
+    private Integer completedChunks;
+    private Integer failedChunks;
+    private Integer merchants;
+    private Long orders;
+    private Integer verificationFailures;
+    private LocalDateTime createdAt;
+    private LocalDateTime finishedAt;
+    
+    public static SettlementRunResponse from(SettlementRun run) {
+        SettlementRunResponse response = new SettlementRunResponse();
+        response.setId(run.getId());
+        response.setStartDate(run.getStartDate());
+        response.setEndDate(run.getEndDate());
+        response.setStatus(run.getStatus());
+        response.setTotalChunks(run.getTotalChunks());
+        response.setCompletedChunks(run.getCompletedChunks());
+        response.setFailedChunks(run.getFailedChunks());
+        response.setMerchants(run.getMerchants());
+        response.setOrders(run.getOrders());
+        response.setVerificationFailures(run.getVerificationFailures());
+        response.setCreatedAt(run.getCreatedAt());
+        response.setFinishedAt(run.getFinishedAt());
+        return response;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,124 @@
+package com.openecommerce.settlement.domain;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settlement Chunk Entity
+ * 结算分块：结算批次中商家ID在 [minMerchantId, maxMerchantId] 内的一段，
+ * 分块的结算结果与完成状态在同一事务中提交，作为批次的检查点
+ */
+@Entity
+@Table(name = "settlement_chunks",
+       uniqueConstraints = @UniqueConstraint(name = "uk_settlement_chunks_run_merchant",
+           columnNames = {"run_id", "min_merchant_id"}))
+@Getter
+@EqualsAndHashCode(of = "id")
+@ToString
+public class SettlementChunk {
+    
+    /**
+     * 失败原因最大长度
+     */
+    public static final int MAX_FAILURE_REASON_LENGTH = 500;
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "run_id", nullable = false)
+    private Long runId;
+    
+    @Column(name = "min_merchant_id", nullable = false)
+    private Long minMerchantId;
+    
+    @Column(name = "max_merchant_id", nullable = false)
+    private Long maxMerchantId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private SettlementChunkStatus status;
+    
+    @Column(name = "merchants", nullable = false)
+    private Integer merchants;
+    
+    @Column(name = "orders", nullable = false)
+    private Long orders;
+    
+    @Column(name = "verification_failures", nullable = false)
+    private Integer verificationFailures;
+    
+    @Column(name = "failure_reason", length = MAX_FAILURE_REASON_LENGTH)
+    private String failureReason;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    // JPA required
+    protected SettlementChunk() {}
+    
+    public SettlementChunk(Long runId, Long minMerchantId, Long maxMerchantId) {
+        if (runId == null) {
+            throw new IllegalArgumentException("Settlement run ID cannot be null");
+        }
+        if (minMerchantId == null || maxMerchantId == null || minMerchantId > maxMerchantId) {
+            throw new IllegalArgumentException("Invalid merchant ID range: [" + minMerchantId + ", " + maxMerchantId + "]");
+        }
+        
+        this.runId = runId;
+        this.minMerchantId = minMerchantId;
+        this.maxMerchantId = maxMerchantId;
+        this.status = SettlementChunkStatus.PENDING;
+        this.merchants = 0;
+        this.orders = 0L;
+        this.verificationFailures = 0;
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    /**
+     * 将商家ID [1, maxMerchantId] 按 chunkSize 拆分为连续的分块
+     */
+    public static List<SettlementChunk> plan(Long runId, long maxMerchantId, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Settlement chunk size must be positive");
+        }
+        
+        List<SettlementChunk> chunks = new ArrayList<>();
+        for (long lower = 1; lower <= maxMerchantId; lower += chunkSize) {
+            chunks.add(new SettlementChunk(runId, lower, Math.min(lower + chunkSize - 1, maxMerchantId)));
+        }
+        return chunks;
+    }
+    
+    /**
+     * 记录分块的结算结果
+     */
+    public void complete(int merchants, long orders, int verificationFailures) {
+        this.status = SettlementChunkStatus.COMPLETED;
+        this.merchants = merchants;
+        this.orders = orders;
+        this.verificationFailures = verificationFailures;
+        this.failureReason = null;
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    /**
+     * 记录分块失败，重新触发批次时会重试
+     */
+    public void fail(String reason) {
+        this.status = SettlementChunkStatus.FAILED;
+        this.failureReason = reason != null && reason.length() > MAX_FAILURE_REASON_LENGTH
+            ? reason.substring(0, MAX_FAILURE_REASON_LENGTH) : reason;
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    public boolean isCompleted() {
+        return status == SettlementChunkStatus.COMPLETED;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.openecommerce.settlement.domain;
+
+import java.util.List;
+
+/**
+ * Settlement Chunk Repository Interface
+ * 结算分块仓储接口
+ */
+public interface SettlementChunkRepository {
+    
+    /**
+     * 保存结算分块
+     */
+    SettlementChunk save(SettlementChunk chunk);
+    
+    /**
+     * 批量保存结算分块
+     */
+    List<SettlementChunk> saveAll(List<SettlementChunk> chunks);
+    
+    /**
+     * 按商家ID顺序查找结算批次的全部分块
+     */
+    List<SettlementChunk> findByRunId(Long runId);
+}
\ No newline at end of file
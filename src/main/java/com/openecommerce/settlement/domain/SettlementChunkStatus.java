@@ -0,0 +1,22 @@
+package com.openecommerce.settlement.domain;
+
+/**
+ * Settlement Chunk Status Enumeration
+ * 结算分块状态枚举
+ */
+public enum SettlementChunkStatus {
+    /**
+     * 待处理
+     */
+    PENDING,
+    
+    /**
+     * 已完成（检查点）
+     */
+    COMPLETED,
+    
+    /**
+     * 处理失败
+     */
+    FAILED
+}
\ No newline at end of file
@@ -0,0 +1,95 @@
+package com.openecommerce.settlement.domain;
+
+import com.openecommerce.shared.domain.Money;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Settlement Result Entity
+ * 商家结算结果：结算批次中每个商家每个币种一条，记录结算周期、订单数、销售额、核对时的余额和核对结果，
+ * 与所属分块的完成状态在同一事务中写入
+ */
+@Entity
+@Table(name = "settlement_results",
+       uniqueConstraints = @UniqueConstraint(name = "uk_settlement_results_run_merchant_currency",
+           columnNames = {"run_id", "merchant_id", "sales_currency"}),
+       indexes = @Index(name = "idx_settlement_results_merchant_period", columnList = "merchant_id, period_start"))
+@Getter
+@EqualsAndHashCode(of = "id")
+@ToString
+public class SettlementResult {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "run_id", nullable = false)
+    private Long runId;
+    
+    @Column(name = "merchant_id", nullable = false)
+    private Long merchantId;
+    
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+    
+    @Column(name = "period_end", nullable = false)
+    private LocalDate periodEnd;
+    
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount;
+    
+    @Embedded
+    @AttributeOverrides({
+        @AttributeOverride(name = "amount", column = @Column(name = "sales_amount")),
+        @AttributeOverride(name = "currency", column = @Column(name = "sales_currency"))
+    })
+    private Money salesAmount;
+    
+    @Embedded
+    @AttributeOverrides({
+        @AttributeOverride(name = "amount", column = @Column(name = "balance_amount")),
+        @AttributeOverride(name = "currency", column = @Column(name = "balance_currency"))
+    })
+    private Money balance;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "verification", nullable = false)
+    private SettlementVerification verification;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    // JPA required
+    protected SettlementResult() {}
+    
+    public SettlementResult(Long runId, Long merchantId, LocalDate periodStart, LocalDate periodEnd,
+                            long orderCount, Money salesAmount, Money balance, SettlementVerification verification) {
+        if (runId == null) {
+            throw new IllegalArgumentException("Settlement run ID cannot be null");
+        }
+        if (merchantId == null) {
+            throw new IllegalArgumentException("Merchant ID cannot be null");
+        }
+        if (periodStart == null || periodEnd == null || !periodStart.isBefore(periodEnd)) {
+            throw new IllegalArgumentException("Settlement period start must be before end");
+        }
+        if (salesAmount == null || balance == null || verification == null) {
+            throw new IllegalArgumentException("Sales amount, balance and verification cannot be null");
+        }
+        
+        this.runId = runId;
+        this.merchantId = merchantId;
+        this.periodStart = periodStart;
+        this.periodEnd = periodEnd;
+        this.orderCount = orderCount;
+        this.salesAmount = salesAmount;
+        this.balance = balance;
+        this.verification = verification;
+        this.createdAt = LocalDateTime.now();
+    }
+}
\ No newline at end of file
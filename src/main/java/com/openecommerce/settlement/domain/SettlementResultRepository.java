@@ -0,0 +1,21 @@
+package com.openecommerce.settlement.domain;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Settlement Result Repository Interface
+ * 商家结算结果仓储接口
+ */
+public interface SettlementResultRepository {
+    
+    /**
+     * 批量保存结算结果
+     */
+    List<SettlementResult> saveAll(List<SettlementResult> results);
+    
+    /**
+     * 按结算周期开始日期顺序查询商家周期开始于 [startDate, endDate) 内的结算结果
+     */
+    List<SettlementResult> findByMerchantId(Long merchantId, LocalDate startDate, LocalDate endDate);
+}
\ No newline at end of file
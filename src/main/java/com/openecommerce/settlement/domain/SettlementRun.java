@@ -0,0 +1,142 @@
+package com.openecommerce.settlement.domain;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Settlement Run Entity
+ * 结算批次：一个结算周期 [startDate, endDate) 对应一条记录，按商家ID拆分为若干分块逐块提交，
+ * 中断或失败后再次触发同一周期时只处理未完成的分块
+ */
+@Entity
+@Table(name = "settlement_runs",
+       uniqueConstraints = @UniqueConstraint(name = "uk_settlement_runs_period", columnNames = {"start_date", "end_date"}),
+       indexes = @Index(name = "idx_settlement_runs_status", columnList = "status"))
+@Getter
+@EqualsAndHashCode(of = "id")
+@ToString
+public class SettlementRun {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+    
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private SettlementRunStatus status;
+    
+    /**
+     * 每个分块覆盖的商家ID个数
+     */
+    @Column(name = "chunk_size", nullable = false)
+    private Integer chunkSize;
+    
+    @Column(name = "total_chunks", nullable = false)
+    private Integer totalChunks;
+    
+    @Column(name = "completed_chunks", nullable = false)
+    private Integer completedChunks;
+    
+    @Column(name = "failed_chunks", nullable = false)
+    private Integer failedChunks;
+    
+    @Column(name = "merchants", nullable = false)
+    private Integer merchants;
+    
+    @Column(name = "orders", nullable = false)
+    private Long orders;
+    
+    @Column(name = "verification_failures", nullable = false)
+    private Integer verificationFailures;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+    
+    // JPA required
+    protected SettlementRun() {}
+    
+    public SettlementRun(LocalDate startDate, LocalDate endDate, int chunkSize, int totalChunks) {
+        if (startDate == null || endDate == null || !startDate.isBefore(endDate)) {
+            throw new IllegalArgumentException("Settlement start date must be before end date");
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Settlement chunk size must be positive");
+        }
+        if (totalChunks < 0) {
+            throw new IllegalArgumentException("Settlement chunk count cannot be negative");
+        }
+        
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.status = SettlementRunStatus.RUNNING;
+        this.chunkSize = chunkSize;
+        this.totalChunks = totalChunks;
+        this.completedChunks = 0;
+        this.failedChunks = 0;
+        this.merchants = 0;
+        this.orders = 0L;
+        this.verificationFailures = 0;
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+    }
+    
+    /**
+     * 重新执行失败的批次，已完成的分块保留
+     */
+    public void restart() {
+        if (status == SettlementRunStatus.COMPLETED) {
+            throw new IllegalStateException("Settlement run already completed: " + id);
+        }
+        this.status = SettlementRunStatus.RUNNING;
+        this.finishedAt = null;
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    /**
+     * 根据全部分块的结果汇总批次，存在失败分块时批次为FAILED
+     */
+    public void finish(List<SettlementChunk> chunks) {
+        int completed = 0;
+        int failed = 0;
+        int merchantCount = 0;
+        long orderCount = 0;
+        int failures = 0;
+        for (SettlementChunk chunk : chunks) {
+            if (chunk.getStatus() == SettlementChunkStatus.COMPLETED) {
+                completed++;
+                merchantCount += chunk.getMerchants();
+                orderCount += chunk.getOrders();
+                failures += chunk.getVerificationFailures();
+            } else if (chunk.getStatus() == SettlementChunkStatus.FAILED) {
+                failed++;
+            }
+        }
+        
+        this.completedChunks = completed;
+        this.failedChunks = failed;
+        this.merchants = merchantCount;
+        this.orders = orderCount;
+        this.verificationFailures = failures;
+        this.status = completed == totalChunks ? SettlementRunStatus.COMPLETED : SettlementRunStatus.FAILED;
+        this.updatedAt = LocalDateTime.now();
+        this.finishedAt = this.updatedAt;
+    }
+}
\ No newline at end of file
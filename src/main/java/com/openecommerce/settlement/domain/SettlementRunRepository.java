@@ -0,0 +1,32 @@
+package com.openecommerce.settlement.domain;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Settlement Run Repository Interface
+ * 结算批次仓储接口
+ */
+public interface SettlementRunRepository {
+    
+    /**
+     * 保存结算批次
+     */
+    SettlementRun save(SettlementRun run);
+    
+    /**
+     * 根据ID查找结算批次
+     */
+    Optional<SettlementRun> findById(Long id);
+    
+    /**
+     * 根据结算周期查找结算批次
+     */
+    Optional<SettlementRun> findByPeriod(LocalDate startDate, LocalDate endDate);
+    
+    /**
+     * 根据状态查找结算批次
+     */
+    List<SettlementRun> findByStatus(SettlementRunStatus status);
+}
\ No newline at end of file
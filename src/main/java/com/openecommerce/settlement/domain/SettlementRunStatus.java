@@ -0,0 +1,22 @@
+package com.openecommerce.settlement.domain;
+
+/**
+ * Settlement Run Status Enumeration
+ * 结算批次状态枚举
+ */
+public enum SettlementRunStatus {
+    /**
+     * 执行中（进程中断后仍为此状态，重启时从检查点继续）
+     */
+    RUNNING,
+    
+    /**
+     * 全部分块已完成
+     */
+    COMPLETED,
+    
+    /**
+     * 存在失败的分块，可重新触发以重试失败的分块
+     */
+    FAILED
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.openecommerce.settlement.domain;
+
+/**
+ * Settlement Verification Enumeration
+ * 商家结算核对结果枚举
+ */
+public enum SettlementVerification {
+    /**
+     * 余额足以覆盖销售额
+     */
+    PASSED,
+    
+    /**
+     * 余额不足以覆盖销售额
+     */
+    FAILED,
+    
+    /**
+     * 销售币种与余额币种不同，未核对
+     */
+    CURRENCY_MISMATCH
+}
\ No newline at end of file
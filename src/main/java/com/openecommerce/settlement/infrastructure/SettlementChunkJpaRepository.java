@@ -0,0 +1,17 @@
+package com.openecommerce.settlement.infrastructure;
+
+import com.openecommerce.settlement.domain.SettlementChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Settlement Chunk JPA Repository
+ * 结算分块JPA仓储
+ */
+@Repository
+public interface SettlementChunkJpaRepository extends JpaRepository<SettlementChunk, Long> {
+    
+    List<SettlementChunk> findByRunIdOrderByMinMerchantId(Long runId);
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.openecommerce.settlement.infrastructure;
+
+import com.openecommerce.settlement.domain.SettlementChunk;
+import com.openecommerce.settlement.domain.SettlementChunkRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Settlement Chunk Repository Implementation
+ * 结算分块仓储实现
+ */
+@Component
+public class SettlementChunkRepositoryImpl implements SettlementChunkRepository {
+    
+    private final SettlementChunkJpaRepository settlementChunkJpaRepository;
+    
+    @Autowired
+    public SettlementChunkRepositoryImpl(SettlementChunkJpaRepository settlementChunkJpaRepository) {
+        this.settlementChunkJpaRepository = settlementChunkJpaRepository;
+    }
+    
+    @Override
+    public SettlementChunk save(SettlementChunk chunk) {
+        return settlementChunkJpaRepository.save(chunk);
+    }
+    
+    @Override
+    public List<SettlementChunk> saveAll(List<SettlementChunk> chunks) {
+        return settlementChunkJpaRepository.saveAll(chunks);
+    }
+    
+    @Override
+    public List<SettlementChunk> findByRunId(Long runId) {
+        return settlementChunkJpaRepository.findByRunIdOrderByMinMerchantId(runId);
+    }
+}
\ No newline at end of file
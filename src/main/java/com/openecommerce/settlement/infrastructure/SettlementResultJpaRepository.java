@@ -0,0 +1,24 @@
+package com.openecommerce.settlement.infrastructure;
+
+import com.openecommerce.settlement.domain.SettlementResult;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Settlement Result JPA Repository
+ * 商家结算结果JPA仓储
+ */
+@Repository
+public interface SettlementResultJpaRepository extends JpaRepository<SettlementResult, Long> {
+    
+    @Query("SELECT r FROM SettlementResult r WHERE r.merchantId = :merchantId " +
+           "AND r.periodStart >= :startDate AND r.periodStart < :endDate ORDER BY r.periodStart, r.id")
+    List<SettlementResult> findByMerchantIdAndPeriod(@Param("merchantId") Long merchantId,
+                                                     @Param("startDate") LocalDate startDate,
+                                                     @Param("endDate") LocalDate endDate);
+}
\ No newline at end of file
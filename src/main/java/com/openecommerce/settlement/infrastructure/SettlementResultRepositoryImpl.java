@@ -0,0 +1,34 @@
+package com.openecommerce.settlement.infrastructure;
+
+import com.openecommerce.settlement.domain.SettlementResult;
+import com.openecommerce.settlement.domain.SettlementResultRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Settlement Result Repository Implementation
+ * 商家结算结果仓储实现
+ */
+@Component
+public class SettlementResultRepositoryImpl implements SettlementResultRepository {
+    
+    private final SettlementResultJpaRepository settlementResultJpaRepository;
+    
+    @Autowired
+    public SettlementResultRepositoryImpl(SettlementResultJpaRepository settlementResultJpaRepository) {
+        this.settlementResultJpaRepository = settlementResultJpaRepository;
+    }
+    
+    @Override
+    public List<SettlementResult> saveAll(List<SettlementResult> results) {
+        return settlementResultJpaRepository.saveAll(results);
+    }
+    
+    @Override
+    public List<SettlementResult> findByMerchantId(Long merchantId, LocalDate startDate, LocalDate endDate) {
+        return settlementResultJpaRepository.findByMerchantIdAndPeriod(merchantId, startDate, endDate);
+    }
+}
\ No newline at end of file
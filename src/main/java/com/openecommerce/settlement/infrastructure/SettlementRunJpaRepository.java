@@ -0,0 +1,22 @@
+package com.openecommerce.settlement.infrastructure;
+
+import com.openecommerce.settlement.domain.SettlementRun;
+import com.openecommerce.settlement.domain.SettlementRunStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Settlement Run JPA Repository
+ * 结算批次JPA仓储
+ */
+@Repository
+public interface SettlementRunJpaRepository extends JpaRepository<SettlementRun, Long> {
+    
+    Optional<SettlementRun> findByStartDateAndEndDate(LocalDate startDate, LocalDate endDate);
+    
+    List<SettlementRun> findByStatus(SettlementRunStatus status);
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.openecommerce.settlement.infrastructure;
+
+import com.openecommerce.settlement.domain.SettlementRun;
+import com.openecommerce.settlement.domain.SettlementRunRepository;
+import com.openecommerce.settlement.domain.SettlementRunStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Settlement Run Repository Implementation
+ * 结算批次仓储实现
+ */
+@Component
+public class SettlementRunRepositoryImpl implements SettlementRunRepository {
+    
+    private final SettlementRunJpaRepository settlementRunJpaRepository;
+    
+    @Autowired
+    public SettlementRunRepositoryImpl(SettlementRunJpaRepository settlementRunJpaRepository) {
+        this.settlementRunJpaRepository = settlementRunJpaRepository;
+    }
+    
+    @Override
+    public SettlementRun save(SettlementRun run) {
+        return settlementRunJpaRepository.save(run);
+    }
+    
+    @Override
+    public Optional<SettlementRun> findById(Long id) {
+        return settlementRunJpaRepository.findById(id);
+    }
+    
+    @Override
+    public Optional<SettlementRun> findByPeriod(LocalDate startDate, LocalDate endDate) {
+        return settlementRunJpaRepository.findByStartDateAndEndDate(startDate, endDate);
+    }
+    
+    @Override
+    public List<SettlementRun> findByStatus(SettlementRunStatus status) {
+        return settlementRunJpaRepository.findByStatus(status);
+    }
+}
\ No newline at end of file
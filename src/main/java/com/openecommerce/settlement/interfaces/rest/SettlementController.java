@@ -0,0 +1,91 @@
+package com.openecommerce.settlement.interfaces.rest;
+
+import com.openecommerce.settlement.application.SettlementService;
+import com.openecommerce.settlement.application.dto.SettlementResultResponse;
+import com.openecommerce.settlement.application.dto.SettlementRunResponse;
+import com.openecommerce.settlement.domain.SettlementRunStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Settlement REST Controller
+ * 结算REST控制器
+ */
+@RestController
+@RequestMapping("/settlements")
+@Validated
+public class SettlementController {
+    
+    private final SettlementService settlementService;
+    
+    @Autowired
+    public SettlementController(SettlementService settlementService) {
+        this.settlementService = settlementService;
+    }
+    
+    /**
+     * 手动触发 [startDate, endDate) 的结算批次，未完成的批次从检查点继续。
+     * 批次在后台执行时返回202，客户端通过 GET /settlements/runs/{runId} 查询进度
+     */
+    @PostMapping("/runs")
+    public ResponseEntity<SettlementRunResponse> settle(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        try {
+            SettlementRunResponse run = settlementService.settle(startDate, endDate);
+            HttpStatus status = run.getStatus() == SettlementRunStatus.RUNNING ? HttpStatus.ACCEPTED : HttpStatus.OK;
+            return ResponseEntity.status(status).body(run);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * 查询结算批次
+     */
+    @GetMapping("/runs/{runId}")
+    public ResponseEntity<SettlementRunResponse> getRun(@PathVariable Long runId) {
+        return settlementService.getRun(runId)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * 查询商家结算周期开始于 [startDate, endDate) 内的结算结果
+     */
+    @GetMapping("/merchants/{merchantId}/results")
+    public ResponseEntity<List<SettlementResultResponse>> getResults(
+            @PathVariable Long merchantId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        try {
+            return ResponseEntity.ok(settlementService.getResults(merchantId, startDate, endDate));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * 手动结算单个商家 [startTime, endTime] 内的订单
+     */
+    @PostMapping("/merchants/{merchantId}")
+    public ResponseEntity<Void> settleMerchant(
+            @PathVariable Long merchantId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime) {
+        try {
+            settlementService.performManualSettlement(merchantId, startTime, endTime);
+            return ResponseEntity.ok().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
\ No newline at end of file
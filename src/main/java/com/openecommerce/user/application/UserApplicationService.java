@@ -6,6 +6,7 @@ import com.openecommerce.user.application.dto.UserRechargeRequest;
 import com.openecommerce.user.application.dto.UserResponse;
 import com.openecommerce.user.domain.User;
 import com.openecommerce.user.domain.UserRepository;
+import com.openecommerce.user.domain.UserWalletEntry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,10 +22,12 @@ import java.util.Optional;
 public class UserApplicationService {
     
     private final UserRepository userRepository;
+    private final UserWalletService userWalletService;
     
     @Autowired
-    public UserApplicationService(UserRepository userRepository) {
+    public UserApplicationService(UserRepository userRepository, UserWalletService userWalletService) {
         this.userRepository = userRepository;
+        this.userWalletService = userWalletService;
     }
     
     /**
@@ -55,10 +58,9 @@ public class UserApplicationService {
             .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
         
         Money rechargeAmount = Money.of(request.getAmount(), request.getCurrency());
-        user.recharge(rechargeAmount);
+        userWalletService.credit(user, rechargeAmount, UserWalletEntry.RECHARGE_ACCOUNT, null);
         
-        User savedUser = userRepository.save(user);
-        return UserResponse.from(savedUser);
+        return UserResponse.from(user);
     }
     
     /**
@@ -0,0 +1,98 @@
+package com.openecommerce.user.application;
+
+import com.openecommerce.shared.domain.Money;
+import com.openecommerce.user.domain.User;
+import com.openecommerce.user.domain.UserRepository;
+import com.openecommerce.user.domain.UserWalletEntry;
+import com.openecommerce.user.domain.UserWalletEntryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * User Wallet Service
+ * 用户钱包服务：充值和支付只追加钱包流水、不更新用户行。
+ * 入账直接追加；出账先对用户行加锁再校验余额，保证同一用户的并发支付不会透支。
+ * 余额快照由定期任务汇总流水后更新
+ */
+@Service
+@Transactional
+public class UserWalletService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(UserWalletService.class);
+    
+    private final UserRepository userRepository;
+    private final UserWalletEntryRepository userWalletEntryRepository;
+    
+    @Autowired
+    public UserWalletService(UserRepository userRepository,
+                             UserWalletEntryRepository userWalletEntryRepository) {
+        this.userRepository = userRepository;
+        this.userWalletEntryRepository = userWalletEntryRepository;
+    }
+    
+    /**
+     * 入账（如充值）
+     */
+    public void credit(User user, Money amount, String contraAccount, String reference) {
+        user.credit(amount);
+        userWalletEntryRepository.appendAll(Collections.singletonList(
+            UserWalletEntry.credit(user.getId(), amount, contraAccount, reference)));
+    }
+    
+    /**
+     * 出账（如订单支付）：同一用户的多笔出账流水一次校验、一次写入，余额不足时抛出IllegalStateException
+     */
+    public void debit(User user, List<UserWalletEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        
+        Money total = null;
+        for (UserWalletEntry entry : entries) {
+            if (!user.getId().equals(entry.getUserId())) {
+                throw new IllegalArgumentException("Wallet entry does not belong to user: " + user.getId());
+            }
+            total = total == null ? entry.getAmount() : total.add(entry.getAmount());
+        }
+        
+        // 加锁并刷新，以最新的余额快照和流水校验余额
+        userRepository.lockForUpdate(user);
+        user.debit(total);
+        userWalletEntryRepository.appendAll(entries);
+    }
+    
+    /**
+     * 定期刷新余额快照：认领所有未汇总的流水，按用户合计后一次性计入余额
+     */
+    @Scheduled(fixedDelayString = "${business.user.wallet.snapshot-interval-ms:5000}")
+    public void refreshSnapshots() {
+        String snapshotBatch = UUID.randomUUID().toString();
+        int claimed = userWalletEntryRepository.claimPending(snapshotBatch);
+        if (claimed == 0) {
+            return;
+        }
+        
+        Map<Long, BigDecimal> amounts = userWalletEntryRepository.sumBySnapshotBatch(snapshotBatch);
+        List<User> users = new ArrayList<>(userRepository.findByIdIn(amounts.keySet()));
+        // 按用户ID顺序加锁，与出账路径一致
+        users.sort(Comparator.comparing(User::getId));
+        for (User user : users) {
+            userRepository.lockForUpdate(user);
+            user.applySnapshotDelta(amounts.get(user.getId()));
+            userRepository.save(user);
+        }
+        logger.debug("Refreshed balance snapshots from {} wallet entries for {} users", claimed, amounts.size());
+    }
+}
\ No newline at end of file
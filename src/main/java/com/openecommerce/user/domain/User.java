@@ -6,6 +6,7 @@ import lombok.Getter;
 import lombok.ToString;
 
 import javax.persistence.*;
+import java.math.BigDecimal;
 
 /**
  * User Aggregate Root
@@ -30,6 +31,12 @@ public class User extends AggregateRoot {
     })
     private Money balance;
     
+    /**
+     * 钱包流水中尚未汇总到余额快照的净变化（仓储加载时填充，不持久化）
+     */
+    @Transient
+    private BigDecimal pendingBalanceDelta;
+    
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
     private UserStatus status;
@@ -91,11 +98,84 @@ public class User extends AggregateRoot {
         this.balance = this.balance.subtract(amount);
     }
     
+    /**
+     * 钱包入账：校验后计入待汇总的净变化，余额快照由快照任务更新
+     */
+    public void credit(Money amount) {
+        if (amount == null) {
+            throw new IllegalArgumentException("Recharge amount cannot be null");
+        }
+        if (amount.isZero()) {
+            throw new IllegalArgumentException("Recharge amount must be greater than zero");
+        }
+        if (this.status != UserStatus.ACTIVE) {
+            throw new IllegalStateException("Cannot recharge to inactive user account");
+        }
+        
+        if (!this.balance.getCurrency().equals(amount.getCurrency())) {
+            throw new IllegalArgumentException(
+                String.format("货币类型不匹配: %s vs %s", this.balance.getCurrency(), amount.getCurrency()));
+        }
+        
+        this.pendingBalanceDelta = getPendingBalanceDelta().add(amount.getAmount());
+    }
+    
+    /**
+     * 钱包出账：校验余额（快照加待汇总变化）后计入待汇总的净变化
+     */
+    public void debit(Money amount) {
+        if (amount == null) {
+            throw new IllegalArgumentException("Deduct amount cannot be null");
+        }
+        if (amount.isZero()) {
+            throw new IllegalArgumentException("Deduct amount must be greater than zero");
+        }
+        if (this.status != UserStatus.ACTIVE) {
+            throw new IllegalStateException("Cannot deduct from inactive user account");
+        }
+        if (getBalance().isLessThan(amount)) {
+            throw new IllegalStateException("Insufficient balance");
+        }
+        
+        this.pendingBalanceDelta = getPendingBalanceDelta().subtract(amount.getAmount());
+    }
+    
+    /**
+     * 钱包流水中尚未汇总的净变化
+     */
+    public BigDecimal getPendingBalanceDelta() {
+        return pendingBalanceDelta != null ? pendingBalanceDelta : BigDecimal.ZERO;
+    }
+    
+    /**
+     * 设置钱包流水中尚未汇总的净变化
+     */
+    public void applyPendingBalanceDelta(BigDecimal delta) {
+        this.pendingBalanceDelta = delta;
+    }
+    
+    /**
+     * 将已汇总的钱包流水计入余额快照
+     */
+    public void applySnapshotDelta(BigDecimal delta) {
+        this.balance = new Money(this.balance.getAmount().add(delta), this.balance.getCurrency());
+    }
+    
+    /**
+     * 获取当前余额：余额快照加尚未汇总的钱包流水
+     */
+    public Money getBalance() {
+        if (getPendingBalanceDelta().signum() == 0) {
+            return this.balance;
+        }
+        return new Money(this.balance.getAmount().add(pendingBalanceDelta), this.balance.getCurrency());
+    }
+    
     /**
      * 检查是否有足够余额
      */
     public boolean hasEnoughBalance(Money amount) {
-        return this.balance.isGreaterThanOrEqual(amount);
+        return getBalance().isGreaterThanOrEqual(amount);
     }
     
     /**
@@ -1,5 +1,7 @@
 package com.openecommerce.user.domain;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -18,6 +20,16 @@ public interface UserRepository {
      */
     Optional<User> findById(Long id);
     
+    /**
+     * 根据ID批量查找用户
+     */
+    List<User> findByIdIn(Collection<Long> ids);
+    
+    /**
+     * 对用户行加悲观写锁并从数据库刷新（用于钱包出账时串行化同一用户的余额校验）
+     */
+    void lockForUpdate(User user);
+    
     /**
      * 根据用户名查找用户
      */
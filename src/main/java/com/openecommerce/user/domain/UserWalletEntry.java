@@ -0,0 +1,111 @@
+package com.openecommerce.user.domain;
+
+import com.openecommerce.shared.domain.Money;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * User Wallet Entry Entity
+ * 用户钱包流水（只追加，复式记账）：每条流水记录用户钱包一方和对方账户，
+ * 由快照任务定期汇总到用户余额
+ */
+@Entity
+@Table(name = "user_wallet_entries",
+       indexes = @Index(name = "idx_user_wallet_entries_user_batch", columnList = "user_id, snapshot_batch"))
+@Getter
+@EqualsAndHashCode(of = "id")
+@ToString
+public class UserWalletEntry {
+    
+    /**
+     * 充值的对方账户
+     */
+    public static final String RECHARGE_ACCOUNT = "EXTERNAL:RECHARGE";
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false, length = 10)
+    private WalletEntryType type;
+    
+    @Embedded
+    @AttributeOverrides({
+        @AttributeOverride(name = "amount", column = @Column(name = "amount")),
+        @AttributeOverride(name = "currency", column = @Column(name = "currency"))
+    })
+    private Money amount;
+    
+    /**
+     * 对方账户，如 EXTERNAL:RECHARGE、MERCHANT:1
+     */
+    @Column(name = "contra_account", nullable = false, length = 50)
+    private String contraAccount;
+    
+    /**
+     * 业务单号，如订单号
+     */
+    @Column(name = "reference", length = 50)
+    private String reference;
+    
+    /**
+     * 快照批次号，为空表示尚未汇总到用户余额
+     */
+    @Column(name = "snapshot_batch", length = 36)
+    private String snapshotBatch;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    // JPA required
+    protected UserWalletEntry() {}
+    
+    private UserWalletEntry(Long userId, WalletEntryType type, Money amount, String contraAccount, String reference) {
+        if (userId == null) {
+            throw new IllegalArgumentException("User ID cannot be null");
+        }
+        if (amount == null || amount.isZero()) {
+            throw new IllegalArgumentException("Entry amount must be greater than zero");
+        }
+        if (contraAccount == null || contraAccount.trim().isEmpty()) {
+            throw new IllegalArgumentException("Contra account cannot be null or empty");
+        }
+        
+        this.userId = userId;
+        this.type = type;
+        this.amount = amount;
+        this.contraAccount = contraAccount;
+        this.reference = reference;
+        this.createdAt = LocalDateTime.now();
+    }
+    
+    /**
+     * 入账流水
+     */
+    public static UserWalletEntry credit(Long userId, Money amount, String contraAccount, String reference) {
+        return new UserWalletEntry(userId, WalletEntryType.CREDIT, amount, contraAccount, reference);
+    }
+    
+    /**
+     * 出账流水
+     */
+    public static UserWalletEntry debit(Long userId, Money amount, String contraAccount, String reference) {
+        return new UserWalletEntry(userId, WalletEntryType.DEBIT, amount, contraAccount, reference);
+    }
+    
+    /**
+     * 对用户余额的影响（入账为正，出账为负）
+     */
+    public BigDecimal getSignedAmount() {
+        return type == WalletEntryType.CREDIT ? amount.getAmount() : amount.getAmount().negate();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.openecommerce.user.domain;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * User Wallet Entry Repository Interface
+ * 用户钱包流水仓储接口
+ */
+public interface UserWalletEntryRepository {
+    
+    /**
+     * 批量追加钱包流水
+     */
+    void appendAll(List<UserWalletEntry> entries);
+    
+    /**
+     * 汇总用户尚未计入快照的净变化（用户ID -> 金额，入账为正、出账为负）
+     */
+    Map<Long, BigDecimal> sumPendingByUserIdIn(Collection<Long> userIds);
+    
+    /**
+     * 将所有尚未汇总的流水标记为指定批次，返回认领的条数
+     */
+    int claimPending(String snapshotBatch);
+    
+    /**
+     * 按用户汇总指定批次的净变化（用户ID -> 金额）
+     */
+    Map<Long, BigDecimal> sumBySnapshotBatch(String snapshotBatch);
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.openecommerce.user.domain;
+
+/**
+ * Wallet Entry Type Enumeration
+ * 钱包流水类型枚举
+ */
+public enum WalletEntryType {
+    /**
+     * 入账（充值等）
+     */
+    CREDIT,
+    
+    /**
+     * 出账（下单支付等）
+     */
+    DEBIT
+}
\ No newline at end of file
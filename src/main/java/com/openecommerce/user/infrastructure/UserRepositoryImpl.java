@@ -2,9 +2,17 @@ package com.openecommerce.user.infrastructure;
 
 import com.openecommerce.user.domain.User;
 import com.openecommerce.user.domain.UserRepository;
+import com.openecommerce.user.domain.UserWalletEntryRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -15,10 +23,16 @@ import java.util.Optional;
 public class UserRepositoryImpl implements UserRepository {
     
     private final UserJpaRepository userJpaRepository;
+    private final UserWalletEntryRepository userWalletEntryRepository;
+    private final EntityManager entityManager;
     
     @Autowired
-    public UserRepositoryImpl(UserJpaRepository userJpaRepository) {
+    public UserRepositoryImpl(UserJpaRepository userJpaRepository,
+                              UserWalletEntryRepository userWalletEntryRepository,
+                              EntityManager entityManager) {
         this.userJpaRepository = userJpaRepository;
+        this.userWalletEntryRepository = userWalletEntryRepository;
+        this.entityManager = entityManager;
     }
     
     @Override
@@ -28,17 +42,37 @@ public class UserRepositoryImpl implements UserRepository {
     
     @Override
     public Optional<User> findById(Long id) {
-        return userJpaRepository.findById(id);
+        return userJpaRepository.findById(id).map(this::withPendingBalance);
+    }
+    
+    @Override
+    public List<User> findByIdIn(Collection<Long> ids) {
+        List<User> users = userJpaRepository.findAllById(ids);
+        if (users.isEmpty()) {
+            return users;
+        }
+        
+        Map<Long, BigDecimal> pending = userWalletEntryRepository.sumPendingByUserIdIn(ids);
+        for (User user : users) {
+            user.applyPendingBalanceDelta(pending.getOrDefault(user.getId(), BigDecimal.ZERO));
+        }
+        return users;
+    }
+    
+    @Override
+    public void lockForUpdate(User user) {
+        entityManager.refresh(user, LockModeType.PESSIMISTIC_WRITE);
+        withPendingBalance(user);
     }
     
     @Override
     public Optional<User> findByUsername(String username) {
-        return userJpaRepository.findByUsername(username);
+        return userJpaRepository.findByUsername(username).map(this::withPendingBalance);
     }
     
     @Override
     public Optional<User> findByEmail(String email) {
-        return userJpaRepository.findByEmail(email);
+        return userJpaRepository.findByEmail(email).map(this::withPendingBalance);
     }
     
     @Override
@@ -50,4 +84,13 @@ public class UserRepositoryImpl implements UserRepository {
     public boolean existsByEmail(String email) {
         return userJpaRepository.existsByEmail(email);
     }
+    
+    /**
+     * 叠加钱包流水中尚未汇总到余额快照的净变化
+     */
+    private User withPendingBalance(User user) {
+        Map<Long, BigDecimal> pending = userWalletEntryRepository.sumPendingByUserIdIn(Collections.singleton(user.getId()));
+        user.applyPendingBalanceDelta(pending.getOrDefault(user.getId(), BigDecimal.ZERO));
+        return user;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.openecommerce.user.infrastructure;
+
+import com.openecommerce.user.domain.UserWalletEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * User Wallet Entry JPA Repository
+ * 用户钱包流水JPA仓储
+ */
+@Repository
+public interface UserWalletEntryJpaRepository extends JpaRepository<UserWalletEntry, Long> {
+    
+    @Query("SELECT e.userId, e.type, SUM(e.amount.amount) FROM UserWalletEntry e " +
+           "WHERE e.userId IN :userIds AND e.snapshotBatch IS NULL GROUP BY e.userId, e.type")
+    List<Object[]> sumPendingByUserIdIn(@Param("userIds") Collection<Long> userIds);
+    
+    @Modifying
+    @Query("UPDATE UserWalletEntry e SET e.snapshotBatch = :snapshotBatch WHERE e.snapshotBatch IS NULL")
+    int claimPending(@Param("snapshotBatch") String snapshotBatch);
+    
+    @Query("SELECT e.userId, e.type, SUM(e.amount.amount) FROM UserWalletEntry e " +
+           "WHERE e.snapshotBatch = :snapshotBatch GROUP BY e.userId, e.type")
+    List<Object[]> sumBySnapshotBatch(@Param("snapshotBatch") String snapshotBatch);
+}
\ No newline at end of file
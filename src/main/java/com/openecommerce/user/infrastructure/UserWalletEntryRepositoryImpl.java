@@ -0,0 +1,85 @@
+package com.openecommerce.user.infrastructure;
+
+import com.openecommerce.user.domain.UserWalletEntry;
+import com.openecommerce.user.domain.UserWalletEntryRepository;
+import com.openecommerce.user.domain.WalletEntryType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * User Wallet Entry Repository Implementation
+ * 用户钱包流水仓储实现
+ */
+@Component
+public class UserWalletEntryRepositoryImpl implements UserWalletEntryRepository {
+    
+    private static final String INSERT_ENTRY_SQL =
+        "INSERT INTO user_wallet_entries (user_id, entry_type, amount, currency, contra_account, reference, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    
+    private final UserWalletEntryJpaRepository userWalletEntryJpaRepository;
+    private final JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    public UserWalletEntryRepositoryImpl(UserWalletEntryJpaRepository userWalletEntryJpaRepository,
+                                         JdbcTemplate jdbcTemplate) {
+        this.userWalletEntryJpaRepository = userWalletEntryJpaRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    @Override
+    public void appendAll(List<UserWalletEntry> entries) {
+        List<Object[]> rows = new ArrayList<>(entries.size());
+        for (UserWalletEntry entry : entries) {
+            rows.add(new Object[] {
+                entry.getUserId(), entry.getType().name(), entry.getAmount().getAmount(),
+                entry.getAmount().getCurrency(), entry.getContraAccount(), entry.getReference(),
+                Timestamp.valueOf(entry.getCreatedAt())
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_ENTRY_SQL, rows);
+    }
+    
+    @Override
+    public Map<Long, BigDecimal> sumPendingByUserIdIn(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return netAmounts(userWalletEntryJpaRepository.sumPendingByUserIdIn(userIds));
+    }
+    
+    @Override
+    public int claimPending(String snapshotBatch) {
+        return userWalletEntryJpaRepository.claimPending(snapshotBatch);
+    }
+    
+    @Override
+    public Map<Long, BigDecimal> sumBySnapshotBatch(String snapshotBatch) {
+        return netAmounts(userWalletEntryJpaRepository.sumBySnapshotBatch(snapshotBatch));
+    }
+    
+    /**
+     * 将按用户和流水类型分组的合计折算为净变化
+     */
+    private Map<Long, BigDecimal> netAmounts(List<Object[]> rows) {
+        Map<Long, BigDecimal> amounts = new HashMap<>();
+        for (Object[] row : rows) {
+            BigDecimal amount = (BigDecimal) row[2];
+            if (row[1] == WalletEntryType.DEBIT) {
+                amount = amount.negate();
+            }
+            amounts.merge((Long) row[0], amount, BigDecimal::add);
+        }
+        return amounts;
+    }
+}
\ No newline at end of file
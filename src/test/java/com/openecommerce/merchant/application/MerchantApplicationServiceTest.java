@@ -30,6 +30,9 @@ public class MerchantApplicationServiceTest {
     @Mock
     private MerchantRepository merchantRepository;
 
+    @Mock
+    private MerchantRevenueLedgerService merchantRevenueLedgerService;
+
     @InjectMocks
     private MerchantApplicationService merchantApplicationService;
 
@@ -86,6 +89,7 @@ public class MerchantApplicationServiceTest {
     public void testGetMerchantById_Success() {
         // Given
         when(merchantRepository.findById(anyLong())).thenReturn(Optional.of(mockMerchant));
+        when(merchantRevenueLedgerService.getCurrentBalance(mockMerchant)).thenReturn(mockMerchant.getBalance());
 
         // When
         Optional<MerchantResponse> result = merchantApplicationService.getMerchantById(1L);
@@ -97,6 +101,22 @@ public class MerchantApplicationServiceTest {
         verify(merchantRepository).findById(1L);
     }
 
+    @Test
+    public void testGetMerchantById_IncludesPendingRevenue() {
+        // Given
+        when(merchantRepository.findById(anyLong())).thenReturn(Optional.of(mockMerchant));
+        when(merchantRevenueLedgerService.getCurrentBalance(mockMerchant))
+            .thenReturn(new Money(new BigDecimal("300.00"), "CNY"));
+
+        // When
+        Optional<MerchantResponse> result = merchantApplicationService.getMerchantById(1L);
+
+        // Then
+        assertTrue(result.isPresent());
+        assertEquals(new BigDecimal("300.00"), result.get().getBalanceAmount());
+        assertEquals("CNY", result.get().getBalanceCurrency());
+    }
+
     @Test
     public void testGetMerchantById_NotFound() {
         // Given
@@ -114,6 +134,7 @@ public class MerchantApplicationServiceTest {
     public void testGetMerchantByEmail_Success() {
         // Given
         when(merchantRepository.findByEmail(anyString())).thenReturn(Optional.of(mockMerchant));
+        when(merchantRevenueLedgerService.getCurrentBalance(mockMerchant)).thenReturn(mockMerchant.getBalance());
 
         // When
         Optional<MerchantResponse> result = merchantApplicationService.getMerchantByEmail("merchant@example.com");
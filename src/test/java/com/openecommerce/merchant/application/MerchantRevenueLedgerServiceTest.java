@@ -0,0 +1,140 @@
+package com.openecommerce.merchant.application;
+
+import com.openecommerce.merchant.domain.Merchant;
+import com.openecommerce.merchant.domain.MerchantRepository;
+import com.openecommerce.merchant.domain.MerchantRevenueEntry;
+import com.openecommerce.merchant.domain.MerchantRevenueEntryRepository;
+import com.openecommerce.shared.domain.Money;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MerchantRevenueLedgerService
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class MerchantRevenueLedgerServiceTest {
+
+    @Mock
+    private MerchantRepository merchantRepository;
+
+    @Mock
+    private MerchantRevenueEntryRepository merchantRevenueEntryRepository;
+
+    @InjectMocks
+    private MerchantRevenueLedgerService merchantRevenueLedgerService;
+
+    private Merchant merchant;
+
+    @Before
+    public void setUp() {
+        merchant = new Merchant("Test Merchant", "merchant@example.com", "1234567890",
+            new Money(new BigDecimal("100.00"), "CNY"));
+        ReflectionTestUtils.setField(merchant, "id", 1L);
+    }
+
+    @Test
+    public void testRecordRevenue_AppendsEntryWithoutTouchingMerchant() {
+        // Given
+        Money amount = new Money(new BigDecimal("50.00"), "CNY");
+
+        // When
+        merchantRevenueLedgerService.recordRevenue(merchant, 10L, amount);
+
+        // Then
+        ArgumentCaptor<MerchantRevenueEntry> captor = ArgumentCaptor.forClass(MerchantRevenueEntry.class);
+        verify(merchantRevenueEntryRepository).append(captor.capture());
+        assertEquals(Long.valueOf(1L), captor.getValue().getMerchantId());
+        assertEquals(Long.valueOf(10L), captor.getValue().getOrderId());
+        assertEquals(amount, captor.getValue().getAmount());
+        assertEquals(new BigDecimal("100.00"), merchant.getBalance().getAmount());
+        verify(merchantRepository, never()).save(any(Merchant.class));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testRecordRevenue_InactiveMerchant() {
+        // Given
+        merchant.suspend();
+
+        // When
+        merchantRevenueLedgerService.recordRevenue(merchant, 10L, new Money(new BigDecimal("50.00"), "CNY"));
+
+        // Then - exception expected
+    }
+
+    @Test
+    public void testGetCurrentBalance_AddsPendingRevenue() {
+        // Given
+        when(merchantRevenueEntryRepository.sumPendingAmount(1L)).thenReturn(new BigDecimal("25.50"));
+
+        // When
+        Money balance = merchantRevenueLedgerService.getCurrentBalance(merchant);
+
+        // Then
+        assertEquals(new Money(new BigDecimal("125.50"), "CNY"), balance);
+    }
+
+    @Test
+    public void testGetCurrentBalances_OneQueryForAllMerchants() {
+        // Given
+        Merchant idle = new Merchant("Idle Merchant", "idle@example.com", "1234567891",
+            new Money(new BigDecimal("10.00"), "CNY"));
+        ReflectionTestUtils.setField(idle, "id", 2L);
+        when(merchantRevenueEntryRepository.sumPendingAmountByMerchantIdIn(Arrays.asList(1L, 2L)))
+            .thenReturn(Collections.singletonMap(1L, new BigDecimal("25.50")));
+
+        // When
+        Map<Long, Money> balances = merchantRevenueLedgerService.getCurrentBalances(Arrays.asList(merchant, idle));
+
+        // Then
+        assertEquals(new Money(new BigDecimal("125.50"), "CNY"), balances.get(1L));
+        assertEquals(new Money(new BigDecimal("10.00"), "CNY"), balances.get(2L));
+        verify(merchantRevenueEntryRepository, never()).sumPendingAmount(anyLong());
+    }
+
+    @Test
+    public void testRollUp_AppliesClaimedEntriesOncePerMerchant() {
+        // Given
+        when(merchantRevenueEntryRepository.claimPending(anyString())).thenReturn(3);
+        when(merchantRevenueEntryRepository.sumAmountByRollupBatch(anyString()))
+            .thenReturn(Collections.singletonMap(1L, new BigDecimal("75.00")));
+        when(merchantRepository.findByIdIn(Collections.singleton(1L))).thenReturn(Collections.singletonList(merchant));
+
+        // When
+        merchantRevenueLedgerService.rollUp();
+
+        // Then
+        ArgumentCaptor<String> batch = ArgumentCaptor.forClass(String.class);
+        verify(merchantRevenueEntryRepository).claimPending(batch.capture());
+        verify(merchantRevenueEntryRepository).sumAmountByRollupBatch(batch.getValue());
+        assertEquals(new BigDecimal("175.00"), merchant.getBalance().getAmount());
+        verify(merchantRepository, times(1)).save(merchant);
+    }
+
+    @Test
+    public void testRollUp_NothingPending() {
+        // Given
+        when(merchantRevenueEntryRepository.claimPending(anyString())).thenReturn(0);
+
+        // When
+        merchantRevenueLedgerService.rollUp();
+
+        // Then
+        verify(merchantRevenueEntryRepository, never()).sumAmountByRollupBatch(anyString());
+        verify(merchantRepository, never()).save(any(Merchant.class));
+    }
+}
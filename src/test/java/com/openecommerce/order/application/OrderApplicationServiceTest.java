@@ -1,29 +1,46 @@
 package com.openecommerce.order.application;
 
+import com.openecommerce.merchant.application.MerchantRevenueLedgerService;
 import com.openecommerce.merchant.domain.Merchant;
 import com.openecommerce.merchant.domain.MerchantRepository;
 import com.openecommerce.order.application.dto.CreateOrderRequest;
 import com.openecommerce.order.application.dto.OrderItemRequest;
+import com.openecommerce.order.application.dto.OrderPageResponse;
 import com.openecommerce.order.application.dto.OrderResponse;
+import com.openecommerce.order.application.dto.OrderSearchRequest;
+import com.openecommerce.order.application.dto.SubmissionStatus;
+import com.openecommerce.order.domain.MerchantDailySalesRepository;
 import com.openecommerce.order.domain.Order;
+import com.openecommerce.order.domain.OrderCursor;
+import com.openecommerce.order.domain.OrderNumberGenerator;
 import com.openecommerce.order.domain.OrderRepository;
+import com.openecommerce.order.domain.OrderStatus;
+import com.openecommerce.product.application.InventoryService;
 import com.openecommerce.product.domain.Product;
 import com.openecommerce.product.domain.ProductRepository;
+import com.openecommerce.product.domain.ProductStatus;
 import com.openecommerce.shared.domain.Money;
+import com.openecommerce.user.application.UserWalletService;
 import com.openecommerce.user.domain.User;
 import com.openecommerce.user.domain.UserRepository;
+import com.openecommerce.user.domain.UserStatus;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -48,6 +65,27 @@ public class OrderApplicationServiceTest {
     @Mock
     private MerchantRepository merchantRepository;
 
+    @Mock
+    private InventoryService inventoryService;
+
+    @Mock
+    private OrderNumberGenerator orderNumberGenerator;
+
+    @Mock
+    private MerchantRevenueLedgerService merchantRevenueLedgerService;
+
+    @Mock
+    private UserWalletService userWalletService;
+
+    @Mock
+    private OrderQueryRepository orderQueryRepository;
+
+    @Mock
+    private OrderSearchIndex orderSearchIndex;
+
+    @Mock
+    private MerchantDailySalesRepository merchantDailySalesRepository;
+
     @InjectMocks
     private OrderApplicationService orderApplicationService;
 
@@ -75,9 +113,16 @@ public class OrderApplicationServiceTest {
         lenient().when(mockProduct.getName()).thenReturn("Test Product");
         lenient().when(mockProduct.getPrice()).thenReturn(new Money(new BigDecimal("100.00"), "CNY"));
         lenient().when(mockProduct.getMerchantId()).thenReturn(1L);
-        lenient().when(mockProduct.hasEnoughStock(anyInt())).thenReturn(true);
+        lenient().when(mockProduct.getStatus()).thenReturn(ProductStatus.ACTIVE);
         lenient().when(mockProduct.calculateTotalPrice(anyInt())).thenReturn(new Money(new BigDecimal("200.00"), "CNY"));
 
+        // Setup inventory
+        lenient().when(inventoryService.hasEnoughStock(any(Product.class), anyInt())).thenReturn(true);
+
+        // Setup order numbers
+        AtomicLong sequence = new AtomicLong();
+        lenient().when(orderNumberGenerator.nextOrderNumber()).thenAnswer(invocation -> "ORD" + sequence.incrementAndGet());
+
         // Setup mock order
         mockOrder = mock(Order.class);
         lenient().when(mockOrder.getTotalAmount()).thenReturn(new Money(new BigDecimal("200.00"), "CNY"));
@@ -97,8 +142,9 @@ public class OrderApplicationServiceTest {
     public void testCreateAndProcessOrder_Success() {
         // Given
         when(userRepository.findById(1L)).thenReturn(Optional.of(mockUser));
-        when(productRepository.findBySku("SKU001")).thenReturn(Optional.of(mockProduct));
+        when(productRepository.findBySkuIn(anyCollection())).thenReturn(Arrays.asList(mockProduct));
         when(merchantRepository.findById(1L)).thenReturn(Optional.of(mockMerchant));
+        when(inventoryService.deductStock(mockProduct, 2)).thenReturn(true);
         when(orderRepository.save(any(Order.class))).thenReturn(mockOrder);
 
         // When
@@ -107,12 +153,50 @@ public class OrderApplicationServiceTest {
         // Then
         assertNotNull(result);
         verify(userRepository).findById(1L);
-        verify(productRepository, times(3)).findBySku("SKU001");
+        verify(productRepository).findBySkuIn(Collections.singleton("SKU001"));
+        verify(productRepository, never()).findBySku(anyString());
         verify(merchantRepository).findById(1L);
         verify(orderRepository).save(any(Order.class));
-        verify(userRepository).save(mockUser);
-        verify(merchantRepository).save(mockMerchant);
-        verify(productRepository).save(mockProduct);
+        verify(userWalletService).debit(eq(mockUser), argThat(entries -> entries.size() == 1));
+        verify(userRepository, never()).save(any(User.class));
+        verify(merchantRevenueLedgerService).recordRevenue(eq(mockMerchant), any(), any(Money.class));
+        verify(merchantRepository, never()).save(any(Merchant.class));
+        verify(inventoryService).deductStock(mockProduct, 2);
+        verify(productRepository, never()).save(any(Product.class));
+        verify(orderQueryRepository).saveAll(Collections.singletonList(result));
+        verify(merchantDailySalesRepository).addCompletedOrders(argThat(orders -> orders.size() == 1));
+        verify(orderSearchIndex).indexAfterCommit(Collections.singletonList(result));
+    }
+
+    @Test
+    public void testCreateAndProcessOrder_MultipleItemsResolvedInOneLookup() {
+        // Given
+        Product anotherProduct = mock(Product.class);
+        when(anotherProduct.getSku()).thenReturn("SKU002");
+        when(anotherProduct.getName()).thenReturn("Another Product");
+        when(anotherProduct.getPrice()).thenReturn(new Money(new BigDecimal("50.00"), "CNY"));
+        when(anotherProduct.getMerchantId()).thenReturn(1L);
+        when(anotherProduct.calculateTotalPrice(anyInt())).thenReturn(new Money(new BigDecimal("50.00"), "CNY"));
+
+        OrderItemRequest anotherItem = new OrderItemRequest();
+        anotherItem.setSku("SKU002");
+        anotherItem.setQuantity(1);
+        createOrderRequest.setItems(Arrays.asList(orderItemRequest, anotherItem));
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(mockUser));
+        when(productRepository.findBySkuIn(anyCollection())).thenReturn(Arrays.asList(mockProduct, anotherProduct));
+        when(merchantRepository.findById(1L)).thenReturn(Optional.of(mockMerchant));
+        when(inventoryService.deductStock(any(Product.class), anyInt())).thenReturn(true);
+        when(orderRepository.save(any(Order.class))).thenReturn(mockOrder);
+
+        // When
+        orderApplicationService.createAndProcessOrder(createOrderRequest);
+
+        // Then
+        verify(productRepository, times(1)).findBySkuIn(anyCollection());
+        verify(productRepository, never()).findBySku(anyString());
+        verify(inventoryService).deductStock(mockProduct, 2);
+        verify(inventoryService).deductStock(anotherProduct, 1);
     }
 
     @Test(expected = IllegalArgumentException.class)
@@ -128,7 +212,7 @@ public class OrderApplicationServiceTest {
     public void testCreateAndProcessOrder_ProductNotFound() {
         // Given
         when(userRepository.findById(1L)).thenReturn(Optional.of(mockUser));
-        when(productRepository.findBySku("SKU001")).thenReturn(Optional.empty());
+        when(productRepository.findBySkuIn(anyCollection())).thenReturn(Collections.emptyList());
 
         // When
         orderApplicationService.createAndProcessOrder(createOrderRequest);
@@ -138,7 +222,7 @@ public class OrderApplicationServiceTest {
     public void testCreateAndProcessOrder_MerchantNotFound() {
         // Given
         when(userRepository.findById(1L)).thenReturn(Optional.of(mockUser));
-        when(productRepository.findBySku("SKU001")).thenReturn(Optional.of(mockProduct));
+        when(productRepository.findBySkuIn(anyCollection())).thenReturn(Arrays.asList(mockProduct));
         when(merchantRepository.findById(1L)).thenReturn(Optional.empty());
 
         // When
@@ -149,19 +233,40 @@ public class OrderApplicationServiceTest {
     public void testCreateAndProcessOrder_InsufficientStock() {
         // Given
         when(userRepository.findById(1L)).thenReturn(Optional.of(mockUser));
-        when(productRepository.findBySku("SKU001")).thenReturn(Optional.of(mockProduct));
+        when(productRepository.findBySkuIn(anyCollection())).thenReturn(Arrays.asList(mockProduct));
         when(merchantRepository.findById(1L)).thenReturn(Optional.of(mockMerchant));
-        when(mockProduct.hasEnoughStock(anyInt())).thenReturn(false);
+        when(inventoryService.hasEnoughStock(mockProduct, 2)).thenReturn(false);
 
         // When
         orderApplicationService.createAndProcessOrder(createOrderRequest);
     }
 
+    @Test
+    public void testCreateAndProcessOrder_StockSoldOutConcurrently() {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(mockUser));
+        when(productRepository.findBySkuIn(anyCollection())).thenReturn(Arrays.asList(mockProduct));
+        when(merchantRepository.findById(1L)).thenReturn(Optional.of(mockMerchant));
+        when(inventoryService.deductStock(mockProduct, 2)).thenReturn(false);
+
+        // When
+        try {
+            orderApplicationService.createAndProcessOrder(createOrderRequest);
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            // Then
+            assertTrue(e.getMessage().contains("SKU001"));
+        }
+        verify(userWalletService, never()).debit(any(User.class), anyList());
+        verify(merchantRepository, never()).save(any(Merchant.class));
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
     @Test(expected = IllegalStateException.class)
     public void testCreateAndProcessOrder_InsufficientBalance() {
         // Given
         when(userRepository.findById(1L)).thenReturn(Optional.of(mockUser));
-        when(productRepository.findBySku("SKU001")).thenReturn(Optional.of(mockProduct));
+        when(productRepository.findBySkuIn(anyCollection())).thenReturn(Arrays.asList(mockProduct));
         when(merchantRepository.findById(1L)).thenReturn(Optional.of(mockMerchant));
         when(mockUser.hasEnoughBalance(any(Money.class))).thenReturn(false);
 
@@ -183,6 +288,7 @@ public class OrderApplicationServiceTest {
     public void testCreateAndProcessOrder_DifferentMerchants() {
         // Given
         Product anotherProduct = mock(Product.class);
+        when(anotherProduct.getSku()).thenReturn("SKU002");
         when(anotherProduct.getMerchantId()).thenReturn(2L);
         
         OrderItemRequest anotherItem = new OrderItemRequest();
@@ -192,8 +298,7 @@ public class OrderApplicationServiceTest {
         createOrderRequest.setItems(Arrays.asList(orderItemRequest, anotherItem));
         
         when(userRepository.findById(1L)).thenReturn(Optional.of(mockUser));
-        when(productRepository.findBySku("SKU001")).thenReturn(Optional.of(mockProduct));
-        when(productRepository.findBySku("SKU002")).thenReturn(Optional.of(anotherProduct));
+        when(productRepository.findBySkuIn(anyCollection())).thenReturn(Arrays.asList(mockProduct, anotherProduct));
 
         // When
         orderApplicationService.createAndProcessOrder(createOrderRequest);
@@ -203,59 +308,258 @@ public class OrderApplicationServiceTest {
     public void testGetOrderByOrderNumber_Success() {
         // Given
         String orderNumber = "ORD20231201120000001";
-        when(orderRepository.findByOrderNumber(orderNumber)).thenReturn(Optional.of(mockOrder));
+        when(orderQueryRepository.findByOrderNumber(orderNumber)).thenReturn(Optional.of(new OrderResponse()));
 
         // When
         Optional<OrderResponse> result = orderApplicationService.getOrderByOrderNumber(orderNumber);
 
         // Then
         assertTrue(result.isPresent());
-        verify(orderRepository).findByOrderNumber(orderNumber);
+        verify(orderQueryRepository).findByOrderNumber(orderNumber);
+        verify(orderRepository, never()).findByOrderNumber(anyString());
     }
 
     @Test
     public void testGetOrderByOrderNumber_NotFound() {
         // Given
         String orderNumber = "ORD20231201120000001";
-        when(orderRepository.findByOrderNumber(orderNumber)).thenReturn(Optional.empty());
+        when(orderQueryRepository.findByOrderNumber(orderNumber)).thenReturn(Optional.empty());
 
         // When
         Optional<OrderResponse> result = orderApplicationService.getOrderByOrderNumber(orderNumber);
 
         // Then
         assertFalse(result.isPresent());
-        verify(orderRepository).findByOrderNumber(orderNumber);
+        verify(orderQueryRepository).findByOrderNumber(orderNumber);
     }
 
     @Test
-    public void testGetOrdersByUserId_Success() {
+    public void testGetOrdersByUserId_LastPage() {
         // Given
         Long userId = 1L;
-        List<Order> orders = Arrays.asList(mockOrder);
-        when(orderRepository.findByUserId(userId)).thenReturn(orders);
+        when(orderQueryRepository.findPageByUserId(userId, null, 21)).thenReturn(Arrays.asList(new OrderResponse()));
 
         // When
-        List<OrderResponse> result = orderApplicationService.getOrdersByUserId(userId);
+        OrderPageResponse result = orderApplicationService.getOrdersByUserId(userId, null, 20);
 
         // Then
         assertNotNull(result);
-        assertEquals(1, result.size());
-        verify(orderRepository).findByUserId(userId);
+        assertEquals(1, result.getOrders().size());
+        assertNull(result.getNextCursor());
+        verify(orderQueryRepository).findPageByUserId(userId, null, 21);
     }
 
     @Test
-    public void testGetOrdersByMerchantId_Success() {
+    public void testGetOrdersByMerchantId_HasNextPage() {
         // Given
         Long merchantId = 1L;
-        List<Order> orders = Arrays.asList(mockOrder);
-        when(orderRepository.findByMerchantId(merchantId)).thenReturn(orders);
+        LocalDateTime orderTime = LocalDateTime.of(2024, 1, 1, 12, 0);
+        OrderResponse second = new OrderResponse();
+        second.setOrderTime(orderTime);
+        second.setId(7L);
+        OrderCursor after = new OrderCursor(orderTime.plusHours(1), 9L);
+        when(orderQueryRepository.findPageByMerchantId(merchantId, after, 3))
+            .thenReturn(Arrays.asList(new OrderResponse(), second, new OrderResponse()));
 
         // When
-        List<OrderResponse> result = orderApplicationService.getOrdersByMerchantId(merchantId);
+        OrderPageResponse result = orderApplicationService.getOrdersByMerchantId(merchantId, after.encode(), 2);
 
         // Then
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        verify(orderRepository).findByMerchantId(merchantId);
+        assertEquals(2, result.getOrders().size());
+        assertEquals(new OrderCursor(orderTime, 7L), OrderCursor.decode(result.getNextCursor()));
+    }
+
+    @Test
+    public void testExportOrdersByMerchantId_StreamsFromReadModel() {
+        // Given
+        doAnswer(invocation -> {
+            Consumer<OrderResponse> consumer = invocation.getArgument(1);
+            for (int i = 0; i < 3; i++) {
+                consumer.accept(OrderResponse.from(mockOrder));
+            }
+            return null;
+        }).when(orderQueryRepository).forEachByMerchantId(eq(1L), any());
+        List<OrderResponse> exported = new ArrayList<>();
+
+        // When
+        orderApplicationService.exportOrdersByMerchantId(1L, exported::add);
+
+        // Then
+        assertEquals(3, exported.size());
+        verify(orderRepository, never()).findByMerchantId(anyLong());
+    }
+
+    @Test
+    public void testSearchOrders_ReturnsOrdersInIndexOrder() {
+        // Given
+        OrderSearchRequest request = new OrderSearchRequest();
+        request.setProductName("book");
+        OrderResponse newer = new OrderResponse();
+        newer.setId(9L);
+        OrderResponse older = new OrderResponse();
+        older.setId(4L);
+        when(orderSearchIndex.search(request)).thenReturn(Arrays.asList(9L, 4L));
+        when(orderQueryRepository.findByIdIn(Arrays.asList(9L, 4L))).thenReturn(Arrays.asList(older, newer));
+
+        // When
+        List<OrderResponse> result = orderApplicationService.searchOrders(request);
+
+        // Then
+        assertEquals(Arrays.asList(newer, older), result);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSearchOrders_NoCriteria() {
+        // When
+        orderApplicationService.searchOrders(new OrderSearchRequest());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetOrdersByMerchantId_InvalidCursor() {
+        // When
+        orderApplicationService.getOrdersByMerchantId(1L, "not-a-cursor", 20);
+
+        // Then - exception expected
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetOrdersByUserId_PageSizeTooLarge() {
+        // When
+        orderApplicationService.getOrdersByUserId(1L, null, OrderApplicationService.MAX_PAGE_SIZE + 1);
+
+        // Then - exception expected
+    }
+
+    @Test
+    public void testCreateAndProcessOrders_InvalidOrderDoesNotFailBatch() {
+        // Given
+        CreateOrderRequest unknownUserRequest = new CreateOrderRequest();
+        unknownUserRequest.setUserId(99L);
+        unknownUserRequest.setItems(Arrays.asList(orderItemRequest));
+        setUpBatchLookups();
+
+        // When
+        List<OrderResponse> results = orderApplicationService.createAndProcessOrders(
+            Arrays.asList(createOrderRequest, unknownUserRequest));
+
+        // Then
+        assertEquals(2, results.size());
+        assertEquals(OrderStatus.COMPLETED, results.get(0).getStatus());
+        assertEquals(SubmissionStatus.FAILED, results.get(1).getSubmissionStatus());
+        assertEquals("User not found: 99", results.get(1).getFailureReason());
+        verify(inventoryService).deductStock(mockProduct, 2);
+        verify(userWalletService).debit(eq(mockUser), argThat(entries -> entries.size() == 1
+            && entries.get(0).getAmount().equals(new Money(new BigDecimal("200.00"), "CNY"))));
+        verify(orderRepository).insertAll(argThat(orders -> orders.size() == 1));
+    }
+
+    @Test
+    public void testCreateAndProcessOrders_InactiveProductFailsOnlyThatOrder() {
+        // Given
+        Product inactiveProduct = secondProduct(ProductStatus.INACTIVE);
+        CreateOrderRequest inactiveRequest = orderRequest(itemRequest("SKU002", 1));
+        setUpBatchLookups();
+        when(productRepository.findBySkuIn(anyCollection())).thenReturn(Arrays.asList(mockProduct, inactiveProduct));
+
+        // When
+        List<OrderResponse> results = orderApplicationService.createAndProcessOrders(
+            Arrays.asList(createOrderRequest, inactiveRequest));
+
+        // Then
+        assertEquals(OrderStatus.COMPLETED, results.get(0).getStatus());
+        assertEquals(SubmissionStatus.FAILED, results.get(1).getSubmissionStatus());
+        assertEquals("Product is not available: SKU002", results.get(1).getFailureReason());
+        verify(inventoryService).deductStock(mockProduct, 2);
+        verify(inventoryService, never()).deductStock(eq(inactiveProduct), anyInt());
+        verify(orderRepository).insertAll(argThat(orders -> orders.size() == 1));
+    }
+
+    @Test
+    public void testCreateAndProcessOrders_StockShortageFailsOnlyOrdersWithThatSku() {
+        // Given
+        Product secondProduct = secondProduct(ProductStatus.ACTIVE);
+        CreateOrderRequest mixedRequest = orderRequest(itemRequest("SKU001", 2), itemRequest("SKU002", 1));
+        CreateOrderRequest secondOnlyRequest = orderRequest(itemRequest("SKU002", 1));
+        setUpBatchLookups();
+        when(productRepository.findBySkuIn(anyCollection())).thenReturn(Arrays.asList(mockProduct, secondProduct));
+        when(inventoryService.deductStock(secondProduct, 2)).thenReturn(false);
+
+        // When
+        List<OrderResponse> results = orderApplicationService.createAndProcessOrders(
+            Arrays.asList(mixedRequest, createOrderRequest, secondOnlyRequest));
+
+        // Then
+        assertEquals(SubmissionStatus.FAILED, results.get(0).getSubmissionStatus());
+        assertEquals("Insufficient stock for product: SKU002", results.get(0).getFailureReason());
+        assertEquals(OrderStatus.COMPLETED, results.get(1).getStatus());
+        assertEquals(SubmissionStatus.FAILED, results.get(2).getSubmissionStatus());
+        verify(inventoryService).deductStock(mockProduct, 4);
+        verify(inventoryService).restoreStock(mockProduct, 2);
+        verify(userWalletService).debit(eq(mockUser), argThat(entries -> entries.size() == 1));
+        verify(orderRepository).insertAll(argThat(orders -> orders.size() == 1
+            && orders.get(0).getOrderNumber().equals(results.get(1).getOrderNumber())));
+    }
+
+    @Test
+    public void testCreateAndProcessOrders_UpdatesAggregatedPerUserAndMerchant() {
+        // Given
+        setUpBatchLookups();
+
+        // When
+        List<OrderResponse> results = orderApplicationService.createAndProcessOrders(
+            Arrays.asList(createOrderRequest, createOrderRequest));
+
+        // Then
+        assertEquals(OrderStatus.COMPLETED, results.get(0).getStatus());
+        assertEquals(OrderStatus.COMPLETED, results.get(1).getStatus());
+        assertNotEquals(results.get(0).getOrderNumber(), results.get(1).getOrderNumber());
+        verify(productRepository).findBySkuIn(Collections.singleton("SKU001"));
+        verify(inventoryService).deductStock(mockProduct, 4);
+        verify(userWalletService, times(1)).debit(eq(mockUser), argThat(entries -> entries.size() == 2));
+        verify(merchantRevenueLedgerService).recordRevenues(argThat(entries -> entries.size() == 2));
+        verify(userRepository, never()).save(any(User.class));
+        verify(merchantRepository, never()).save(any(Merchant.class));
+        verify(orderRepository).insertAll(argThat(orders -> orders.size() == 2));
+        verify(orderRepository, never()).save(any(Order.class));
+        verify(orderQueryRepository).saveAll(results);
+        verify(merchantDailySalesRepository).addCompletedOrders(argThat(orders -> orders.size() == 2));
+    }
+
+    private Product secondProduct(ProductStatus status) {
+        Product product = mock(Product.class);
+        lenient().when(product.getSku()).thenReturn("SKU002");
+        lenient().when(product.getName()).thenReturn("Second Product");
+        lenient().when(product.getPrice()).thenReturn(new Money(new BigDecimal("50.00"), "CNY"));
+        lenient().when(product.getMerchantId()).thenReturn(1L);
+        lenient().when(product.getStatus()).thenReturn(status);
+        return product;
+    }
+
+    private OrderItemRequest itemRequest(String sku, int quantity) {
+        OrderItemRequest item = new OrderItemRequest();
+        item.setSku(sku);
+        item.setQuantity(quantity);
+        return item;
+    }
+
+    private CreateOrderRequest orderRequest(OrderItemRequest... items) {
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setUserId(1L);
+        request.setItems(Arrays.asList(items));
+        return request;
+    }
+
+    private void setUpBatchLookups() {
+        when(mockUser.getStatus()).thenReturn(UserStatus.ACTIVE);
+        when(productRepository.findBySkuIn(anyCollection())).thenReturn(Arrays.asList(mockProduct));
+        when(userRepository.findByIdIn(anyCollection())).thenReturn(Arrays.asList(mockUser));
+        when(merchantRepository.findByIdIn(anyCollection())).thenReturn(Arrays.asList(mockMerchant));
+        when(inventoryService.deductStock(eq(mockProduct), anyInt())).thenReturn(true);
+        AtomicLong orderIds = new AtomicLong();
+        when(orderRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<Order> orders = invocation.getArgument(0);
+            orders.forEach(order -> ReflectionTestUtils.setField(order, "id", orderIds.incrementAndGet()));
+            return orders;
+        });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,383 @@
+package com.openecommerce.order.application;
+
+import com.openecommerce.order.application.dto.CreateOrderRequest;
+import com.openecommerce.order.application.dto.OrderItemRequest;
+import com.openecommerce.order.application.dto.OrderResponse;
+import com.openecommerce.order.domain.IdempotencyRecord;
+import com.openecommerce.order.domain.IdempotencyRecordRepository;
+import com.openecommerce.order.domain.OrderNumberGenerator;
+import com.openecommerce.order.domain.OrderStatus;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OrderIdempotencyService
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class OrderIdempotencyServiceTest {
+
+    @Mock
+    private OrderGroupCommitService orderGroupCommitService;
+
+    @Mock
+    private OrderApplicationService orderApplicationService;
+
+    @Mock
+    private OrderNumberGenerator orderNumberGenerator;
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private static final LocalDateTime LEASE_ACTIVE = LocalDateTime.now().plusHours(1);
+    private static final LocalDateTime LEASE_EXPIRED = LocalDateTime.now().minusHours(1);
+
+    private OrderIdempotencyService orderIdempotencyService;
+    private CreateOrderRequest request;
+    private OrderResponse response;
+
+    @Before
+    public void setUp() {
+        orderIdempotencyService = idempotencyService(100);
+        request = orderRequest(1L, 2);
+        response = new OrderResponse();
+        response.setOrderNumber("ORD001");
+        response.setStatus(OrderStatus.COMPLETED);
+        lenient().when(orderNumberGenerator.nextOrderNumber()).thenReturn("ORD001", "ORD002");
+    }
+
+    private OrderIdempotencyService idempotencyService(int cacheSize) {
+        return new OrderIdempotencyService(orderGroupCommitService, orderApplicationService, orderNumberGenerator,
+            idempotencyRecordRepository, cacheSize, 600000L, 24L, 30000L);
+    }
+
+    private CreateOrderRequest orderRequest(Long userId, int quantity) {
+        OrderItemRequest item = new OrderItemRequest();
+        item.setSku("SKU001");
+        item.setQuantity(quantity);
+        CreateOrderRequest orderRequest = new CreateOrderRequest();
+        orderRequest.setUserId(userId);
+        orderRequest.setItems(Collections.singletonList(item));
+        return orderRequest;
+    }
+
+    private IdempotencyRecord record(String orderNumber, LocalDateTime leaseExpiresAt) {
+        return new IdempotencyRecord(1L, "key-1", OrderIdempotencyService.fingerprint(request), orderNumber,
+            leaseExpiresAt);
+    }
+
+    @Test
+    public void testRetryReturnsCachedResponse() {
+        // Given
+        when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(1L, "key-1")).thenReturn(Optional.empty());
+        when(orderGroupCommitService.createAndProcessOrder(request, "ORD001")).thenReturn(response);
+        when(idempotencyRecordRepository.saveIfAbsent(any(IdempotencyRecord.class))).thenReturn(true);
+
+        // When
+        OrderResponse first = orderIdempotencyService.createAndProcessOrder("key-1", request);
+        OrderResponse retry = orderIdempotencyService.createAndProcessOrder("key-1", request);
+
+        // Then
+        assertSame(first, retry);
+        verify(orderGroupCommitService, times(1)).createAndProcessOrder(request, "ORD001");
+        verify(idempotencyRecordRepository).saveIfAbsent(argThat(record -> "ORD001".equals(record.getOrderNumber())));
+    }
+
+    @Test
+    public void testRetryFallsBackToPersistedRecord() {
+        // Given
+        when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(1L, "key-1"))
+            .thenReturn(Optional.of(record("ORD001", LEASE_ACTIVE)));
+        when(orderApplicationService.getOrderByOrderNumber("ORD001")).thenReturn(Optional.of(response));
+
+        // When
+        OrderResponse result = orderIdempotencyService.createAndProcessOrder("key-1", request);
+
+        // Then
+        assertSame(response, result);
+        verify(orderGroupCommitService, never()).createAndProcessOrder(any(CreateOrderRequest.class), anyString());
+        verify(idempotencyRecordRepository, never()).saveIfAbsent(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    public void testFailureIsNotCached() {
+        // Given
+        when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(1L, "key-1"))
+            .thenReturn(Optional.empty())
+            .thenReturn(Optional.of(record("ORD001", LEASE_EXPIRED)));
+        when(orderGroupCommitService.createAndProcessOrder(request, "ORD001"))
+            .thenThrow(new IllegalStateException("Insufficient user balance"))
+            .thenReturn(response);
+        when(orderApplicationService.getOrderByOrderNumber("ORD001")).thenReturn(Optional.empty());
+        when(idempotencyRecordRepository.saveIfAbsent(any(IdempotencyRecord.class))).thenReturn(true);
+        when(idempotencyRecordRepository.takeOver(any(IdempotencyRecord.class), any(LocalDateTime.class)))
+            .thenReturn(true);
+
+        // When
+        try {
+            orderIdempotencyService.createAndProcessOrder("key-1", request);
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            // Then
+            assertEquals("Insufficient user balance", e.getMessage());
+        }
+        verify(idempotencyRecordRepository).releaseLease(argThat(record -> "ORD001".equals(record.getOrderNumber())));
+        assertSame(response, orderIdempotencyService.createAndProcessOrder("key-1", request));
+        verify(orderNumberGenerator, times(1)).nextOrderNumber();
+    }
+
+    @Test
+    public void testExpiredReservationWithoutOrderIsTakenOver() {
+        // Given
+        when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(1L, "key-1"))
+            .thenReturn(Optional.of(record("ORD000", LEASE_EXPIRED)));
+        when(orderApplicationService.getOrderByOrderNumber("ORD000")).thenReturn(Optional.empty());
+        when(idempotencyRecordRepository.takeOver(any(IdempotencyRecord.class), any(LocalDateTime.class)))
+            .thenReturn(true);
+        when(orderGroupCommitService.createAndProcessOrder(request, "ORD000")).thenReturn(response);
+
+        // When
+        OrderResponse result = orderIdempotencyService.createAndProcessOrder("key-1", request);
+
+        // Then
+        assertSame(response, result);
+        verify(idempotencyRecordRepository, never()).saveIfAbsent(any(IdempotencyRecord.class));
+        verify(orderNumberGenerator, never()).nextOrderNumber();
+    }
+
+    @Test
+    public void testTakeOverLostToAnotherRetryIsConflict() {
+        // Given
+        when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(1L, "key-1"))
+            .thenReturn(Optional.of(record("ORD000", LEASE_EXPIRED)));
+        when(orderApplicationService.getOrderByOrderNumber("ORD000")).thenReturn(Optional.empty());
+        when(idempotencyRecordRepository.takeOver(any(IdempotencyRecord.class), any(LocalDateTime.class)))
+            .thenReturn(false);
+
+        // When
+        try {
+            orderIdempotencyService.createAndProcessOrder("key-1", request);
+            fail("Expected ConcurrencyFailureException");
+        } catch (ConcurrencyFailureException e) {
+            // Then
+            verify(orderGroupCommitService, never()).createAndProcessOrder(any(CreateOrderRequest.class), anyString());
+        }
+    }
+
+    @Test
+    public void testTakenOverOrderCommittedByPreviousHolderIsReturned() {
+        // Given
+        when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(1L, "key-1"))
+            .thenReturn(Optional.of(record("ORD000", LEASE_EXPIRED)));
+        when(orderApplicationService.getOrderByOrderNumber("ORD000"))
+            .thenReturn(Optional.empty())
+            .thenReturn(Optional.of(response));
+        when(idempotencyRecordRepository.takeOver(any(IdempotencyRecord.class), any(LocalDateTime.class)))
+            .thenReturn(true);
+        when(orderGroupCommitService.createAndProcessOrder(request, "ORD000"))
+            .thenThrow(new DataIntegrityViolationException("Duplicate order number"));
+
+        // When
+        OrderResponse result = orderIdempotencyService.createAndProcessOrder("key-1", request);
+
+        // Then
+        assertSame(response, result);
+        verify(idempotencyRecordRepository, never()).releaseLease(any(IdempotencyRecord.class));
+    }
+
+    @Test(expected = IdempotencyKeyMismatchException.class)
+    public void testPersistedKeyReusedForDifferentRequestIsRejected() {
+        // Given
+        when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(1L, "key-1"))
+            .thenReturn(Optional.of(record("ORD001", LEASE_ACTIVE)));
+
+        // When
+        orderIdempotencyService.createAndProcessOrder("key-1", orderRequest(1L, 3));
+    }
+
+    @Test
+    public void testCachedKeyReusedForDifferentRequestIsRejected() {
+        // Given
+        when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(1L, "key-1")).thenReturn(Optional.empty());
+        when(idempotencyRecordRepository.saveIfAbsent(any(IdempotencyRecord.class))).thenReturn(true);
+        when(orderGroupCommitService.createAndProcessOrder(request, "ORD001")).thenReturn(response);
+        orderIdempotencyService.createAndProcessOrder("key-1", request);
+
+        // When
+        try {
+            orderIdempotencyService.createAndProcessOrder("key-1", orderRequest(1L, 3));
+            fail("Expected IdempotencyKeyMismatchException");
+        } catch (IdempotencyKeyMismatchException e) {
+            // Then
+            verify(orderGroupCommitService, times(1)).createAndProcessOrder(any(CreateOrderRequest.class), anyString());
+        }
+    }
+
+    @Test
+    public void testSameKeyOfDifferentUsersCreatesSeparateOrders() {
+        // Given
+        CreateOrderRequest otherUserRequest = orderRequest(2L, 2);
+        when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(anyLong(), eq("key-1"))).thenReturn(Optional.empty());
+        when(idempotencyRecordRepository.saveIfAbsent(any(IdempotencyRecord.class))).thenReturn(true);
+        when(orderGroupCommitService.createAndProcessOrder(any(CreateOrderRequest.class), anyString())).thenReturn(response);
+
+        // When
+        orderIdempotencyService.createAndProcessOrder("key-1", request);
+        orderIdempotencyService.createAndProcessOrder("key-1", otherUserRequest);
+
+        // Then
+        verify(orderGroupCommitService).createAndProcessOrder(request, "ORD001");
+        verify(orderGroupCommitService).createAndProcessOrder(otherUserRequest, "ORD002");
+        verify(idempotencyRecordRepository).saveIfAbsent(argThat(record -> record.getUserId() == 2L));
+    }
+
+    @Test
+    public void testConcurrentRetriesProcessOnce() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(1L, "key-1")).thenReturn(Optional.empty());
+        when(orderGroupCommitService.createAndProcessOrder(request, "ORD001")).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return response;
+        });
+        when(idempotencyRecordRepository.saveIfAbsent(any(IdempotencyRecord.class))).thenReturn(true);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // When
+        Future<OrderResponse> first = executor.submit(() -> orderIdempotencyService.createAndProcessOrder("key-1", request));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<OrderResponse> retry = executor.submit(() -> orderIdempotencyService.createAndProcessOrder("key-1", request));
+        release.countDown();
+
+        // Then
+        assertSame(response, first.get(5, TimeUnit.SECONDS));
+        assertSame(response, retry.get(5, TimeUnit.SECONDS));
+        verify(orderGroupCommitService, times(1)).createAndProcessOrder(any(CreateOrderRequest.class), anyString());
+        executor.shutdown();
+    }
+
+    @Test
+    public void testLostReservationReturnsOrderOfWinner() {
+        // Given
+        when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(1L, "key-1"))
+            .thenReturn(Optional.empty())
+            .thenReturn(Optional.of(record("ORD000", LEASE_ACTIVE)));
+        when(idempotencyRecordRepository.saveIfAbsent(any(IdempotencyRecord.class))).thenReturn(false);
+        when(orderApplicationService.getOrderByOrderNumber("ORD000")).thenReturn(Optional.of(response));
+
+        // When
+        OrderResponse result = orderIdempotencyService.createAndProcessOrder("key-1", request);
+
+        // Then
+        assertSame(response, result);
+        verify(orderGroupCommitService, never()).createAndProcessOrder(any(CreateOrderRequest.class), anyString());
+    }
+
+    @Test
+    public void testReservedKeyWithoutOrderIsConflict() {
+        // Given
+        when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(1L, "key-1"))
+            .thenReturn(Optional.of(record("ORD000", LEASE_ACTIVE)));
+        when(orderApplicationService.getOrderByOrderNumber("ORD000")).thenReturn(Optional.empty());
+
+        // When
+        try {
+            orderIdempotencyService.createAndProcessOrder("key-1", request);
+            fail("Expected ConcurrencyFailureException");
+        } catch (ConcurrencyFailureException e) {
+            // Then
+            verify(orderGroupCommitService, never()).createAndProcessOrder(any(CreateOrderRequest.class), anyString());
+        }
+    }
+
+    @Test
+    public void testFullCacheEvictsCompletedResult() {
+        // Given
+        orderIdempotencyService = idempotencyService(1);
+        when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(anyLong(), anyString())).thenReturn(Optional.empty());
+        when(idempotencyRecordRepository.saveIfAbsent(any(IdempotencyRecord.class))).thenReturn(true);
+        when(orderGroupCommitService.createAndProcessOrder(eq(request), anyString())).thenReturn(response);
+        orderIdempotencyService.createAndProcessOrder("key-1", request);
+
+        // When
+        orderIdempotencyService.createAndProcessOrder("key-2", request);
+
+        // Then
+        verify(orderGroupCommitService).createAndProcessOrder(request, "ORD002");
+    }
+
+    @Test
+    public void testFullCacheOfInFlightOrdersRejectsNewKey() throws Exception {
+        // Given
+        orderIdempotencyService = idempotencyService(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(anyLong(), anyString())).thenReturn(Optional.empty());
+        when(idempotencyRecordRepository.saveIfAbsent(any(IdempotencyRecord.class))).thenReturn(true);
+        when(orderGroupCommitService.createAndProcessOrder(request, "ORD001")).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return response;
+        });
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<OrderResponse> first = executor.submit(() -> orderIdempotencyService.createAndProcessOrder("key-1", request));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        try {
+            // When
+            orderIdempotencyService.createAndProcessOrder("key-2", request);
+            fail("Expected RejectedExecutionException");
+        } catch (RejectedExecutionException e) {
+            // Then
+            verify(orderGroupCommitService, times(1)).createAndProcessOrder(any(CreateOrderRequest.class), anyString());
+        } finally {
+            release.countDown();
+        }
+        assertSame(response, first.get(5, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testKeyTooLong() {
+        // When
+        orderIdempotencyService.createAndProcessOrder(new String(new char[101]).replace('\0', 'k'), request);
+
+        // Then - exception expected
+    }
+
+    @Test
+    public void testEvictExpiredPurgesPersistedRecords() {
+        // Given
+        when(idempotencyRecordRepository.deleteCreatedBefore(any())).thenReturn(0);
+
+        // When
+        orderIdempotencyService.evictExpired();
+
+        // Then
+        verify(idempotencyRecordRepository).deleteCreatedBefore(any());
+        verify(idempotencyRecordRepository, never()).findByUserIdAndIdempotencyKey(anyLong(), anyString());
+    }
+}
@@ -0,0 +1,196 @@
+package com.openecommerce.order.application;
+
+import com.openecommerce.OpenECommerceApplication;
+import com.openecommerce.merchant.application.MerchantApplicationService;
+import com.openecommerce.merchant.application.dto.CreateMerchantRequest;
+import com.openecommerce.order.application.dto.CreateOrderRequest;
+import com.openecommerce.order.application.dto.OrderItemRequest;
+import com.openecommerce.order.application.dto.OrderResponse;
+import com.openecommerce.order.application.dto.SubmissionStatus;
+import com.openecommerce.product.application.ProductApplicationService;
+import com.openecommerce.product.application.dto.CreateProductRequest;
+import com.openecommerce.user.application.UserApplicationService;
+import com.openecommerce.user.application.dto.CreateUserRequest;
+import com.openecommerce.user.application.dto.UserRechargeRequest;
+import org.junit.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * In-process throughput benchmark for the order intake modes.
+ *
+ * Not part of the default test run (the class name does not match the surefire includes); run it with
+ * {@code mvn test -Dtest=OrderIntakeBenchmark}. Each mode starts its own application context on a fresh
+ * in-memory H2 database, creates one merchant, one product and a set of buyers through the application
+ * services, then fires orders from concurrent client threads and prints completed / failed counts and
+ * elapsed time. The workload is sized with -Dbenchmark.orders (default 800), -Dbenchmark.clients (16)
+ * and -Dbenchmark.buyers (8). Numbers depend on the machine; compare modes within one run only.
+ */
+public class OrderIntakeBenchmark {
+
+    private static final int ORDERS = Integer.getInteger("benchmark.orders", 800);
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 16);
+    private static final int BUYERS = Integer.getInteger("benchmark.buyers", 8);
+    private static final String SKU = "BENCH-SKU-001";
+    private static final long ASYNC_TIMEOUT_MILLIS = 120000;
+
+    @Test
+    public void compareIntakeModes() throws Exception {
+        List<String> results = new ArrayList<>();
+        results.add(run("sync", false,
+            "--business.order.group-commit.enabled=false"));
+        results.add(run("sync-group-commit", false,
+            "--business.order.group-commit.enabled=true"));
+        results.add(run("async-executor", true,
+            "--business.order.async.mode=executor", "--business.order.async.queue-capacity=" + ORDERS));
+        results.add(run("async-pipeline", true,
+            "--business.order.async.mode=pipeline", "--business.order.async.pipeline.ring-size=1024"));
+
+        System.out.printf("%nOrder intake benchmark: %d orders, %d clients, %d buyers, 1 merchant%n",
+            ORDERS, CLIENTS, BUYERS);
+        System.out.printf("%-20s %10s %10s %12s %12s%n", "mode", "completed", "failed", "elapsed ms", "orders/s");
+        results.forEach(System.out::println);
+    }
+
+    private String run(String mode, boolean async, String... modeArgs) throws Exception {
+        List<String> args = new ArrayList<>(Arrays.asList(
+            "--spring.datasource.url=jdbc:h2:mem:benchmark-" + mode + ";DB_CLOSE_DELAY=-1",
+            "--spring.jpa.show-sql=false",
+            "--logging.level.root=WARN",
+            "--logging.level.com.openecommerce=WARN"));
+        args.addAll(Arrays.asList(modeArgs));
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(OpenECommerceApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(new String[0]))) {
+            List<Long> buyerIds = setUp(context);
+            OrderGroupCommitService syncService = context.getBean(OrderGroupCommitService.class);
+            OrderIntakeService asyncService = context.getBean(OrderIntakeService.class);
+
+            AtomicInteger completed = new AtomicInteger();
+            AtomicInteger failed = new AtomicInteger();
+            ConcurrentLinkedQueue<String> accepted = new ConcurrentLinkedQueue<>();
+            AtomicInteger next = new AtomicInteger();
+            CountDownLatch done = new CountDownLatch(CLIENTS);
+            ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+
+            long start = System.nanoTime();
+            for (int c = 0; c < CLIENTS; c++) {
+                clients.execute(() -> {
+                    try {
+                        for (int i = next.getAndIncrement(); i < ORDERS; i = next.getAndIncrement()) {
+                            CreateOrderRequest request = orderRequest(buyerIds.get(i % buyerIds.size()));
+                            try {
+                                if (async) {
+                                    accepted.add(asyncService.submit(request).getOrderNumber());
+                                } else {
+                                    syncService.createAndProcessOrder(request);
+                                    completed.incrementAndGet();
+                                }
+                            } catch (RuntimeException e) {
+                                failed.incrementAndGet();
+                            }
+                        }
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            assertTrue(done.await(ASYNC_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+            clients.shutdown();
+            if (async) {
+                awaitAsync(asyncService, accepted, completed, failed);
+            }
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            assertEquals(ORDERS, completed.get() + failed.get());
+            return String.format("%-20s %10d %10d %12d %12.1f", mode, completed.get(), failed.get(), elapsedMillis,
+                completed.get() * 1000.0 / Math.max(1, elapsedMillis));
+        }
+    }
+
+    private List<Long> setUp(ConfigurableApplicationContext context) {
+        CreateMerchantRequest merchantRequest = new CreateMerchantRequest();
+        merchantRequest.setName("Benchmark Store");
+        merchantRequest.setEmail("bench@store.com");
+        merchantRequest.setPhone("13900139000");
+        Long merchantId = context.getBean(MerchantApplicationService.class).createMerchant(merchantRequest).getId();
+
+        CreateProductRequest productRequest = new CreateProductRequest();
+        productRequest.setSku(SKU);
+        productRequest.setName("Benchmark Product");
+        productRequest.setDescription("Benchmark product");
+        productRequest.setPrice(new BigDecimal("1.00"));
+        productRequest.setStockQuantity(ORDERS * 2);
+        productRequest.setMerchantId(merchantId);
+        context.getBean(ProductApplicationService.class).createProduct(productRequest);
+
+        UserApplicationService userService = context.getBean(UserApplicationService.class);
+        List<Long> buyerIds = new ArrayList<>(BUYERS);
+        for (int i = 0; i < BUYERS; i++) {
+            CreateUserRequest userRequest = new CreateUserRequest();
+            userRequest.setUsername("buyer" + i);
+            userRequest.setEmail("buyer" + i + "@example.com");
+            Long userId = userService.createUser(userRequest).getId();
+            UserRechargeRequest rechargeRequest = new UserRechargeRequest();
+            rechargeRequest.setAmount(new BigDecimal(ORDERS));
+            userService.rechargeUser(userId, rechargeRequest);
+            buyerIds.add(userId);
+        }
+        return buyerIds;
+    }
+
+    private static CreateOrderRequest orderRequest(Long userId) {
+        OrderItemRequest item = new OrderItemRequest();
+        item.setSku(SKU);
+        item.setQuantity(1);
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setUserId(userId);
+        request.setItems(Collections.singletonList(item));
+        return request;
+    }
+
+    /**
+     * Waits until every accepted async order has left the PENDING state; completed orders are removed
+     * from the submission map, failed ones stay there as FAILED.
+     */
+    private static void awaitAsync(OrderIntakeService asyncService, ConcurrentLinkedQueue<String> accepted,
+                                   AtomicInteger completed, AtomicInteger failed) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + ASYNC_TIMEOUT_MILLIS;
+        List<String> pending = new ArrayList<>(accepted);
+        while (!pending.isEmpty()) {
+            assertTrue("Async orders still pending: " + pending.size(), System.currentTimeMillis() < deadline);
+            List<String> stillPending = new ArrayList<>();
+            for (String orderNumber : pending) {
+                Optional<OrderResponse> submission = asyncService.getSubmission(orderNumber);
+                if (!submission.isPresent()) {
+                    completed.incrementAndGet();
+                } else if (submission.get().getSubmissionStatus() == SubmissionStatus.FAILED) {
+                    failed.incrementAndGet();
+                } else {
+                    stillPending.add(orderNumber);
+                }
+            }
+            pending = stillPending;
+            if (!pending.isEmpty()) {
+                Thread.sleep(10);
+            }
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.openecommerce.order.application;
+
+import com.openecommerce.order.application.dto.CreateOrderRequest;
+import com.openecommerce.order.application.dto.OrderItemRequest;
+import com.openecommerce.order.application.dto.OrderResponse;
+import com.openecommerce.order.application.dto.SubmissionStatus;
+import com.openecommerce.order.domain.OrderNumberGenerator;
+import com.openecommerce.product.domain.Product;
+import com.openecommerce.product.domain.ProductRepository;
+import com.openecommerce.shared.domain.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OrderIntakeService
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class OrderIntakeServiceTest {
+
+    @Mock
+    private OrderApplicationService orderApplicationService;
+
+    @Mock
+    private OrderNumberGenerator orderNumberGenerator;
+
+    @Mock
+    private ProductRepository productRepository;
+    
+    private OrderIntakeService orderIntakeService;
+    private CreateOrderRequest request;
+
+    @Before
+    public void setUp() {
+        orderIntakeService = executorIntake(600000L);
+        request = new CreateOrderRequest();
+        request.setUserId(1L);
+        when(orderNumberGenerator.nextOrderNumber()).thenReturn("ORD001", "ORD002", "ORD003");
+    }
+
+    private OrderIntakeService executorIntake(long failedRetentionMillis) {
+        return executorIntake(failedRetentionMillis, 600000L);
+    }
+
+    private OrderIntakeService executorIntake(long failedRetentionMillis, long pendingTimeoutMillis) {
+        return new OrderIntakeService(orderApplicationService, orderNumberGenerator, productRepository, retryPolicy(),
+            OrderIntakeService.MODE_EXECUTOR, 1, 1, 1, 2, failedRetentionMillis, pendingTimeoutMillis);
+    }
+    
+    private OrderIntakeService pipelineIntake(int partitions, int ringSize) {
+        return new OrderIntakeService(orderApplicationService, orderNumberGenerator, productRepository, retryPolicy(),
+            OrderIntakeService.MODE_PIPELINE, 1, 1, partitions, ringSize, 600000L, 600000L);
+    }
+    
+    private OrderRetryPolicy retryPolicy() {
+        return new OrderRetryPolicy(new SimpleMeterRegistry(), 1, 0L, 0L);
+    }
+    
+    @After
+    public void tearDown() throws InterruptedException {
+        orderIntakeService.shutdown();
+    }
+
+    @Test
+    public void testSubmit_ReturnsPendingAndCompletes() throws InterruptedException {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderApplicationService.createAndProcessOrder(any(CreateOrderRequest.class), eq("ORD001")))
+            .thenAnswer(invocation -> {
+                release.await(5, TimeUnit.SECONDS);
+                return new OrderResponse();
+            });
+
+        // When
+        OrderResponse response = orderIntakeService.submit(request);
+
+        // Then
+        assertEquals("ORD001", response.getOrderNumber());
+        assertEquals(SubmissionStatus.PENDING, response.getSubmissionStatus());
+        assertEquals(SubmissionStatus.PENDING, orderIntakeService.getSubmission("ORD001").get().getSubmissionStatus());
+
+        release.countDown();
+        orderIntakeService.shutdown();
+        assertFalse(orderIntakeService.getSubmission("ORD001").isPresent());
+        verify(orderApplicationService).createAndProcessOrder(request, "ORD001");
+    }
+
+    @Test
+    public void testSubmit_FailureIsReported() throws InterruptedException {
+        // Given
+        when(orderApplicationService.createAndProcessOrder(any(CreateOrderRequest.class), eq("ORD001")))
+            .thenThrow(new IllegalStateException("Insufficient user balance"));
+
+        // When
+        orderIntakeService.submit(request);
+        orderIntakeService.shutdown();
+
+        // Then
+        Optional<OrderResponse> submission = orderIntakeService.getSubmission("ORD001");
+        assertTrue(submission.isPresent());
+        assertEquals(SubmissionStatus.FAILED, submission.get().getSubmissionStatus());
+        assertNull(submission.get().getStatus());
+        assertEquals("Insufficient user balance", submission.get().getFailureReason());
+    }
+
+    @Test
+    public void testSubmit_QueueFullIsRejected() {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderApplicationService.createAndProcessOrder(any(CreateOrderRequest.class), any(String.class)))
+            .thenAnswer(invocation -> {
+                release.await(5, TimeUnit.SECONDS);
+                return new OrderResponse();
+            });
+        orderIntakeService.submit(request);
+        orderIntakeService.submit(request);
+
+        // When
+        try {
+            orderIntakeService.submit(request);
+            fail("Expected RejectedExecutionException");
+        } catch (RejectedExecutionException e) {
+            // Then
+            assertFalse(orderIntakeService.getSubmission("ORD003").isPresent());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void testEvictExpiredSubmissions_RemovesFailures() throws InterruptedException {
+        // Given
+        orderIntakeService = executorIntake(0L);
+        when(orderApplicationService.createAndProcessOrder(any(CreateOrderRequest.class), eq("ORD001")))
+            .thenThrow(new IllegalStateException("Insufficient stock"));
+        orderIntakeService.submit(request);
+        orderIntakeService.shutdown();
+        Thread.sleep(5);
+
+        // When
+        orderIntakeService.evictExpiredSubmissions();
+
+        // Then
+        assertFalse(orderIntakeService.getSubmission("ORD001").isPresent());
+    }
+
+    @Test
+    public void testEvictExpiredSubmissions_RemovesStalePending() throws InterruptedException {
+        // Given
+        orderIntakeService.shutdown();
+        orderIntakeService = executorIntake(600000L, 0L);
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderApplicationService.createAndProcessOrder(any(CreateOrderRequest.class), eq("ORD001")))
+            .thenAnswer(invocation -> {
+                release.await(5, TimeUnit.SECONDS);
+                return new OrderResponse();
+            });
+        orderIntakeService.submit(request);
+        Thread.sleep(5);
+
+        try {
+            // When
+            orderIntakeService.evictExpiredSubmissions();
+
+            // Then
+            assertFalse(orderIntakeService.getSubmission("ORD001").isPresent());
+        } finally {
+            release.countDown();
+        }
+    }
+    
+    @Test
+    public void testPipeline_OrdersOfSameMerchantProcessedInSubmissionOrder() throws InterruptedException {
+        // Given
+        orderIntakeService.shutdown();
+        orderIntakeService = pipelineIntake(4, 8);
+        request.setItems(Collections.singletonList(item("SKU001")));
+        Product product = new Product("SKU001", "Test Product", "Description",
+            new Money(new BigDecimal("100.00"), "CNY"), 10, 7L);
+        when(productRepository.findBySkuIn(Collections.singleton("SKU001")))
+            .thenReturn(Collections.singletonList(product));
+        List<String> processed = Collections.synchronizedList(new ArrayList<>());
+        List<String> threads = Collections.synchronizedList(new ArrayList<>());
+        when(orderApplicationService.createAndProcessOrder(any(CreateOrderRequest.class), any(String.class)))
+            .thenAnswer(invocation -> {
+                processed.add(invocation.getArgument(1));
+                threads.add(Thread.currentThread().getName());
+                return new OrderResponse();
+            });
+        
+        // When
+        orderIntakeService.submit(request);
+        orderIntakeService.submit(request);
+        orderIntakeService.submit(request);
+        orderIntakeService.shutdown();
+        
+        // Then
+        assertEquals(Arrays.asList("ORD001", "ORD002", "ORD003"), processed);
+        assertEquals(1, new HashSet<>(threads).size());
+        assertFalse(orderIntakeService.getSubmission("ORD003").isPresent());
+        // SKU所属商家只查询一次
+        verify(productRepository, times(1)).findBySkuIn(Collections.singleton("SKU001"));
+    }
+    
+    @Test
+    public void testPipeline_ShutdownProcessesEveryAcceptedOrder() throws Exception {
+        // Given
+        orderIntakeService.shutdown();
+        orderIntakeService = pipelineIntake(1, 1024);
+        request.setItems(Collections.emptyList());
+        AtomicInteger sequence = new AtomicInteger();
+        when(orderNumberGenerator.nextOrderNumber()).thenAnswer(invocation -> "ORD" + sequence.incrementAndGet());
+        Set<String> processed = ConcurrentHashMap.newKeySet();
+        when(orderApplicationService.createAndProcessOrder(any(CreateOrderRequest.class), any(String.class)))
+            .thenAnswer(invocation -> {
+                processed.add(invocation.getArgument(1));
+                return new OrderResponse();
+            });
+        Set<String> accepted = ConcurrentHashMap.newKeySet();
+        ExecutorService producers = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 4; i++) {
+            producers.execute(() -> {
+                try {
+                    while (true) {
+                        accepted.add(orderIntakeService.submit(request).getOrderNumber());
+                    }
+                } catch (RejectedExecutionException e) {
+                    // 关闭后或缓冲区满时停止发布
+                }
+            });
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (accepted.size() < 100 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+
+        // When
+        orderIntakeService.shutdown();
+        producers.shutdown();
+        assertTrue(producers.awaitTermination(5, TimeUnit.SECONDS));
+
+        // Then
+        assertTrue(accepted.size() >= 100);
+        assertTrue(processed.containsAll(accepted));
+    }
+    
+    @Test
+    public void testPipeline_FullRingIsRejected() throws InterruptedException {
+        // Given
+        orderIntakeService.shutdown();
+        orderIntakeService = pipelineIntake(1, 2);
+        request.setItems(Collections.emptyList());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderApplicationService.createAndProcessOrder(any(CreateOrderRequest.class), any(String.class)))
+            .thenAnswer(invocation -> {
+                started.countDown();
+                release.await(5, TimeUnit.SECONDS);
+                return new OrderResponse();
+            });
+        when(orderNumberGenerator.nextOrderNumber()).thenReturn("ORD001", "ORD002", "ORD003", "ORD004");
+        orderIntakeService.submit(request);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        orderIntakeService.submit(request);
+        orderIntakeService.submit(request);
+        
+        // When
+        try {
+            orderIntakeService.submit(request);
+            fail("Expected RejectedExecutionException");
+        } catch (RejectedExecutionException e) {
+            // Then
+            assertEquals(2, orderIntakeService.getQueueSize());
+            assertFalse(orderIntakeService.getSubmission("ORD004").isPresent());
+        } finally {
+            release.countDown();
+        }
+    }
+    
+    private OrderItemRequest item(String sku) {
+        OrderItemRequest item = new OrderItemRequest();
+        item.setSku(sku);
+        item.setQuantity(1);
+        return item;
+    }
+}
@@ -0,0 +1,84 @@
+package com.openecommerce.order.application;
+
+import com.openecommerce.user.domain.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for OrderRetryPolicy
+ */
+public class OrderRetryPolicyTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrderRetryPolicy orderRetryPolicy;
+
+    @Before
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        orderRetryPolicy = new OrderRetryPolicy(meterRegistry, 3, 1L, 5L);
+    }
+
+    @Test
+    public void testRetriesUntilSuccess() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+
+        // When
+        String result = orderRetryPolicy.execute(() -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException(User.class, 1L);
+            }
+            return "ok";
+        });
+
+        // Then
+        assertEquals("ok", result);
+        assertEquals(3, calls.get());
+        assertEquals(3.0, meterRegistry.counter(OrderRetryPolicy.ATTEMPTS_METRIC).count(), 0.0);
+        assertEquals(2.0, meterRegistry.counter(OrderRetryPolicy.CONFLICTS_METRIC, "aggregate", "User").count(), 0.0);
+        assertEquals(0.0, meterRegistry.counter(OrderRetryPolicy.EXHAUSTED_METRIC, "aggregate", "User").count(), 0.0);
+    }
+
+    @Test
+    public void testGivesUpAfterMaxAttempts() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+
+        // When
+        try {
+            orderRetryPolicy.execute(() -> {
+                calls.incrementAndGet();
+                throw new ObjectOptimisticLockingFailureException(User.class, 1L);
+            });
+            fail("Expected ObjectOptimisticLockingFailureException");
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // Then
+            assertEquals(3, calls.get());
+        }
+        assertEquals(1.0, meterRegistry.counter(OrderRetryPolicy.EXHAUSTED_METRIC, "aggregate", "User").count(), 0.0);
+    }
+
+    @Test
+    public void testDoesNotRetryBusinessErrors() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+
+        // When
+        try {
+            orderRetryPolicy.execute(() -> {
+                calls.incrementAndGet();
+                throw new IllegalStateException("Insufficient user balance");
+            });
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            // Then
+            assertEquals(1, calls.get());
+        }
+    }
+}
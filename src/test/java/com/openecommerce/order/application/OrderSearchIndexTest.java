@@ -0,0 +1,173 @@
+package com.openecommerce.order.application;
+
+import com.openecommerce.order.application.dto.OrderResponse;
+import com.openecommerce.order.application.dto.OrderResponse.OrderItemResponse;
+import com.openecommerce.order.application.dto.OrderSearchRequest;
+import com.openecommerce.order.domain.OrderStatus;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * OrderSearchIndex 单元测试
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class OrderSearchIndexTest {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Mock
+    private OrderQueryRepository orderQueryRepository;
+
+    private OrderSearchIndex index;
+
+    @Before
+    public void setUp() {
+        index = new OrderSearchIndex(orderQueryRepository, true);
+        index.put(order(1L, 0, OrderStatus.COMPLETED, "SKU-BOOK", "Java Concurrency Book"));
+        index.put(order(2L, 1, OrderStatus.COMPLETED, "SKU-LAPTOP", "MacBook Pro"));
+        index.put(order(3L, 2, OrderStatus.CANCELLED, "SKU-BOOK", "Java Concurrency Book"));
+        index.put(order(4L, 3, OrderStatus.COMPLETED, "SKU-BOOK", "Java Concurrency Book"));
+    }
+
+    @After
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void testSearch_BySkuAndStatusNewestFirst() {
+        // When
+        OrderSearchRequest request = new OrderSearchRequest();
+        request.setSku("SKU-BOOK");
+        request.setStatus(OrderStatus.COMPLETED);
+
+        // Then
+        assertEquals(Arrays.asList(4L, 1L), index.search(request));
+    }
+
+    @Test
+    public void testSearch_ByProductNameFragmentIgnoresCase() {
+        // When
+        OrderSearchRequest request = new OrderSearchRequest();
+        request.setProductName("BOOK");
+
+        // Then
+        assertEquals(Arrays.asList(4L, 3L, 2L, 1L), index.search(request));
+    }
+
+    @Test
+    public void testSearch_ByTimeRangeAndLimit() {
+        // When
+        OrderSearchRequest request = new OrderSearchRequest();
+        request.setFrom(BASE_TIME.plusMinutes(1));
+        request.setTo(BASE_TIME.plusMinutes(3));
+        request.setLimit(1);
+
+        // Then
+        assertEquals(Collections.singletonList(3L), index.search(request));
+    }
+
+    @Test
+    public void testSearch_BySkuAndProductNameIntersects() {
+        // When
+        OrderSearchRequest request = new OrderSearchRequest();
+        request.setSku("SKU-LAPTOP");
+        request.setProductName("book");
+
+        // Then
+        assertEquals(Collections.singletonList(2L), index.search(request));
+    }
+
+    @Test
+    public void testPut_OrderIdBeyondIntRange() {
+        // Given
+        long largeId = Integer.MAX_VALUE + 10L;
+        index.put(order(largeId, 4, OrderStatus.COMPLETED, "SKU-BOOK", "Java Concurrency Book"));
+
+        // When
+        OrderSearchRequest request = new OrderSearchRequest();
+        request.setSku("SKU-BOOK");
+        request.setLimit(2);
+
+        // Then
+        assertEquals(Arrays.asList(largeId, 4L), index.search(request));
+    }
+
+    @Test
+    public void testPut_StatusChangeMovesOrderBetweenBitmaps() {
+        // Given
+        index.put(order(1L, 0, OrderStatus.CANCELLED, "SKU-BOOK", "Java Concurrency Book"));
+
+        // When
+        OrderSearchRequest request = new OrderSearchRequest();
+        request.setStatus(OrderStatus.CANCELLED);
+
+        // Then
+        assertEquals(Arrays.asList(3L, 1L), index.search(request));
+    }
+
+    @Test
+    public void testIndexAfterCommit_SkipsRolledBackOrders() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        index.indexAfterCommit(Collections.singletonList(order(5L, 4, OrderStatus.COMPLETED, "SKU-NEW", "New")));
+        OrderSearchRequest request = new OrderSearchRequest();
+        request.setSku("SKU-NEW");
+        assertTrue(index.search(request).isEmpty());
+
+        // When
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+
+        // Then
+        assertEquals(Collections.singletonList(5L), index.search(request));
+    }
+
+    @Test
+    public void testRebuild_LoadsReadModel() {
+        // Given
+        doAnswer(invocation -> {
+            Consumer<OrderResponse> consumer = invocation.getArgument(0);
+            consumer.accept(order(7L, 5, OrderStatus.COMPLETED, "SKU-REBUILT", "Rebuilt"));
+            return null;
+        }).when(orderQueryRepository).forEachOrder(any());
+
+        // When
+        index.rebuild();
+
+        // Then
+        OrderSearchRequest request = new OrderSearchRequest();
+        request.setSku("SKU-REBUILT");
+        assertEquals(Collections.singletonList(7L), index.search(request));
+    }
+
+    private OrderResponse order(Long id, int minute, OrderStatus status, String sku, String productName) {
+        OrderItemResponse item = new OrderItemResponse();
+        item.setSku(sku);
+        item.setProductName(productName);
+        OrderResponse order = new OrderResponse();
+        order.setId(id);
+        order.setStatus(status);
+        order.setOrderTime(BASE_TIME.plusMinutes(minute));
+        order.setItems(Collections.singletonList(item));
+        return order;
+    }
+}
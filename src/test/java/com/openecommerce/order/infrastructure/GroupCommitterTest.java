@@ -0,0 +1,167 @@
+package com.openecommerce.order.infrastructure;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for GroupCommitter
+ */
+public class GroupCommitterTest {
+
+    private final List<List<Integer>> batches = Collections.synchronizedList(new ArrayList<>());
+    private GroupCommitter<Integer, String> groupCommitter;
+
+    @After
+    public void tearDown() throws InterruptedException {
+        if (groupCommitter != null) {
+            groupCommitter.shutdown(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testSubmit_RequestsWithinWindowShareOneBatch() {
+        // Given
+        groupCommitter = new GroupCommitter<>("test-commit", 200, 3, this::recordBatch, item -> "single-" + item, 1);
+
+        // When
+        CompletableFuture<String> first = groupCommitter.submit(1);
+        CompletableFuture<String> second = groupCommitter.submit(2);
+        CompletableFuture<String> third = groupCommitter.submit(3);
+        CompletableFuture<String> fourth = groupCommitter.submit(4);
+
+        // Then
+        assertEquals("batch-1", first.join());
+        assertEquals("batch-2", second.join());
+        assertEquals("batch-3", third.join());
+        assertEquals("batch-4", fourth.join());
+        assertEquals(Arrays.asList(Arrays.asList(1, 2, 3), Collections.singletonList(4)), batches);
+    }
+
+    @Test
+    public void testSubmit_BatchFailureFallsBackToIndividualProcessing() {
+        // Given
+        groupCommitter = new GroupCommitter<>("test-commit", 200, 2,
+            items -> {
+                throw new IllegalStateException("batch failed");
+            },
+            item -> {
+                if (item == 2) {
+                    throw new IllegalArgumentException("bad item");
+                }
+                return "single-" + item;
+            }, 2);
+
+        // When
+        CompletableFuture<String> first = groupCommitter.submit(1);
+        CompletableFuture<String> second = groupCommitter.submit(2);
+
+        // Then
+        assertEquals("single-1", first.join());
+        try {
+            second.join();
+            fail("Expected failure of the individual item");
+        } catch (CompletionException e) {
+            assertTrue(e.getCause() instanceof IllegalArgumentException);
+        }
+    }
+
+    @Test
+    public void testShutdown_DrainsQueuedRequests() throws InterruptedException {
+        // Given
+        groupCommitter = new GroupCommitter<>("test-commit", 50, 10, this::recordBatch, item -> "single-" + item, 1);
+        CompletableFuture<String> pending = groupCommitter.submit(7);
+
+        // When
+        groupCommitter.shutdown(5, TimeUnit.SECONDS);
+
+        // Then
+        assertEquals("batch-7", pending.join());
+    }
+
+    @Test
+    public void testSubmit_FallbackDoesNotBlockLaterBatches() throws InterruptedException {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        groupCommitter = new GroupCommitter<>("test-commit", 10, 10,
+            items -> {
+                if (items.contains(1)) {
+                    throw new IllegalStateException("batch failed");
+                }
+                return recordBatch(items);
+            },
+            item -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "single-" + item;
+            }, 1);
+        CompletableFuture<String> slow = groupCommitter.submit(1);
+        Thread.sleep(50);
+
+        // When
+        CompletableFuture<String> next = groupCommitter.submit(2);
+
+        // Then
+        assertEquals("batch-2", next.join());
+        assertFalse(slow.isDone());
+        release.countDown();
+        assertEquals("single-1", slow.join());
+    }
+
+    @Test
+    public void testShutdown_CompletesEveryAcceptedSubmission() throws Exception {
+        // Given
+        groupCommitter = new GroupCommitter<>("test-commit", 1, 10, this::recordBatch, item -> "single-" + item, 1);
+        List<CompletableFuture<String>> accepted = new CopyOnWriteArrayList<>();
+        AtomicBoolean stop = new AtomicBoolean();
+        ExecutorService producers = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 4; i++) {
+            producers.execute(() -> {
+                while (!stop.get()) {
+                    try {
+                        accepted.add(groupCommitter.submit(1));
+                    } catch (RejectedExecutionException e) {
+                        return;
+                    }
+                }
+            });
+        }
+        Thread.sleep(50);
+
+        // When
+        groupCommitter.shutdown(5, TimeUnit.SECONDS);
+        stop.set(true);
+        producers.shutdown();
+        assertTrue(producers.awaitTermination(5, TimeUnit.SECONDS));
+
+        // Then
+        assertFalse(accepted.isEmpty());
+        for (CompletableFuture<String> future : accepted) {
+            assertEquals("batch-1", future.get(1, TimeUnit.SECONDS));
+        }
+    }
+
+    private List<String> recordBatch(List<Integer> items) {
+        batches.add(new ArrayList<>(items));
+        return items.stream().map(item -> "batch-" + item).collect(Collectors.toList());
+    }
+}
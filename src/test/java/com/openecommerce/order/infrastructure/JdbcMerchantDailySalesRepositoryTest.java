@@ -0,0 +1,105 @@
+package com.openecommerce.order.infrastructure;
+
+import com.openecommerce.order.domain.MerchantDailySalesRepository;
+import com.openecommerce.order.domain.MerchantSalesSummary;
+import com.openecommerce.order.domain.Order;
+import com.openecommerce.shared.domain.Money;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for JdbcMerchantDailySalesRepository
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest(properties = "business.order.daily-sales.slots=1")
+@Import(JdbcMerchantDailySalesRepository.class)
+@ImportAutoConfiguration(JdbcTemplateAutoConfiguration.class)
+public class JdbcMerchantDailySalesRepositoryTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 1, 1);
+
+    @Autowired
+    private MerchantDailySalesRepository merchantDailySalesRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testAddCompletedOrders_AccumulatesIntoOneRowPerMerchantDay() {
+        // When
+        merchantDailySalesRepository.addCompletedOrders(Arrays.asList(
+            order(1L, DAY, "100.00", "CNY"), order(1L, DAY, "50.00", "CNY")));
+        merchantDailySalesRepository.addCompletedOrders(Collections.singletonList(order(1L, DAY, "25.00", "CNY")));
+
+        // Then
+        List<MerchantSalesSummary> summaries =
+            merchantDailySalesRepository.summarizeByMerchant(1L, 1L, DAY, DAY.plusDays(1));
+        assertEquals(Collections.singletonList(
+            new MerchantSalesSummary(1L, 3L, new Money(new BigDecimal("175.00"), "CNY"))), summaries);
+        assertEquals(Integer.valueOf(1),
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM merchant_daily_sales", Integer.class));
+    }
+
+    @Test
+    public void testSummarizeByMerchant_FiltersByDateRangeMerchantRangeAndGroupsByCurrency() {
+        // Given
+        merchantDailySalesRepository.addCompletedOrders(Arrays.asList(
+            order(1L, DAY, "10.00", "CNY"),
+            order(1L, DAY.plusDays(1), "20.00", "CNY"),
+            order(1L, DAY, "5.00", "USD"),
+            order(2L, DAY, "30.00", "CNY"),
+            order(3L, DAY, "40.00", "CNY")));
+
+        // When
+        List<MerchantSalesSummary> summaries =
+            merchantDailySalesRepository.summarizeByMerchant(1L, 2L, DAY, DAY.plusDays(1));
+
+        // Then
+        assertEquals(Arrays.asList(
+            new MerchantSalesSummary(1L, 1L, new Money(new BigDecimal("10.00"), "CNY")),
+            new MerchantSalesSummary(1L, 1L, new Money(new BigDecimal("5.00"), "USD")),
+            new MerchantSalesSummary(2L, 1L, new Money(new BigDecimal("30.00"), "CNY"))), summaries);
+    }
+
+    @Test
+    public void testSummarizeByMerchant_SumsAcrossSlots() {
+        // Given
+        JdbcMerchantDailySalesRepository repository = (JdbcMerchantDailySalesRepository) merchantDailySalesRepository;
+        ReflectionTestUtils.setField(repository, "slots", 8);
+        for (int i = 0; i < 20; i++) {
+            repository.addCompletedOrders(Collections.singletonList(order(1L, DAY, "1.00", "CNY")));
+        }
+        ReflectionTestUtils.setField(repository, "slots", 1);
+
+        // When
+        List<MerchantSalesSummary> summaries = repository.summarizeByMerchant(1L, 1L, DAY, DAY.plusDays(1));
+
+        // Then
+        assertEquals(Collections.singletonList(
+            new MerchantSalesSummary(1L, 20L, new Money(new BigDecimal("20.00"), "CNY"))), summaries);
+    }
+
+    private Order order(Long merchantId, LocalDate day, String amount, String currency) {
+        Order order = new Order("ORD-" + merchantId + "-" + day, 1L, merchantId);
+        order.addOrderItem("SKU-A", "Product A", new Money(new BigDecimal(amount), currency), 1);
+        ReflectionTestUtils.setField(order, "orderTime", day.atTime(12, 0));
+        return order;
+    }
+}
@@ -0,0 +1,183 @@
+package com.openecommerce.order.infrastructure;
+
+import com.openecommerce.order.application.OrderQueryRepository;
+import com.openecommerce.order.application.dto.OrderResponse;
+import com.openecommerce.order.domain.Order;
+import com.openecommerce.order.domain.OrderCursor;
+import com.openecommerce.order.domain.OrderStatus;
+import com.openecommerce.shared.domain.Money;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for JdbcOrderQueryRepository read model
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(JdbcOrderQueryRepository.class)
+@ImportAutoConfiguration({JdbcTemplateAutoConfiguration.class, JacksonAutoConfiguration.class})
+public class JdbcOrderQueryRepositoryTest {
+
+    private static final int ORDER_COUNT = 25;
+
+    @Autowired
+    private OrderQueryRepository orderQueryRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    @Before
+    public void setUp() {
+        List<OrderResponse> orders = new ArrayList<>();
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            Order order = new Order("ORD" + i, 1L, i % 2 == 0 ? 2L : 3L);
+            order.addOrderItem("SKU-A", "Product A", new Money(new BigDecimal("10.00"), "CNY"), 1);
+            order.addOrderItem("SKU-B", "Product B", new Money(new BigDecimal("20.00"), "CNY"), 2);
+            orders.add(OrderResponse.from(testEntityManager.persist(order)));
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+        orderQueryRepository.saveAll(orders);
+
+        // 读侧只依赖读模型，写侧表清空后查询结果不变
+        jdbcTemplate.update("DELETE FROM order_items");
+        jdbcTemplate.update("DELETE FROM orders");
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void testFindByOrderNumber_ReadsOrderWithEmbeddedItems() {
+        // When
+        Optional<OrderResponse> result = orderQueryRepository.findByOrderNumber("ORD0");
+
+        // Then
+        assertTrue(result.isPresent());
+        OrderResponse order = result.get();
+        assertEquals("ORD0", order.getOrderNumber());
+        assertEquals(Long.valueOf(2L), order.getMerchantId());
+        assertEquals(OrderStatus.PENDING, order.getStatus());
+        assertEquals(0, new BigDecimal("50.00").compareTo(order.getTotalAmount()));
+        assertEquals("CNY", order.getTotalCurrency());
+        assertNotNull(order.getOrderTime());
+        assertEquals(2, order.getItems().size());
+        assertEquals("SKU-A", order.getItems().get(0).getSku());
+        assertEquals(Integer.valueOf(2), order.getItems().get(1).getQuantity());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    public void testFindByOrderNumber_NotFound() {
+        // When
+        Optional<OrderResponse> result = orderQueryRepository.findByOrderNumber("missing");
+
+        // Then
+        assertFalse(result.isPresent());
+    }
+
+    @Test
+    public void testFindPageByUserId_WalksAllPagesWithoutEntities() {
+        // When
+        Set<String> orderNumbers = new HashSet<>();
+        OrderCursor cursor = null;
+        int pages = 0;
+        while (true) {
+            List<OrderResponse> page = orderQueryRepository.findPageByUserId(1L, cursor, 10);
+            pages++;
+            for (OrderResponse order : page) {
+                assertTrue(orderNumbers.add(order.getOrderNumber()));
+                assertEquals(2, order.getItems().size());
+            }
+            if (page.size() < 10) {
+                break;
+            }
+            OrderResponse last = page.get(page.size() - 1);
+            cursor = new OrderCursor(last.getOrderTime(), last.getId());
+        }
+
+        // Then
+        assertEquals(ORDER_COUNT, orderNumbers.size());
+        assertEquals(3, pages);
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    public void testFindPageByMerchantId_NewestFirst() {
+        // When
+        List<OrderResponse> page = orderQueryRepository.findPageByMerchantId(3L, null, 5);
+
+        // Then
+        assertEquals(5, page.size());
+        for (int i = 1; i < page.size(); i++) {
+            OrderResponse previous = page.get(i - 1);
+            OrderResponse current = page.get(i);
+            assertEquals(Long.valueOf(3L), current.getMerchantId());
+            assertTrue(previous.getOrderTime().isAfter(current.getOrderTime())
+                || (previous.getOrderTime().equals(current.getOrderTime()) && previous.getId() > current.getId()));
+        }
+    }
+
+    @Test
+    public void testSaveAll_OverwritesExistingView() {
+        // Given
+        OrderResponse order = orderQueryRepository.findByOrderNumber("ORD3").get();
+        order.setStatus(OrderStatus.CANCELLED);
+
+        // When
+        orderQueryRepository.saveAll(Collections.singletonList(order));
+
+        // Then
+        OrderResponse result = orderQueryRepository.findByOrderNumber("ORD3").get();
+        assertEquals(OrderStatus.CANCELLED, result.getStatus());
+        assertEquals(2, result.getItems().size());
+        assertEquals(Integer.valueOf(ORDER_COUNT),
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_views", Integer.class));
+    }
+
+    @Test
+    public void testForEachByMerchantId_OldestFirst() {
+        // When
+        List<OrderResponse> exported = new ArrayList<>();
+        orderQueryRepository.forEachByMerchantId(2L, exported::add);
+
+        // Then
+        assertEquals(13, exported.size());
+        for (int i = 1; i < exported.size(); i++) {
+            assertTrue(exported.get(i - 1).getId() < exported.get(i).getId());
+            assertEquals(2, exported.get(i).getItems().size());
+        }
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+}
@@ -0,0 +1,136 @@
+package com.openecommerce.order.infrastructure;
+
+import com.openecommerce.order.application.dto.OrderResponse;
+import com.openecommerce.order.domain.MerchantSalesSummary;
+import com.openecommerce.order.domain.Order;
+import com.openecommerce.order.domain.OrderRepository;
+import com.openecommerce.order.domain.OrderStatus;
+import com.openecommerce.shared.domain.Money;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * Statement-count tests for order read paths, using Hibernate statistics
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(OrderRepositoryImpl.class)
+@ImportAutoConfiguration(JdbcTemplateAutoConfiguration.class)
+public class OrderRepositoryImplTest {
+
+    private static final int ORDER_COUNT = 30;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @Before
+    public void setUp() {
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            Order order = new Order("ORD" + i, 1L, 2L);
+            order.addOrderItem("SKU-A", "Product A", new Money(new BigDecimal("10.00"), "CNY"), 1);
+            order.addOrderItem("SKU-B", "Product B", new Money(new BigDecimal("20.00"), "CNY"), 2);
+            testEntityManager.persist(order);
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void testFindByMerchantId_LoadsItemsInOneStatement() {
+        // When
+        List<OrderResponse> responses = toResponses(orderRepository.findByMerchantId(2L));
+
+        // Then
+        assertEquals(ORDER_COUNT, responses.size());
+        assertEquals(2, responses.get(0).getItems().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testFindByUserId_LoadsItemsInOneStatement() {
+        // When
+        List<OrderResponse> responses = toResponses(orderRepository.findByUserId(1L));
+
+        // Then
+        assertEquals(ORDER_COUNT, responses.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testFindByOrderNumber_LoadsItemsInOneStatement() {
+        // When
+        OrderResponse response = OrderResponse.from(orderRepository.findByOrderNumber("ORD0").get());
+
+        // Then
+        assertEquals(2, response.getItems().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testLazyPath_LoadsItemsInBatches() {
+        // When
+        List<OrderResponse> responses = toResponses(orderRepository.findByStatus(OrderStatus.PENDING));
+
+        // Then: 订单查询 + 一次按批次加载订单项
+        assertEquals(ORDER_COUNT, responses.size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testSummarizeSalesOfMerchant_AggregatesWithoutLoadingOrders() {
+        // When
+        List<MerchantSalesSummary> summaries = orderRepository.summarizeSalesOfMerchant(
+            2L, OrderStatus.PENDING, LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1));
+
+        // Then
+        assertEquals(1, summaries.size());
+        assertEquals(Long.valueOf(2L), summaries.get(0).getMerchantId());
+        assertEquals(ORDER_COUNT, summaries.get(0).getOrderCount());
+        assertEquals(new Money(new BigDecimal("1500.00"), "CNY"), summaries.get(0).getTotalAmount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    public void testSummarizeSalesOfMerchant_OtherStatusIsEmpty() {
+        // When
+        List<MerchantSalesSummary> summaries = orderRepository.summarizeSalesOfMerchant(
+            2L, OrderStatus.COMPLETED, LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1));
+
+        // Then
+        assertTrue(summaries.isEmpty());
+    }
+
+    private List<OrderResponse> toResponses(List<Order> orders) {
+        return orders.stream().map(OrderResponse::from).collect(Collectors.toList());
+    }
+}
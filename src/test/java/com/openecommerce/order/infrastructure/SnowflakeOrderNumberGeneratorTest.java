@@ -0,0 +1,102 @@
+package com.openecommerce.order.infrastructure;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for SnowflakeOrderNumberGenerator
+ */
+public class SnowflakeOrderNumberGeneratorTest {
+
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 2_500_000;
+
+    @Test
+    public void testNextId_NoDuplicatesAcrossThreads() throws InterruptedException {
+        // Given
+        SnowflakeOrderNumberGenerator generator = new SnowflakeOrderNumberGenerator(1);
+        long[][] generated = new long[THREADS][IDS_PER_THREAD];
+        boolean[] monotonic = new boolean[THREADS];
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            int index = t;
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long[] ids = generated[index];
+                boolean increasing = true;
+                for (int i = 0; i < ids.length; i++) {
+                    ids[i] = generator.nextId();
+                    if (i > 0 && ids[i] <= ids[i - 1]) {
+                        increasing = false;
+                    }
+                }
+                monotonic[index] = increasing;
+            });
+            threads[t].start();
+        }
+
+        // When
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Then
+        long[] all = new long[THREADS * IDS_PER_THREAD];
+        for (int t = 0; t < THREADS; t++) {
+            assertTrue("IDs of thread " + t + " must be increasing", monotonic[t]);
+            System.arraycopy(generated[t], 0, all, t * IDS_PER_THREAD, IDS_PER_THREAD);
+        }
+        Arrays.sort(all);
+        for (int i = 1; i < all.length; i++) {
+            assertNotEquals("Duplicate ID generated", all[i - 1], all[i]);
+        }
+    }
+
+    @Test
+    public void testNextId_NodesNeverCollide() {
+        // Given
+        SnowflakeOrderNumberGenerator node1 = new SnowflakeOrderNumberGenerator(1);
+        SnowflakeOrderNumberGenerator node2 = new SnowflakeOrderNumberGenerator(2);
+
+        // When
+        long id1 = node1.nextId();
+        long id2 = node2.nextId();
+
+        // Then
+        long nodeMask = SnowflakeOrderNumberGenerator.MAX_NODE_ID << SnowflakeOrderNumberGenerator.SEQUENCE_BITS;
+        assertEquals(1L, (id1 & nodeMask) >>> SnowflakeOrderNumberGenerator.SEQUENCE_BITS);
+        assertEquals(2L, (id2 & nodeMask) >>> SnowflakeOrderNumberGenerator.SEQUENCE_BITS);
+        assertNotEquals(id1, id2);
+    }
+
+    @Test
+    public void testNextOrderNumber_Format() {
+        // Given
+        SnowflakeOrderNumberGenerator generator = new SnowflakeOrderNumberGenerator(0);
+
+        // When
+        String first = generator.nextOrderNumber();
+        String second = generator.nextOrderNumber();
+
+        // Then
+        assertTrue(first.matches("ORD\\d+"));
+        assertTrue(Long.parseLong(second.substring(3)) > Long.parseLong(first.substring(3)));
+        assertTrue(first.length() <= 50);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_RejectsNodeIdOutOfRange() {
+        new SnowflakeOrderNumberGenerator(SnowflakeOrderNumberGenerator.MAX_NODE_ID + 1);
+    }
+}
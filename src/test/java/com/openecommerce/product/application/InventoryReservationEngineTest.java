@@ -0,0 +1,163 @@
+package com.openecommerce.product.application;
+
+import com.openecommerce.product.domain.Product;
+import com.openecommerce.product.domain.ProductRepository;
+import com.openecommerce.product.domain.ProductStatus;
+import com.openecommerce.shared.domain.Money;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+/**
+ * InventoryReservationEngine 单元测试
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class InventoryReservationEngineTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InventoryReservationEngine engine;
+    private Product product;
+
+    @Before
+    public void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        engine = new InventoryReservationEngine(productRepository, transactionManager, true);
+        product = new Product(
+            "HOT-SKU-001",
+            "Hot Product",
+            "Flash sale item",
+            Money.of(new BigDecimal("9.90"), "CNY"),
+            100,
+            1L
+        );
+    }
+
+    @Test
+    public void testRebuild_LoadsActiveProducts() {
+        // Given
+        when(productRepository.findByStatus(ProductStatus.ACTIVE)).thenReturn(Collections.singletonList(product));
+
+        // When
+        engine.rebuild();
+
+        // Then
+        assertEquals(Integer.valueOf(100), engine.getAvailableStock("HOT-SKU-001"));
+    }
+
+    @Test
+    public void testReserveCommitAndFlush() {
+        // When
+        assertTrue(engine.reserve(product, 30));
+        engine.commit("HOT-SKU-001", 30);
+        engine.flush();
+
+        // Then
+        assertEquals(Integer.valueOf(70), engine.getAvailableStock("HOT-SKU-001"));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, Integer>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(productRepository).adjustStock(captor.capture());
+        assertEquals(Integer.valueOf(-30), captor.getValue().get("HOT-SKU-001"));
+    }
+
+    @Test
+    public void testReserveRelease_NothingToFlush() {
+        // When
+        assertTrue(engine.reserve(product, 30));
+        engine.release("HOT-SKU-001", 30);
+        engine.flush();
+
+        // Then
+        assertEquals(Integer.valueOf(100), engine.getAvailableStock("HOT-SKU-001"));
+        verify(productRepository, never()).adjustStock(anyMap());
+    }
+
+    @Test
+    public void testCommitThenRestore_FlushesNetDeduction() {
+        // When
+        assertTrue(engine.reserve(product, 30));
+        engine.commit("HOT-SKU-001", 30);
+        engine.restore("HOT-SKU-001", 10);
+        engine.flush();
+
+        // Then
+        assertEquals(Integer.valueOf(80), engine.getAvailableStock("HOT-SKU-001"));
+        verify(productRepository).adjustStock(Collections.singletonMap("HOT-SKU-001", -20));
+    }
+
+    @Test
+    public void testReserve_InsufficientStock() {
+        assertFalse(engine.reserve(product, 101));
+        assertEquals(Integer.valueOf(100), engine.getAvailableStock("HOT-SKU-001"));
+    }
+
+    @Test
+    public void testFlushFailure_KeepsDeltaForNextRound() {
+        // Given
+        engine.reserve(product, 10);
+        engine.commit("HOT-SKU-001", 10);
+        doThrow(new RuntimeException("Database error")).doNothing().when(productRepository).adjustStock(anyMap());
+
+        // When
+        engine.flush();
+        engine.flush();
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, Integer>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(productRepository, times(2)).adjustStock(captor.capture());
+        assertEquals(Integer.valueOf(-10), captor.getValue().get("HOT-SKU-001"));
+    }
+
+    @Test
+    public void testConcurrentReserve_NeverOversells() throws InterruptedException {
+        // Given
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger reserved = new AtomicInteger();
+        for (int i = 0; i < threads; i++) {
+            executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < 50; j++) {
+                    if (engine.reserve(product, 1)) {
+                        reserved.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+
+        // When
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Then
+        assertEquals(100, reserved.get());
+        assertEquals(Integer.valueOf(0), engine.getAvailableStock("HOT-SKU-001"));
+    }
+}
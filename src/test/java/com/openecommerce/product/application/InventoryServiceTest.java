@@ -0,0 +1,262 @@
+package com.openecommerce.product.application;
+
+import com.openecommerce.product.domain.Product;
+import com.openecommerce.product.domain.ProductRepository;
+import com.openecommerce.product.domain.ProductStockShard;
+import com.openecommerce.product.domain.ProductStockShardRepository;
+import com.openecommerce.shared.domain.Money;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * InventoryService 单元测试
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class InventoryServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductStockShardRepository productStockShardRepository;
+
+    @Mock
+    private InventoryReservationEngine inventoryReservationEngine;
+
+    @InjectMocks
+    private InventoryService inventoryService;
+
+    private Product product;
+
+    @Before
+    public void setUp() {
+        product = new Product(
+            "HOT-SKU-001",
+            "Hot Product",
+            "Flash sale item",
+            Money.of(new BigDecimal("9.90"), "CNY"),
+            10,
+            1L
+        );
+    }
+
+    @Test
+    public void testDeductStock_PlainProductUsesGuardedUpdate() {
+        // Given
+        when(productRepository.decreaseStock("HOT-SKU-001", 3)).thenReturn(true);
+
+        // When
+        boolean result = inventoryService.deductStock(product, 3);
+
+        // Then
+        assertTrue(result);
+        verify(productRepository).decreaseStock("HOT-SKU-001", 3);
+        verifyNoInteractions(productStockShardRepository);
+    }
+
+    @Test
+    public void testDeductStock_ShardedProductHitsSingleShard() {
+        // Given
+        product.enableShardedStock(4);
+        when(productStockShardRepository.decreaseStock(eq("HOT-SKU-001"), anyInt(), eq(2))).thenReturn(true);
+
+        // When
+        boolean result = inventoryService.deductStock(product, 2);
+
+        // Then
+        assertTrue(result);
+        verify(productStockShardRepository, times(1)).decreaseStock(eq("HOT-SKU-001"), anyInt(), eq(2));
+        verify(productRepository, never()).decreaseStock(anyString(), anyInt());
+    }
+
+    @Test
+    public void testDeductStock_ShardedProductFallsBackToSiblings() {
+        // Given
+        product.enableShardedStock(4);
+        when(productStockShardRepository.decreaseStock(eq("HOT-SKU-001"), anyInt(), eq(2)))
+            .thenReturn(false, false, true);
+
+        // When
+        boolean result = inventoryService.deductStock(product, 2);
+
+        // Then
+        assertTrue(result);
+        verify(productStockShardRepository, times(3)).decreaseStock(eq("HOT-SKU-001"), anyInt(), eq(2));
+    }
+
+    @Test
+    public void testDeductStock_ShardedProductDeductsAcrossShards() {
+        // Given
+        product.enableShardedStock(2);
+        Map<Integer, Integer> quantities = new LinkedHashMap<>();
+        quantities.put(0, 5);
+        quantities.put(1, 5);
+        when(productStockShardRepository.decreaseStock(eq("HOT-SKU-001"), anyInt(), eq(8))).thenReturn(false);
+        when(productStockShardRepository.findQuantitiesBySku("HOT-SKU-001")).thenReturn(quantities);
+        when(productStockShardRepository.decreaseStock("HOT-SKU-001", 0, 5)).thenReturn(true);
+        when(productStockShardRepository.decreaseStock("HOT-SKU-001", 1, 3)).thenReturn(true);
+
+        // When
+        boolean result = inventoryService.deductStock(product, 8);
+
+        // Then
+        assertTrue(result);
+        verify(productStockShardRepository, never()).increaseStock(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void testDeductStock_ShardedProductInsufficientRestoresShards() {
+        // Given
+        product.enableShardedStock(2);
+        Map<Integer, Integer> quantities = new LinkedHashMap<>();
+        quantities.put(0, 5);
+        quantities.put(1, 3);
+        when(productStockShardRepository.decreaseStock(eq("HOT-SKU-001"), anyInt(), eq(11))).thenReturn(false);
+        when(productStockShardRepository.findQuantitiesBySku("HOT-SKU-001")).thenReturn(quantities);
+        when(productStockShardRepository.decreaseStock("HOT-SKU-001", 0, 5)).thenReturn(true);
+        when(productStockShardRepository.decreaseStock("HOT-SKU-001", 1, 3)).thenReturn(true);
+
+        // When
+        boolean result = inventoryService.deductStock(product, 11);
+
+        // Then
+        assertFalse(result);
+        verify(productStockShardRepository).increaseStock("HOT-SKU-001", 0, 5);
+        verify(productStockShardRepository).increaseStock("HOT-SKU-001", 1, 3);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testEnableShardedStock_SplitsStockAcrossShards() {
+        // Given
+        when(productRepository.findBySku("HOT-SKU-001")).thenReturn(Optional.of(product));
+        when(productRepository.save(product)).thenReturn(product);
+
+        // When
+        Product result = inventoryService.enableShardedStock("HOT-SKU-001", 4);
+
+        // Then
+        assertTrue(result.isShardedStock());
+        assertEquals(Integer.valueOf(10), result.getStockQuantity());
+        ArgumentCaptor<List<ProductStockShard>> captor = ArgumentCaptor.forClass(List.class);
+        verify(productStockShardRepository).saveAll(captor.capture());
+        List<ProductStockShard> shards = captor.getValue();
+        assertEquals(4, shards.size());
+        assertEquals(10, shards.stream().mapToInt(ProductStockShard::getQuantity).sum());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testEnableShardedStock_AlreadySharded() {
+        // Given
+        product.enableShardedStock(2);
+        when(productRepository.findBySku("HOT-SKU-001")).thenReturn(Optional.of(product));
+
+        // When
+        inventoryService.enableShardedStock("HOT-SKU-001", 4);
+    }
+
+    @Test
+    public void testAddShardedStock_UpdatesAggregatedTotal() {
+        // Given
+        product.enableShardedStock(4);
+
+        // When
+        inventoryService.addShardedStock(product, 5);
+
+        // Then
+        verify(productStockShardRepository).increaseStock(eq("HOT-SKU-001"), anyInt(), eq(5));
+        assertEquals(Integer.valueOf(15), product.getStockQuantity());
+    }
+
+    @Test
+    public void testDeductStock_EngineEnabledReservesInMemory() {
+        // Given
+        when(inventoryReservationEngine.isEnabled()).thenReturn(true);
+        when(inventoryReservationEngine.reserve(product, 3)).thenReturn(true);
+
+        // When
+        boolean result = inventoryService.deductStock(product, 3);
+
+        // Then
+        assertTrue(result);
+        verify(inventoryReservationEngine).reserve(product, 3);
+        verify(inventoryReservationEngine).commit("HOT-SKU-001", 3);
+        verify(productRepository, never()).decreaseStock(anyString(), anyInt());
+    }
+
+    @Test
+    public void testDeductStock_EngineEnabledInsufficientStock() {
+        // Given
+        when(inventoryReservationEngine.isEnabled()).thenReturn(true);
+        when(inventoryReservationEngine.reserve(product, 30)).thenReturn(false);
+
+        // When
+        boolean result = inventoryService.deductStock(product, 30);
+
+        // Then
+        assertFalse(result);
+        verify(inventoryReservationEngine, never()).commit(anyString(), anyInt());
+        verify(productRepository, never()).decreaseStock(anyString(), anyInt());
+    }
+
+    @Test
+    public void testRestoreStock_PlainProductAddsBackToProductRow() {
+        // When
+        inventoryService.restoreStock(product, 2);
+
+        // Then
+        verify(productRepository).adjustStock(Collections.singletonMap("HOT-SKU-001", 2));
+        verifyNoInteractions(productStockShardRepository);
+    }
+
+    @Test
+    public void testRestoreStock_ShardedProductAddsBackToOneShard() {
+        // Given
+        product.enableShardedStock(4);
+
+        // When
+        inventoryService.restoreStock(product, 2);
+
+        // Then
+        verify(productStockShardRepository).increaseStock(eq("HOT-SKU-001"), anyInt(), eq(2));
+        verify(productRepository, never()).adjustStock(anyMap());
+    }
+
+    @Test
+    public void testRestoreStock_EngineEnabledRestoresReservation() {
+        // Given
+        when(inventoryReservationEngine.isEnabled()).thenReturn(true);
+
+        // When
+        inventoryService.restoreStock(product, 2);
+
+        // Then
+        verify(inventoryReservationEngine).restore("HOT-SKU-001", 2);
+        verify(productRepository, never()).adjustStock(anyMap());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testEnableShardedStock_RejectedWhileEngineEnabled() {
+        // Given
+        when(inventoryReservationEngine.isEnabled()).thenReturn(true);
+
+        // When
+        inventoryService.enableShardedStock("HOT-SKU-001", 4);
+    }
+}
@@ -39,6 +39,9 @@ public class ProductApplicationServiceTest {
     @Mock
     private MerchantRepository merchantRepository;
 
+    @Mock
+    private InventoryService inventoryService;
+
     @InjectMocks
     private ProductApplicationService productApplicationService;
 
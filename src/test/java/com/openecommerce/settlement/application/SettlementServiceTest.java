@@ -1,25 +1,52 @@
 package com.openecommerce.settlement.application;
 
+import com.openecommerce.merchant.application.MerchantRevenueLedgerService;
 import com.openecommerce.merchant.domain.Merchant;
 import com.openecommerce.merchant.domain.MerchantRepository;
-import com.openecommerce.order.domain.Order;
+import com.openecommerce.order.domain.MerchantDailySalesRepository;
+import com.openecommerce.order.domain.MerchantSalesSummary;
 import com.openecommerce.order.domain.OrderRepository;
 import com.openecommerce.order.domain.OrderStatus;
+import com.openecommerce.settlement.application.dto.SettlementResultResponse;
+import com.openecommerce.settlement.application.dto.SettlementRunResponse;
+import com.openecommerce.settlement.domain.SettlementChunk;
+import com.openecommerce.settlement.domain.SettlementChunkRepository;
+import com.openecommerce.settlement.domain.SettlementChunkStatus;
+import com.openecommerce.settlement.domain.SettlementResult;
+import com.openecommerce.settlement.domain.SettlementResultRepository;
+import com.openecommerce.settlement.domain.SettlementRun;
+import com.openecommerce.settlement.domain.SettlementRunRepository;
+import com.openecommerce.settlement.domain.SettlementRunStatus;
+import com.openecommerce.settlement.domain.SettlementVerification;
 import com.openecommerce.shared.domain.Money;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
+import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -29,189 +56,391 @@ import static org.mockito.Mockito.*;
 @RunWith(MockitoJUnitRunner.class)
 public class SettlementServiceTest {
 
+    private static final LocalDate START_DATE = LocalDate.of(2023, 12, 1);
+    private static final LocalDate END_DATE = LocalDate.of(2023, 12, 2);
+
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private MerchantDailySalesRepository merchantDailySalesRepository;
+
     @Mock
     private MerchantRepository merchantRepository;
 
-    @InjectMocks
+    @Mock
+    private MerchantRevenueLedgerService merchantRevenueLedgerService;
+
+    @Mock
+    private SettlementRunRepository settlementRunRepository;
+
+    @Mock
+    private SettlementChunkRepository settlementChunkRepository;
+
+    @Mock
+    private SettlementResultRepository settlementResultRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Captor
+    private ArgumentCaptor<List<SettlementResult>> resultsCaptor;
+
     private SettlementService settlementService;
 
     private Merchant mockMerchant;
-    private Order mockOrder1;
-    private Order mockOrder2;
+    private MerchantSalesSummary salesSummary;
     private LocalDateTime startTime;
     private LocalDateTime endTime;
+    private SettlementRun savedRun;
+    private List<SettlementChunk> savedChunks;
+    private int chunkSize;
 
     @Before
     public void setUp() {
+        settlementService = newService(1);
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        lenient().when(merchantRepository.findMaxId()).thenReturn(Optional.of(1L));
+        setUpSettlementStore();
+
         // Setup mock merchant
         mockMerchant = mock(Merchant.class);
-        when(mockMerchant.getId()).thenReturn(1L);
-        when(mockMerchant.getName()).thenReturn("Test Merchant");
-        when(mockMerchant.getBalance()).thenReturn(new Money(new BigDecimal("1000.00"), "CNY"));
-
-        // Setup mock orders
-        mockOrder1 = mock(Order.class);
-        when(mockOrder1.getTotalAmount()).thenReturn(new Money(new BigDecimal("100.00"), "CNY"));
-
-        mockOrder2 = mock(Order.class);
-        when(mockOrder2.getTotalAmount()).thenReturn(new Money(new BigDecimal("200.00"), "CNY"));
+        lenient().when(mockMerchant.getId()).thenReturn(1L);
+        lenient().when(mockMerchant.getName()).thenReturn("Test Merchant");
+        lenient().when(mockMerchant.getBalance()).thenReturn(new Money(new BigDecimal("1000.00"), "CNY"));
+        lenient().when(merchantRevenueLedgerService.getCurrentBalance(any(Merchant.class)))
+            .thenAnswer(invocation -> ((Merchant) invocation.getArgument(0)).getBalance());
+        lenient().when(merchantRevenueLedgerService.getCurrentBalances(anyCollection())).thenAnswer(invocation -> {
+            Collection<Merchant> merchants = invocation.getArgument(0);
+            Map<Long, Money> balances = new HashMap<>();
+            for (Merchant merchant : merchants) {
+                balances.put(merchant.getId(), merchant.getBalance());
+            }
+            return balances;
+        });
+
+        // Setup sales aggregated from two orders
+        salesSummary = new MerchantSalesSummary(1L, 2L, new Money(new BigDecimal("300.00"), "CNY"));
 
         // Setup time range
         startTime = LocalDateTime.of(2023, 12, 1, 0, 0, 0);
         endTime = LocalDateTime.of(2023, 12, 2, 0, 0, 0);
     }
 
+    @After
+    public void tearDown() throws InterruptedException {
+        settlementService.shutdown();
+    }
+
     @Test
-    public void testPerformDailySettlement_Success() {
+    public void testSettle_Success() throws InterruptedException {
         // Given
-        List<Merchant> merchants = Arrays.asList(mockMerchant);
-        List<Order> orders = Arrays.asList(mockOrder1, mockOrder2);
-        
-        when(merchantRepository.findAll()).thenReturn(merchants);
-        when(orderRepository.findByMerchantIdAndStatusAndOrderTimeBetween(
-            eq(1L), eq(OrderStatus.COMPLETED), any(LocalDateTime.class), any(LocalDateTime.class)))
-            .thenReturn(orders);
+        when(merchantDailySalesRepository.summarizeByMerchant(1L, 1L, START_DATE, END_DATE))
+            .thenReturn(Collections.singletonList(salesSummary));
+        when(merchantRepository.findByIdIn(Collections.singleton(1L))).thenReturn(Arrays.asList(mockMerchant));
+
+        // When
+        SettlementRunResponse run = settleAndWait();
+
+        // Then
+        assertEquals(SettlementRunStatus.COMPLETED, run.getStatus());
+        assertEquals(Integer.valueOf(1), run.getCompletedChunks());
+        assertEquals(Integer.valueOf(1), run.getMerchants());
+        assertEquals(Long.valueOf(2L), run.getOrders());
+        assertEquals(Integer.valueOf(0), run.getVerificationFailures());
+        assertEquals(SettlementChunkStatus.COMPLETED, savedChunks.get(0).getStatus());
+        SettlementResult result = captureResults().get(0);
+        assertEquals(run.getId(), result.getRunId());
+        assertEquals(Long.valueOf(1L), result.getMerchantId());
+        assertEquals(START_DATE, result.getPeriodStart());
+        assertEquals(END_DATE, result.getPeriodEnd());
+        assertEquals(Long.valueOf(2L), result.getOrderCount());
+        assertEquals(new Money(new BigDecimal("300.00"), "CNY"), result.getSalesAmount());
+        assertEquals(new Money(new BigDecimal("1000.00"), "CNY"), result.getBalance());
+        assertEquals(SettlementVerification.PASSED, result.getVerification());
+        verify(merchantRevenueLedgerService).getCurrentBalances(anyCollection());
+        verify(merchantRevenueLedgerService, never()).getCurrentBalance(any(Merchant.class));
+        verify(merchantRepository, never()).findAll();
+        verifyNoInteractions(orderRepository);
+    }
 
+    @Test
+    public void testPerformDailySettlement_SettlesYesterday() throws InterruptedException {
         // When
         settlementService.performDailySettlement();
+        settlementService.shutdown();
 
         // Then
-        verify(merchantRepository).findAll();
-        verify(orderRepository).findByMerchantIdAndStatusAndOrderTimeBetween(
-            eq(1L), eq(OrderStatus.COMPLETED), any(LocalDateTime.class), any(LocalDateTime.class));
+        LocalDate today = LocalDate.now();
+        verify(settlementRunRepository).findByPeriod(today.minusDays(1), today);
+        verify(merchantDailySalesRepository).summarizeByMerchant(1L, 1L, today.minusDays(1), today);
     }
 
     @Test
-    public void testPerformDailySettlement_NoMerchants() {
+    public void testSettle_NoCompletedOrders() throws InterruptedException {
         // Given
-        when(merchantRepository.findAll()).thenReturn(Collections.emptyList());
+        when(merchantDailySalesRepository.summarizeByMerchant(1L, 1L, START_DATE, END_DATE))
+            .thenReturn(Collections.emptyList());
 
         // When
-        settlementService.performDailySettlement();
+        SettlementRunResponse run = settleAndWait();
 
         // Then
-        verify(merchantRepository).findAll();
-        verify(orderRepository, never()).findByMerchantIdAndStatusAndOrderTimeBetween(
-            anyLong(), any(OrderStatus.class), any(LocalDateTime.class), any(LocalDateTime.class));
+        assertEquals(SettlementRunStatus.COMPLETED, run.getStatus());
+        verify(merchantRepository, never()).findByIdIn(anyCollection());
+        verify(settlementResultRepository, never()).saveAll(anyList());
+        verify(merchantRevenueLedgerService, never()).getCurrentBalances(anyCollection());
     }
 
     @Test
-    public void testPerformDailySettlement_NoCompletedOrders() {
+    public void testSettle_UnknownMerchantSkipped() throws InterruptedException {
         // Given
-        List<Merchant> merchants = Arrays.asList(mockMerchant);
-        
-        when(merchantRepository.findAll()).thenReturn(merchants);
-        when(orderRepository.findByMerchantIdAndStatusAndOrderTimeBetween(
-            eq(1L), eq(OrderStatus.COMPLETED), any(LocalDateTime.class), any(LocalDateTime.class)))
+        MerchantSalesSummary unknown = new MerchantSalesSummary(99L, 1L, new Money(new BigDecimal("50.00"), "CNY"));
+        when(merchantDailySalesRepository.summarizeByMerchant(1L, 1L, START_DATE, END_DATE))
+            .thenReturn(Arrays.asList(salesSummary, unknown));
+        when(merchantRepository.findByIdIn(anyCollection())).thenReturn(Arrays.asList(mockMerchant));
+
+        // When
+        SettlementRunResponse run = settleAndWait();
+
+        // Then
+        assertEquals(Integer.valueOf(1), run.getMerchants());
+        assertEquals(1, captureResults().size());
+        verify(merchantRepository).findByIdIn(argThat(ids -> ids.size() == 2));
+        verify(merchantRevenueLedgerService).getCurrentBalances(argThat(merchants -> merchants.size() == 1));
+    }
+
+    @Test
+    public void testSettle_WithZeroAmount() throws InterruptedException {
+        // Given
+        MerchantSalesSummary zero = new MerchantSalesSummary(1L, 1L, new Money(BigDecimal.ZERO, "CNY"));
+        when(merchantDailySalesRepository.summarizeByMerchant(1L, 1L, START_DATE, END_DATE))
+            .thenReturn(Collections.singletonList(zero));
+        when(merchantRepository.findByIdIn(anyCollection())).thenReturn(Arrays.asList(mockMerchant));
+
+        // When
+        SettlementRunResponse run = settleAndWait();
+
+        // Then
+        assertEquals(Integer.valueOf(0), run.getVerificationFailures());
+    }
+
+    @Test
+    public void testSettle_InsufficientBalance() throws InterruptedException {
+        // Given
+        when(mockMerchant.getBalance()).thenReturn(new Money(new BigDecimal("50.00"), "CNY"));
+        when(merchantDailySalesRepository.summarizeByMerchant(1L, 1L, START_DATE, END_DATE))
+            .thenReturn(Collections.singletonList(salesSummary));
+        when(merchantRepository.findByIdIn(anyCollection())).thenReturn(Arrays.asList(mockMerchant));
+
+        // When
+        SettlementRunResponse run = settleAndWait();
+
+        // Then
+        assertEquals(SettlementRunStatus.COMPLETED, run.getStatus());
+        assertEquals(Integer.valueOf(1), run.getVerificationFailures());
+        assertEquals(SettlementVerification.FAILED, captureResults().get(0).getVerification());
+    }
+
+    @Test
+    public void testSettle_CurrencyMismatch() throws InterruptedException {
+        // Given
+        MerchantSalesSummary usdSales = new MerchantSalesSummary(1L, 1L, new Money(new BigDecimal("10.00"), "USD"));
+        when(merchantDailySalesRepository.summarizeByMerchant(1L, 1L, START_DATE, END_DATE))
+            .thenReturn(Arrays.asList(salesSummary, usdSales));
+        when(merchantRepository.findByIdIn(anyCollection())).thenReturn(Arrays.asList(mockMerchant));
+
+        // When
+        SettlementRunResponse run = settleAndWait();
+
+        // Then
+        assertEquals(Long.valueOf(3L), run.getOrders());
+        assertEquals(Integer.valueOf(0), run.getVerificationFailures());
+        List<SettlementResult> results = captureResults();
+        assertEquals(SettlementVerification.PASSED, results.get(0).getVerification());
+        assertEquals(SettlementVerification.CURRENCY_MISMATCH, results.get(1).getVerification());
+    }
+
+    @Test
+    public void testSettle_ChunkFailureIsIsolatedAndResumable() throws InterruptedException {
+        // Given
+        when(merchantRepository.findMaxId()).thenReturn(Optional.of(2L));
+        when(merchantDailySalesRepository.summarizeByMerchant(1L, 1L, START_DATE, END_DATE))
+            .thenReturn(Collections.singletonList(salesSummary));
+        when(merchantDailySalesRepository.summarizeByMerchant(2L, 2L, START_DATE, END_DATE))
+            .thenThrow(new RuntimeException("Database error"))
             .thenReturn(Collections.emptyList());
+        when(merchantRepository.findByIdIn(Collections.singleton(1L))).thenReturn(Arrays.asList(mockMerchant));
 
         // When
-        settlementService.performDailySettlement();
+        SettlementRunResponse failed = settleAndWait();
+
+        // Then
+        assertEquals(SettlementRunStatus.FAILED, failed.getStatus());
+        assertEquals(Integer.valueOf(2), failed.getTotalChunks());
+        assertEquals(Integer.valueOf(1), failed.getCompletedChunks());
+        assertEquals(Integer.valueOf(1), failed.getFailedChunks());
+        assertEquals("Database error", savedChunks.get(1).getFailureReason());
+        verify(transactionManager).rollback(any());
+
+        // When: 再次触发只重试失败的分块
+        SettlementRunResponse resumed = settleAndWait();
 
         // Then
-        verify(merchantRepository).findAll();
-        verify(orderRepository).findByMerchantIdAndStatusAndOrderTimeBetween(
-            eq(1L), eq(OrderStatus.COMPLETED), any(LocalDateTime.class), any(LocalDateTime.class));
+        assertEquals(failed.getId(), resumed.getId());
+        assertEquals(SettlementRunStatus.COMPLETED, resumed.getStatus());
+        assertEquals(Integer.valueOf(2), resumed.getCompletedChunks());
+        assertEquals(Long.valueOf(2L), resumed.getOrders());
+        verify(merchantDailySalesRepository, times(1)).summarizeByMerchant(1L, 1L, START_DATE, END_DATE);
+        verify(settlementChunkRepository, times(1)).saveAll(anyList());
     }
 
     @Test
-    public void testPerformDailySettlement_WithNullOrderAmount() {
+    public void testSettle_CompletedRunIsNotRerun() throws InterruptedException {
         // Given
-        Order orderWithNullAmount = mock(Order.class);
-        when(orderWithNullAmount.getTotalAmount()).thenReturn(null);
-        
-        List<Merchant> merchants = Arrays.asList(mockMerchant);
-        List<Order> orders = Arrays.asList(mockOrder1, orderWithNullAmount);
-        
-        when(merchantRepository.findAll()).thenReturn(merchants);
-        when(orderRepository.findByMerchantIdAndStatusAndOrderTimeBetween(
-            eq(1L), eq(OrderStatus.COMPLETED), any(LocalDateTime.class), any(LocalDateTime.class)))
-            .thenReturn(orders);
+        when(merchantDailySalesRepository.summarizeByMerchant(1L, 1L, START_DATE, END_DATE))
+            .thenReturn(Collections.emptyList());
+        settleAndWait();
 
         // When
-        settlementService.performDailySettlement();
+        SettlementRunResponse run = settleAndWait();
+
+        // Then
+        assertEquals(SettlementRunStatus.COMPLETED, run.getStatus());
+        verify(merchantDailySalesRepository, times(1)).summarizeByMerchant(anyLong(), anyLong(), any(), any());
+    }
+
+    @Test
+    public void testResumeInterruptedRuns_ProcessesRemainingChunks() throws InterruptedException {
+        // Given: 上次进程在第一个分块提交后中断
+        settlementService.shutdown();
+        settlementService = newService(2);
+        savedRun = new SettlementRun(START_DATE, END_DATE, 2, 2);
+        ReflectionTestUtils.setField(savedRun, "id", 1L);
+        savedChunks = SettlementChunk.plan(1L, 4L, 2);
+        savedChunks.get(0).complete(1, 5L, 0);
+        when(settlementRunRepository.findByStatus(SettlementRunStatus.RUNNING))
+            .thenReturn(Collections.singletonList(savedRun));
+
+        // When
+        settlementService.resumeInterruptedRuns();
+        settlementService.shutdown();
 
         // Then
-        verify(merchantRepository).findAll();
-        verify(orderRepository).findByMerchantIdAndStatusAndOrderTimeBetween(
-            eq(1L), eq(OrderStatus.COMPLETED), any(LocalDateTime.class), any(LocalDateTime.class));
+        assertEquals(SettlementRunStatus.COMPLETED, savedRun.getStatus());
+        assertEquals(Long.valueOf(5L), savedRun.getOrders());
+        verify(merchantDailySalesRepository, never()).summarizeByMerchant(1L, 2L, START_DATE, END_DATE);
+        verify(merchantDailySalesRepository).summarizeByMerchant(3L, 4L, START_DATE, END_DATE);
+        verify(settlementChunkRepository, never()).saveAll(anyList());
     }
 
     @Test
-    public void testPerformDailySettlement_WithZeroAmount() {
+    public void testSettle_ReturnsWhileChunksRun() throws InterruptedException {
         // Given
-        Order orderWithZeroAmount = mock(Order.class);
-        when(orderWithZeroAmount.getTotalAmount()).thenReturn(new Money(BigDecimal.ZERO, "CNY"));
-        
-        List<Merchant> merchants = Arrays.asList(mockMerchant);
-        List<Order> orders = Arrays.asList(orderWithZeroAmount);
-        
-        when(merchantRepository.findAll()).thenReturn(merchants);
-        when(orderRepository.findByMerchantIdAndStatusAndOrderTimeBetween(
-            eq(1L), eq(OrderStatus.COMPLETED), any(LocalDateTime.class), any(LocalDateTime.class)))
-            .thenReturn(orders);
+        CountDownLatch release = new CountDownLatch(1);
+        when(merchantDailySalesRepository.summarizeByMerchant(1L, 1L, START_DATE, END_DATE)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Collections.emptyList();
+        });
 
         // When
-        settlementService.performDailySettlement();
+        SettlementRunResponse started = settlementService.settle(START_DATE, END_DATE);
+        SettlementRunResponse again = settlementService.settle(START_DATE, END_DATE);
+        release.countDown();
+        settlementService.shutdown();
 
         // Then
-        verify(merchantRepository).findAll();
-        verify(orderRepository).findByMerchantIdAndStatusAndOrderTimeBetween(
-            eq(1L), eq(OrderStatus.COMPLETED), any(LocalDateTime.class), any(LocalDateTime.class));
+        assertEquals(SettlementRunStatus.RUNNING, started.getStatus());
+        assertEquals(started.getId(), again.getId());
+        assertEquals(SettlementRunStatus.COMPLETED, savedRun.getStatus());
+        verify(merchantDailySalesRepository, times(1)).summarizeByMerchant(1L, 1L, START_DATE, END_DATE);
+        verify(settlementChunkRepository, times(1)).saveAll(anyList());
     }
 
     @Test
-    public void testPerformDailySettlement_InsufficientBalance() {
+    public void testSettle_ConcurrentlyCreatedRunIsResumed() throws InterruptedException {
+        // Given: 另一实例先提交了同一周期的批次
+        SettlementRun existing = new SettlementRun(START_DATE, END_DATE, 1, 1);
+        ReflectionTestUtils.setField(existing, "id", 7L);
+        doAnswer(invocation -> {
+            savedRun = existing;
+            savedChunks = SettlementChunk.plan(7L, 1L, 1);
+            throw new DataIntegrityViolationException("uk_settlement_runs_period");
+        }).doAnswer(invocation -> savedRun = invocation.getArgument(0))
+            .when(settlementRunRepository).save(any(SettlementRun.class));
+        when(merchantDailySalesRepository.summarizeByMerchant(1L, 1L, START_DATE, END_DATE))
+            .thenReturn(Collections.emptyList());
+
+        // When
+        SettlementRunResponse run = settleAndWait();
+
+        // Then
+        assertEquals(Long.valueOf(7L), run.getId());
+        assertEquals(SettlementRunStatus.COMPLETED, run.getStatus());
+        verify(settlementChunkRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    public void testSettle_NoMerchants() {
         // Given
-        when(mockMerchant.getBalance()).thenReturn(new Money(new BigDecimal("50.00"), "CNY"));
-        
-        List<Merchant> merchants = Arrays.asList(mockMerchant);
-        List<Order> orders = Arrays.asList(mockOrder1, mockOrder2);
-        
-        when(merchantRepository.findAll()).thenReturn(merchants);
-        when(orderRepository.findByMerchantIdAndStatusAndOrderTimeBetween(
-            eq(1L), eq(OrderStatus.COMPLETED), any(LocalDateTime.class), any(LocalDateTime.class)))
-            .thenReturn(orders);
+        when(merchantRepository.findMaxId()).thenReturn(Optional.empty());
 
         // When
-        settlementService.performDailySettlement();
+        SettlementRunResponse run = settlementService.settle(START_DATE, END_DATE);
 
         // Then
-        verify(merchantRepository).findAll();
-        verify(orderRepository).findByMerchantIdAndStatusAndOrderTimeBetween(
-            eq(1L), eq(OrderStatus.COMPLETED), any(LocalDateTime.class), any(LocalDateTime.class));
+        assertEquals(SettlementRunStatus.COMPLETED, run.getStatus());
+        assertEquals(Integer.valueOf(0), run.getTotalChunks());
+        verify(merchantDailySalesRepository, never()).summarizeByMerchant(
+            anyLong(), anyLong(), any(LocalDate.class), any(LocalDate.class));
     }
 
-    @Test(expected = RuntimeException.class)
-    public void testPerformDailySettlement_Exception() {
+    @Test(expected = IllegalArgumentException.class)
+    public void testSettle_InvalidPeriod() {
+        settlementService.settle(END_DATE, START_DATE);
+    }
+
+    @Test
+    public void testGetResults_ReadsPersistedResults() {
         // Given
-        when(merchantRepository.findAll()).thenThrow(new RuntimeException("Database error"));
+        SettlementResult result = new SettlementResult(1L, 1L, START_DATE, END_DATE, 2L,
+            new Money(new BigDecimal("300.00"), "CNY"), new Money(new BigDecimal("1000.00"), "CNY"),
+            SettlementVerification.PASSED);
+        when(settlementResultRepository.findByMerchantId(1L, START_DATE, END_DATE))
+            .thenReturn(Collections.singletonList(result));
 
         // When
-        settlementService.performDailySettlement();
+        List<SettlementResultResponse> responses = settlementService.getResults(1L, START_DATE, END_DATE);
+
+        // Then
+        assertEquals(1, responses.size());
+        assertEquals(new BigDecimal("300.00"), responses.get(0).getSalesAmount());
+        assertEquals(new BigDecimal("1000.00"), responses.get(0).getBalanceAmount());
+        assertEquals(SettlementVerification.PASSED, responses.get(0).getVerification());
+        verifyNoInteractions(orderRepository, merchantDailySalesRepository);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetResults_InvalidRange() {
+        settlementService.getResults(1L, END_DATE, START_DATE);
     }
 
     @Test
     public void testPerformManualSettlement_Success() {
         // Given
         Long merchantId = 1L;
-        List<Order> orders = Arrays.asList(mockOrder1, mockOrder2);
         
         when(merchantRepository.findById(merchantId)).thenReturn(Optional.of(mockMerchant));
-        when(orderRepository.findByMerchantIdAndStatusAndOrderTimeBetween(
-            eq(merchantId), eq(OrderStatus.COMPLETED), eq(startTime), eq(endTime)))
-            .thenReturn(orders);
+        when(orderRepository.summarizeSalesOfMerchant(merchantId, OrderStatus.COMPLETED, startTime, endTime))
+            .thenReturn(Collections.singletonList(salesSummary));
 
         // When
         settlementService.performManualSettlement(merchantId, startTime, endTime);
 
         // Then
         verify(merchantRepository).findById(merchantId);
-        verify(orderRepository).findByMerchantIdAndStatusAndOrderTimeBetween(
-            eq(merchantId), eq(OrderStatus.COMPLETED), eq(startTime), eq(endTime));
+        verify(orderRepository).summarizeSalesOfMerchant(merchantId, OrderStatus.COMPLETED, startTime, endTime);
+        verify(merchantRevenueLedgerService).getCurrentBalance(mockMerchant);
     }
 
     @Test(expected = IllegalArgumentException.class)
@@ -230,8 +459,7 @@ public class SettlementServiceTest {
         Long merchantId = 1L;
         
         when(merchantRepository.findById(merchantId)).thenReturn(Optional.of(mockMerchant));
-        when(orderRepository.findByMerchantIdAndStatusAndOrderTimeBetween(
-            eq(merchantId), eq(OrderStatus.COMPLETED), eq(startTime), eq(endTime)))
+        when(orderRepository.summarizeSalesOfMerchant(merchantId, OrderStatus.COMPLETED, startTime, endTime))
             .thenReturn(Collections.emptyList());
 
         // When
@@ -239,7 +467,56 @@ public class SettlementServiceTest {
 
         // Then
         verify(merchantRepository).findById(merchantId);
-        verify(orderRepository).findByMerchantIdAndStatusAndOrderTimeBetween(
-            eq(merchantId), eq(OrderStatus.COMPLETED), eq(startTime), eq(endTime));
+        verify(merchantRevenueLedgerService, never()).getCurrentBalance(any(Merchant.class));
+    }
+
+    private List<SettlementResult> captureResults() {
+        verify(settlementResultRepository).saveAll(resultsCaptor.capture());
+        return resultsCaptor.getValue();
+    }
+
+    /**
+     * 触发结算并等待后台分块全部结束，返回结束后的批次
+     */
+    private SettlementRunResponse settleAndWait() throws InterruptedException {
+        Long runId = settlementService.settle(START_DATE, END_DATE).getId();
+        settlementService.shutdown();
+        settlementService = newService(chunkSize);
+        return settlementService.getRun(runId).get();
+    }
+
+    private SettlementService newService(int chunkSize) {
+        this.chunkSize = chunkSize;
+        return new SettlementService(orderRepository, merchantDailySalesRepository, merchantRepository,
+            merchantRevenueLedgerService, settlementRunRepository, settlementChunkRepository,
+            settlementResultRepository, transactionManager,
+            2, chunkSize);
+    }
+
+    /**
+     * 以内存中的批次和分块模拟结算仓储
+     */
+    private void setUpSettlementStore() {
+        savedChunks = new ArrayList<>();
+        lenient().when(settlementRunRepository.save(any(SettlementRun.class))).thenAnswer(invocation -> {
+            SettlementRun run = invocation.getArgument(0);
+            if (run.getId() == null) {
+                ReflectionTestUtils.setField(run, "id", 1L);
+            }
+            savedRun = run;
+            return run;
+        });
+        lenient().when(settlementRunRepository.findById(anyLong()))
+            .thenAnswer(invocation -> Optional.ofNullable(savedRun));
+        lenient().when(settlementRunRepository.findByPeriod(any(LocalDate.class), any(LocalDate.class)))
+            .thenAnswer(invocation -> Optional.ofNullable(savedRun));
+        lenient().when(settlementChunkRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            savedChunks = new ArrayList<>(invocation.getArgument(0));
+            return savedChunks;
+        });
+        lenient().when(settlementChunkRepository.save(any(SettlementChunk.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(settlementChunkRepository.findByRunId(anyLong()))
+            .thenAnswer(invocation -> new ArrayList<>(savedChunks));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,71 @@
+package com.openecommerce.settlement.infrastructure;
+
+import com.openecommerce.settlement.domain.SettlementResult;
+import com.openecommerce.settlement.domain.SettlementResultRepository;
+import com.openecommerce.settlement.domain.SettlementVerification;
+import com.openecommerce.shared.domain.Money;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for SettlementResultRepositoryImpl
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@Import(SettlementResultRepositoryImpl.class)
+public class SettlementResultRepositoryImplTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 1, 1);
+
+    @Autowired
+    private SettlementResultRepository settlementResultRepository;
+
+    @Before
+    public void setUp() {
+        settlementResultRepository.saveAll(Arrays.asList(
+            result(3L, 1L, DAY.plusDays(2)),
+            result(1L, 1L, DAY),
+            result(2L, 1L, DAY.plusDays(1)),
+            result(1L, 2L, DAY)));
+    }
+
+    @Test
+    public void testFindByMerchantId_OrderedByPeriodWithinRange() {
+        // When
+        List<SettlementResult> results = settlementResultRepository.findByMerchantId(1L, DAY, DAY.plusDays(2));
+
+        // Then
+        assertEquals(Arrays.asList(DAY, DAY.plusDays(1)),
+            results.stream().map(SettlementResult::getPeriodStart).collect(Collectors.toList()));
+        assertEquals(new Money(new BigDecimal("100.00"), "CNY"), results.get(0).getSalesAmount());
+    }
+
+    @Test
+    public void testFindByMerchantId_OtherMerchantOnly() {
+        // When
+        List<SettlementResult> results = settlementResultRepository.findByMerchantId(2L, DAY, DAY.plusDays(10));
+
+        // Then
+        assertEquals(1, results.size());
+        assertEquals(Long.valueOf(2L), results.get(0).getMerchantId());
+    }
+
+    private SettlementResult result(Long runId, Long merchantId, LocalDate periodStart) {
+        return new SettlementResult(runId, merchantId, periodStart, periodStart.plusDays(1), 1L,
+            new Money(new BigDecimal("100.00"), "CNY"), new Money(new BigDecimal("500.00"), "CNY"),
+            SettlementVerification.PASSED);
+    }
+}
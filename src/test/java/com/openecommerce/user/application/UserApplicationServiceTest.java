@@ -6,6 +6,7 @@ import com.openecommerce.user.application.dto.UserRechargeRequest;
 import com.openecommerce.user.application.dto.UserResponse;
 import com.openecommerce.user.domain.User;
 import com.openecommerce.user.domain.UserRepository;
+import com.openecommerce.user.domain.UserWalletEntry;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -31,6 +32,9 @@ public class UserApplicationServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserWalletService userWalletService;
+
     @InjectMocks
     private UserApplicationService userApplicationService;
 
@@ -98,7 +102,6 @@ public class UserApplicationServiceTest {
     public void testRechargeUser_Success() {
         // Given
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(mockUser));
-        when(userRepository.save(any(User.class))).thenReturn(mockUser);
 
         // When
         UserResponse result = userApplicationService.rechargeUser(1L, userRechargeRequest);
@@ -106,7 +109,9 @@ public class UserApplicationServiceTest {
         // Then
         assertNotNull(result);
         verify(userRepository).findById(1L);
-        verify(userRepository).save(any(User.class));
+        verify(userWalletService).credit(mockUser, Money.of(new BigDecimal("100.00"), "CNY"),
+            UserWalletEntry.RECHARGE_ACCOUNT, null);
+        verify(userRepository, never()).save(any(User.class));
     }
 
     @Test(expected = IllegalArgumentException.class)
@@ -0,0 +1,150 @@
+package com.openecommerce.user.application;
+
+import com.openecommerce.shared.domain.Money;
+import com.openecommerce.user.domain.User;
+import com.openecommerce.user.domain.UserRepository;
+import com.openecommerce.user.domain.UserWalletEntry;
+import com.openecommerce.user.domain.UserWalletEntryRepository;
+import com.openecommerce.user.domain.WalletEntryType;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for UserWalletService
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class UserWalletServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserWalletEntryRepository userWalletEntryRepository;
+
+    @InjectMocks
+    private UserWalletService userWalletService;
+
+    @Captor
+    private ArgumentCaptor<List<UserWalletEntry>> entriesCaptor;
+
+    private User user;
+
+    @Before
+    public void setUp() {
+        user = new User("testuser", "test@example.com", "CNY");
+        ReflectionTestUtils.setField(user, "id", 1L);
+        user.recharge(new Money(new BigDecimal("100.00"), "CNY"));
+    }
+
+    @Test
+    public void testCredit_AppendsEntryWithoutUpdatingUser() {
+        // Given
+        Money amount = new Money(new BigDecimal("50.00"), "CNY");
+
+        // When
+        userWalletService.credit(user, amount, UserWalletEntry.RECHARGE_ACCOUNT, null);
+
+        // Then
+        verify(userWalletEntryRepository).appendAll(entriesCaptor.capture());
+        UserWalletEntry entry = entriesCaptor.getValue().get(0);
+        assertEquals(WalletEntryType.CREDIT, entry.getType());
+        assertEquals(UserWalletEntry.RECHARGE_ACCOUNT, entry.getContraAccount());
+        assertEquals(amount, entry.getAmount());
+        assertEquals(new BigDecimal("150.00"), user.getBalance().getAmount());
+        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).lockForUpdate(any(User.class));
+    }
+
+    @Test
+    public void testDebit_LocksUserAndAppendsEntries() {
+        // Given
+        List<UserWalletEntry> entries = Arrays.asList(
+            UserWalletEntry.debit(1L, new Money(new BigDecimal("30.00"), "CNY"), "MERCHANT:1", "ORD1"),
+            UserWalletEntry.debit(1L, new Money(new BigDecimal("20.00"), "CNY"), "MERCHANT:2", "ORD2"));
+
+        // When
+        userWalletService.debit(user, entries);
+
+        // Then
+        verify(userRepository).lockForUpdate(user);
+        verify(userWalletEntryRepository).appendAll(entries);
+        assertEquals(new BigDecimal("50.00"), user.getBalance().getAmount());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    public void testDebit_InsufficientAfterConcurrentDebit() {
+        // Given: 加锁刷新后看到其他事务已提交的出账
+        doAnswer(invocation -> {
+            user.applyPendingBalanceDelta(new BigDecimal("-80.00"));
+            return null;
+        }).when(userRepository).lockForUpdate(user);
+        List<UserWalletEntry> entries = Collections.singletonList(
+            UserWalletEntry.debit(1L, new Money(new BigDecimal("30.00"), "CNY"), "MERCHANT:1", "ORD1"));
+
+        // When
+        try {
+            userWalletService.debit(user, entries);
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            // Then
+            assertEquals("Insufficient balance", e.getMessage());
+        }
+        verify(userWalletEntryRepository, never()).appendAll(anyList());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDebit_EntryOfAnotherUser() {
+        // When
+        userWalletService.debit(user, Collections.singletonList(
+            UserWalletEntry.debit(2L, new Money(new BigDecimal("30.00"), "CNY"), "MERCHANT:1", "ORD1")));
+
+        // Then - exception expected
+    }
+
+    @Test
+    public void testRefreshSnapshots_AppliesClaimedEntries() {
+        // Given
+        when(userWalletEntryRepository.claimPending(anyString())).thenReturn(3);
+        when(userWalletEntryRepository.sumBySnapshotBatch(anyString()))
+            .thenReturn(Collections.singletonMap(1L, new BigDecimal("-40.00")));
+        when(userRepository.findByIdIn(anyCollection())).thenReturn(Collections.singletonList(user));
+
+        // When
+        userWalletService.refreshSnapshots();
+
+        // Then
+        verify(userRepository).lockForUpdate(user);
+        verify(userRepository).save(user);
+        assertEquals(new BigDecimal("60.00"), user.getBalance().getAmount());
+    }
+
+    @Test
+    public void testRefreshSnapshots_NothingPending() {
+        // Given
+        when(userWalletEntryRepository.claimPending(anyString())).thenReturn(0);
+
+        // When
+        userWalletService.refreshSnapshots();
+
+        // Then
+        verify(userWalletEntryRepository, never()).sumBySnapshotBatch(anyString());
+        verify(userRepository, never()).save(any(User.class));
+    }
+}